@@ -0,0 +1,104 @@
+package com.servicepulse.benchmark;
+
+import com.servicepulse.ServicePulseApplication;
+import com.servicepulse.catalog.CatalogFormat;
+import com.servicepulse.catalog.CatalogImporter;
+import com.servicepulse.dto.ServicePage;
+import com.servicepulse.dto.ServiceSummary;
+import com.servicepulse.model.ApplicationService;
+import com.servicepulse.model.ServiceStatus;
+import com.servicepulse.service.ApplicationServiceService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🎓 BENCHMARK - Lectures et écritures d'ApplicationServiceService sur H2
+ * 
+ * Démarre l'application complète (H2 en mémoire, sondes désactivées) et
+ * importe "catalogSize" services avant les mesures.
+ * Les lectures passent par le snapshot en mémoire ou par la base (pagination);
+ * les écritures font une vraie transaction JPA + mise à jour du snapshot.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApplicationServiceServiceBenchmark {
+
+    @Param({"1000", "10000"})
+    private int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private ApplicationServiceService service;
+    private List<Long> ids;
+
+    @Setup
+    public void setUp() throws IOException {
+        context = new SpringApplicationBuilder(ServicePulseApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.jpa.show-sql=false",
+                        "application.probes.enabled=false",
+                        "logging.level.root=WARN",
+                        "logging.level.com.servicepulse=WARN")
+                .run();
+        service = context.getBean(ApplicationServiceService.class);
+
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < catalogSize; i++) {
+            ndjson.append("{\"name\":\"bench-").append(i)
+                    .append("\",\"description\":\"Service de benchmark ").append(i)
+                    .append("\",\"status\":\"OPERATIONAL\"}\n");
+        }
+        context.getBean(CatalogImporter.class).importCatalog(
+                new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)), CatalogFormat.NDJSON);
+        ids = service.getAllServices().stream().map(ApplicationService::getId).toList();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    private Long randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    @Benchmark
+    public List<ApplicationService> getAllServices() {
+        return service.getAllServices();
+    }
+
+    @Benchmark
+    public Optional<ApplicationService> getServiceById() {
+        return service.getServiceById(randomId());
+    }
+
+    @Benchmark
+    public ServicePage<ServiceSummary> getServiceSummariesFirstPage() {
+        return service.getServiceSummaries(ServiceStatus.OPERATIONAL, null, "name", null, 50);
+    }
+
+    @Benchmark
+    public List<ApplicationService> searchServices() {
+        return service.searchServices("bench-42");
+    }
+
+    @Benchmark
+    public ApplicationService updateServiceStatus() {
+        ServiceStatus status = ThreadLocalRandom.current().nextBoolean() ? ServiceStatus.DEGRADED : ServiceStatus.OPERATIONAL;
+        return service.updateServiceStatus(randomId(), status, null);
+    }
+
+}
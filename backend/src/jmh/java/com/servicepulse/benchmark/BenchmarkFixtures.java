@@ -0,0 +1,86 @@
+package com.servicepulse.benchmark;
+
+import com.servicepulse.model.ApplicationService;
+import com.servicepulse.model.ServiceStatus;
+import com.servicepulse.model.User;
+import com.servicepulse.repository.UserRepository;
+import com.servicepulse.security.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 🎓 DONNÉES COMMUNES AUX BENCHMARKS
+ * 
+ * Les composants sont construits "à la main" (sans contexte Spring) pour ne
+ * mesurer que leur propre code, avec la même configuration qu'application.yml.
+ */
+final class BenchmarkFixtures {
+
+    static final String SECRET_KEY = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    static final long EXPIRATION = 86_400_000L;
+
+    private BenchmarkFixtures() {
+    }
+
+    static JwtService jwtService() {
+        JwtService jwtService = new JwtService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET_KEY);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", EXPIRATION);
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+        return jwtService;
+    }
+
+    static User admin() {
+        return User.builder()
+                .id(1L)
+                .username("admin")
+                .password("non-utilisé")
+                .fullName("Admin User")
+                .roles(Set.of("ROLE_ADMIN", "ROLE_LECTEUR"))
+                .enabled(true)
+                .build();
+    }
+
+    /**
+     * UserRepository en mémoire: seules les recherches utilisées par la sécurité répondent
+     */
+    static UserRepository userRepository(User user) {
+        return (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findByUsername" -> Optional.of(user).filter(u -> u.getUsername().equals(args[0]));
+                    case "findById" -> Optional.of(user).filter(u -> u.getId().equals(args[0]));
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "UserRepository (benchmark)";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    static List<ApplicationService> services(int count) {
+        LocalDateTime now = LocalDateTime.now();
+        ServiceStatus[] statuses = ServiceStatus.values();
+        List<ApplicationService> services = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            services.add(ApplicationService.builder()
+                    .id((long) i)
+                    .name("service-" + i)
+                    .description("Service de démonstration numéro " + i)
+                    .status(statuses[i % statuses.length])
+                    .maintenanceMessage(i % 10 == 0 ? "Maintenance planifiée" : null)
+                    .lastUpdated(now)
+                    .createdAt(now)
+                    .build());
+        }
+        return services;
+    }
+
+}
@@ -0,0 +1,155 @@
+package com.servicepulse.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.servicepulse.model.ApplicationService;
+import com.servicepulse.service.ServiceSnapshot;
+import com.servicepulse.web.EncodedBody;
+import com.servicepulse.web.EncodedResponseCache;
+import com.servicepulse.web.EncodedResponseCache.Resource;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 🎓 BENCHMARK - GET /api/services: corps pré-encodé vs ResponseEntity<List<...>>
+ *
+ * Ce que fait une requête sur chaque chemin, jusqu'aux octets écrits sur la socket:
+ *   jacksonPerRequest      = ancien chemin: Spring MVC sérialise la liste à chaque requête
+ *   jacksonGzipPerRequest  = idem + compression gzip à chaque requête
+ *                            (ce que ferait server.compression de Tomcat)
+ *   precomputed            = EncodedResponseCache (version déjà encodée) + copie des octets
+ *   precomputedGzip        = idem, variante gzip
+ *   precomputedNewVersion  = premier appel après une écriture: JSON + gzip niveau max
+ *                            (payé une fois par version, pas par requête)
+ *
+ * Les octets partent dans un flux qui les compte: seul le coût CPU est mesuré.
+ *
+ * mvn -Pbenchmarks verify -Djmh.include=EncodedResponse
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EncodedResponseBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private MappingJackson2HttpMessageConverter jsonConverter;
+    private ByteArrayHttpMessageConverter bytesConverter;
+    private ServiceSnapshot snapshot;
+    private EncodedResponseCache cache;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        jsonConverter = new MappingJackson2HttpMessageConverter(objectMapper);
+        bytesConverter = new ByteArrayHttpMessageConverter();
+        snapshot = ServiceSnapshot.of(1, BenchmarkFixtures.services(size));
+        cache = new EncodedResponseCache(objectMapper);
+        cache.get(Resource.SERVICES, snapshot, ServiceSnapshot::getServices);
+    }
+
+    @Benchmark
+    public long jacksonPerRequest() throws IOException {
+        CountingMessage message = new CountingMessage(OutputStream.nullOutputStream());
+        List<ApplicationService> body = snapshot.getServices();
+        jsonConverter.write(body, MediaType.APPLICATION_JSON, message);
+        return message.written();
+    }
+
+    @Benchmark
+    public long jacksonGzipPerRequest() throws IOException {
+        CountingStream sink = new CountingStream(OutputStream.nullOutputStream());
+        try (GZIPOutputStream gzip = new GZIPOutputStream(sink)) {
+            jsonConverter.write(snapshot.getServices(), MediaType.APPLICATION_JSON, new CountingMessage(gzip));
+        }
+        return sink.count;
+    }
+
+    @Benchmark
+    public long precomputed() throws IOException {
+        EncodedBody encoded = cache.get(Resource.SERVICES, snapshot, ServiceSnapshot::getServices);
+        return write(encoded.getIdentity());
+    }
+
+    @Benchmark
+    public long precomputedGzip() throws IOException {
+        EncodedBody encoded = cache.get(Resource.SERVICES, snapshot, ServiceSnapshot::getServices);
+        return write(encoded.getGzip() != null ? encoded.getGzip() : encoded.getIdentity());
+    }
+
+    @Benchmark
+    public long precomputedNewVersion() throws IOException {
+        EncodedBody encoded = new EncodedResponseCache(objectMapper)
+                .get(Resource.SERVICES, snapshot, ServiceSnapshot::getServices);
+        return write(encoded.getIdentity());
+    }
+
+    private long write(byte[] body) throws IOException {
+        CountingMessage message = new CountingMessage(OutputStream.nullOutputStream());
+        bytesConverter.write(body, MediaType.APPLICATION_JSON, message);
+        return message.written();
+    }
+
+    /**
+     * Réponse HTTP minimale: en-têtes + flux de sortie qui compte les octets
+     */
+    private static final class CountingMessage implements HttpOutputMessage {
+        private final HttpHeaders headers = new HttpHeaders();
+        private final CountingStream body;
+
+        CountingMessage(OutputStream target) {
+            this.body = new CountingStream(target);
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        long written() {
+            return body.count;
+        }
+    }
+
+    private static final class CountingStream extends OutputStream {
+        private final OutputStream target;
+        private long count;
+
+        CountingStream(OutputStream target) {
+            this.target = target;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            target.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            target.write(b, off, len);
+            count += len;
+        }
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.servicepulse.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.servicepulse.model.ApplicationService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🎓 BENCHMARK - Sérialisation JSON d'une liste de services
+ * 
+ * ObjectMapper configuré comme celui de Spring MVC (dates ISO, JavaTimeModule).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JacksonSerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<ApplicationService> services;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        services = BenchmarkFixtures.services(size);
+    }
+
+    @Benchmark
+    public byte[] writeServices() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(services);
+    }
+
+}
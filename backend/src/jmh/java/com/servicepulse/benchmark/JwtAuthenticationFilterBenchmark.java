@@ -0,0 +1,78 @@
+package com.servicepulse.benchmark;
+
+import com.servicepulse.model.User;
+import com.servicepulse.repository.UserRepository;
+import com.servicepulse.security.AuthMode;
+import com.servicepulse.security.JwtAuthenticationFilter;
+import com.servicepulse.security.JwtService;
+import com.servicepulse.security.TokenEpochs;
+import com.servicepulse.security.VerifiedTokenCache;
+import jakarta.servlet.FilterChain;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🎓 BENCHMARK - Authentification d'une requête par JwtAuthenticationFilter
+ * 
+ * - tokenCache=false, authMode=DATABASE: vérification du token + chargement de
+ *   l'utilisateur à chaque requête (comportement d'avant le cache)
+ * - tokenCache=true: token déjà vérifié, servi par VerifiedTokenCache
+ * 
+ * Le UserRepository est un bouchon en mémoire: on mesure le coût CPU du filtre.
+ * Le coût d'un aller-retour base s'y ajoute en production (voir
+ * ApplicationServiceServiceBenchmark pour des requêtes H2 réelles).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"DATABASE", "CLAIMS"})
+    private AuthMode authMode;
+
+    @Param({"false", "true"})
+    private boolean tokenCache;
+
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+    private final FilterChain chain = (request, response) -> { };
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = BenchmarkFixtures.jwtService();
+        User user = BenchmarkFixtures.admin();
+        UserRepository userRepository = BenchmarkFixtures.userRepository(user);
+
+        VerifiedTokenCache cache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(cache, "maxSize", tokenCache ? 10_000 : 0);
+
+        filter = new JwtAuthenticationFilter(jwtService, userRepository, cache, new TokenEpochs(userRepository),
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(filter, "authMode", authMode);
+        authorization = "Bearer " + jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public Object authenticate() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/services/1/probe");
+        request.addHeader("Authorization", authorization);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+}
@@ -0,0 +1,125 @@
+package com.servicepulse.storage;
+
+import com.servicepulse.model.ApplicationService;
+import com.servicepulse.model.ServiceStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 🎓 BENCHMARK - Moteur journalisé: redémarrage, lecture et écriture
+ *
+ * Dans le package storage (et non benchmark) pour appeler open() / compact(),
+ * package-private comme dans l'application.
+ *
+ *   restart   = open() complet sur "serviceCount" services, soit depuis un
+ *               snapshot (cas normal après compaction), soit en rejouant
+ *               tout le journal (pire cas: jamais compacté)
+ *   findById  = lecture d'un service (copie comprise)
+ *   save      = mise à jour d'un service (trame ajoutée au journal, sans fsync)
+ *
+ * mvn -Pbenchmarks verify -Djmh.include=LogServiceStore
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-Xms3g", "-Xmx3g"})
+public class LogServiceStoreBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int serviceCount;
+
+    @Param({"snapshot", "wal"})
+    private String recovery;
+
+    private Path directory;
+    private LogServiceStore store;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("servicepulse-store-bench");
+        LogServiceStore writer = new LogServiceStore(directory, false, Long.MAX_VALUE);
+        writer.open();
+        List<ApplicationService> batch = new ArrayList<>(1000);
+        for (int i = 0; i < serviceCount; i++) {
+            ApplicationService service = new ApplicationService();
+            service.setName("bench-" + i);
+            service.setDescription("Service de benchmark " + i);
+            service.setStatus(ServiceStatus.OPERATIONAL);
+            batch.add(service);
+            if (batch.size() == 1000) {
+                writer.saveAll(batch);
+                batch.clear();
+            }
+        }
+        writer.saveAll(batch);
+        if (recovery.equals("snapshot")) {
+            writer.compact();
+        }
+        closeQuietly(writer);
+
+        store = new LogServiceStore(directory, false, Long.MAX_VALUE);
+        store.open();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        closeQuietly(store);
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public int restart() {
+        LogServiceStore restarted = new LogServiceStore(directory, false, Long.MAX_VALUE);
+        restarted.open();
+        int size = restarted.findAll().size();
+        closeQuietly(restarted);
+        return size;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public Optional<ApplicationService> findById() {
+        return store.findById(1L + ThreadLocalRandom.current().nextInt(serviceCount));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public ApplicationService save() {
+        ApplicationService service = store.findById(1L + ThreadLocalRandom.current().nextInt(serviceCount)).orElseThrow();
+        service.setStatus(service.getStatus() == ServiceStatus.OPERATIONAL ? ServiceStatus.DEGRADED : ServiceStatus.OPERATIONAL);
+        return store.save(service);
+    }
+
+    private static void closeQuietly(LogServiceStore store) {
+        try {
+            store.close();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.servicepulse.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 🎓 MESURES D'UN ENDPOINT - Latences (HdrHistogram) et codes HTTP
+ * 
+ * HdrHistogram garde TOUTES les mesures à précision fixe (3 chiffres significatifs)
+ * dans une mémoire constante: les percentiles p99 / p99.9 sont exacts, contrairement
+ * à une moyenne ou à un échantillonnage.
+ * 
+ * Analogie JavaScript:
+ *   const h = hdr.build(); h.recordValue(micros); h.getValueAtPercentile(99);
+ */
+final class EndpointStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final String name;
+    private final Histogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder errors = new LongAdder();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    void record(int status, long startNanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        latencies.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+        statuses.computeIfAbsent(status, code -> new LongAdder()).increment();
+    }
+
+    /**
+     * Échec réseau ou délai dépassé (aucune réponse HTTP)
+     */
+    void recordError() {
+        errors.increment();
+    }
+
+    /**
+     * Copie figée: les requêtes encore en vol peuvent continuer à enregistrer
+     */
+    Histogram snapshotLatencies() {
+        return latencies.copy();
+    }
+
+    long getErrors() {
+        return errors.sum();
+    }
+
+    Map<Integer, Long> getStatuses() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statuses.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+
+}
@@ -0,0 +1,162 @@
+package com.servicepulse.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🎓 RAPPORT DU TEST DE CHARGE - report.json (machine) + report.html (lecture)
+ *
+ * Latences en millisecondes, débit en requêtes par seconde sur la durée mesurée.
+ */
+final class LoadReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<String, Object> content = new LinkedHashMap<>();
+
+    /**
+     * @param probes mesures du scénario "probes" (null pour les autres scénarios)
+     */
+    LoadReport(LoadTestSettings settings, Instant startedAt, double elapsedSeconds,
+               Collection<EndpointStats> endpoints, long skippedPolls, Map<String, Object> probes) {
+        content.put("startedAt", startedAt.toString());
+        content.put("elapsedSeconds", round(elapsedSeconds));
+        content.put("settings", settings.describe());
+        content.put("skippedPolls", skippedPolls);
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (EndpointStats endpoint : endpoints) {
+            rows.add(describe(endpoint, elapsedSeconds));
+        }
+        content.put("endpoints", rows);
+        if (probes != null) {
+            content.put("probes", probes);
+        }
+    }
+
+    private static Map<String, Object> describe(EndpointStats endpoint, double elapsedSeconds) {
+        Histogram latencies = endpoint.snapshotLatencies();
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("endpoint", endpoint.getName());
+        row.put("requests", latencies.getTotalCount());
+        row.put("errors", endpoint.getErrors());
+        row.put("statuses", endpoint.getStatuses());
+        row.put("throughputPerSecond", round(latencies.getTotalCount() / elapsedSeconds));
+        Map<String, Object> millis = new LinkedHashMap<>();
+        millis.put("mean", round(latencies.getMean() / 1000));
+        for (double percentile : PERCENTILES) {
+            millis.put("p" + (percentile % 1 == 0 ? String.valueOf((int) percentile) : String.valueOf(percentile)),
+                    round(latencies.getValueAtPercentile(percentile) / 1000.0));
+        }
+        millis.put("max", round(latencies.getMaxValue() / 1000.0));
+        row.put("latencyMillis", millis);
+        return row;
+    }
+
+    /**
+     * @return le chemin du rapport HTML
+     */
+    Path write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(directory.resolve("report.json").toFile(), content);
+        Path html = directory.resolve("report.html");
+        Files.writeString(html, html(), StandardCharsets.UTF_8);
+        return html;
+    }
+
+    @SuppressWarnings("unchecked")
+    String summary() {
+        StringBuilder text = new StringBuilder(String.format("%-44s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (Map<String, Object> row : (List<Map<String, Object>>) content.get("endpoints")) {
+            Map<String, Object> millis = (Map<String, Object>) row.get("latencyMillis");
+            text.append(String.format("%-44s %9s %7s %9s %9s %9s %9s %9s%n",
+                    row.get("endpoint"), row.get("requests"), row.get("errors"), row.get("throughputPerSecond"),
+                    millis.get("p50"), millis.get("p99"), millis.get("p99.9"), millis.get("max")));
+        }
+        text.append("Rafraîchissements sautés (requête précédente pas terminée): ")
+                .append(content.get("skippedPolls"));
+        if (content.containsKey("probes")) {
+            ((Map<String, Object>) content.get("probes")).forEach((key, value) ->
+                    text.append(String.format("%nSondes - %s: %s", key, value)));
+        }
+        return text.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private String html() {
+        StringBuilder html = new StringBuilder("""
+                <!DOCTYPE html>
+                <html lang="fr">
+                <head>
+                <meta charset="utf-8">
+                <title>Service Pulse - test de charge</title>
+                <style>
+                  body { font-family: sans-serif; margin: 2rem; }
+                  table { border-collapse: collapse; }
+                  th, td { border: 1px solid #ccc; padding: 0.3rem 0.6rem; text-align: right; }
+                  th:first-child, td:first-child { text-align: left; }
+                </style>
+                </head>
+                <body>
+                <h1>Service Pulse - test de charge</h1>
+                """);
+        html.append("<p>Début: ").append(escape(content.get("startedAt")))
+                .append(" - durée mesurée: ").append(content.get("elapsedSeconds")).append(" s")
+                .append(" - rafraîchissements sautés: ").append(content.get("skippedPolls")).append("</p>\n");
+
+        html.append("<h2>Paramètres</h2>\n<table>\n");
+        ((Map<String, Object>) content.get("settings")).forEach((key, value) ->
+                html.append("<tr><td>").append(escape(key)).append("</td><td>")
+                        .append(escape(value)).append("</td></tr>\n"));
+        html.append("</table>\n");
+
+        html.append("<h2>Latences (ms)</h2>\n<table>\n<tr><th>Endpoint</th><th>Requêtes</th><th>Erreurs</th>")
+                .append("<th>Codes HTTP</th><th>req/s</th><th>Moyenne</th><th>p50</th><th>p90</th><th>p99</th>")
+                .append("<th>p99.9</th><th>Max</th></tr>\n");
+        for (Map<String, Object> row : (List<Map<String, Object>>) content.get("endpoints")) {
+            Map<String, Object> millis = (Map<String, Object>) row.get("latencyMillis");
+            html.append("<tr><td>").append(escape(row.get("endpoint")))
+                    .append("</td><td>").append(row.get("requests"))
+                    .append("</td><td>").append(row.get("errors"))
+                    .append("</td><td>").append(escape(row.get("statuses")))
+                    .append("</td><td>").append(row.get("throughputPerSecond"));
+            for (Object value : millis.values()) {
+                html.append("</td><td>").append(value);
+            }
+            html.append("</td></tr>\n");
+        }
+        html.append("</table>\n");
+
+        if (content.containsKey("probes")) {
+            html.append("<h2>Sondes (cibles simulées)</h2>\n<table>\n");
+            ((Map<String, Object>) content.get("probes")).forEach((key, value) ->
+                    html.append("<tr><td>").append(escape(key)).append("</td><td>")
+                            .append(escape(value)).append("</td></tr>\n"));
+            html.append("</table>\n");
+        }
+        html.append("</body>\n</html>\n");
+        return html.toString();
+    }
+
+    private static String escape(Object value) {
+        return String.valueOf(value).replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+}
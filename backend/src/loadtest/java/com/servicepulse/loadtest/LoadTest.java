@@ -0,0 +1,563 @@
+package com.servicepulse.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+/**
+ * 🎓 TEST DE CHARGE - Flotte de tableaux de bord contre un backend local
+ *
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 SCÉNARIO
+ * ═══════════════════════════════════════════════════════════════════════════════
+ *
+ * 1. Connexion admin, import d'une flotte synthétique de N services
+ *    ("loadtest-00001"...) par POST /api/services/import (idempotent: relancer
+ *    le test met à jour les mêmes services).
+ * 2. Pendant "duration", en parallèle:
+ *    - M tableaux de bord: toutes les "poll-interval" (décalées au hasard),
+ *      GET /api/services puis GET /api/services/health-summary, avec If-None-Match
+ *      comme un navigateur (304 si rien n'a changé);
+ *    - A administrateurs: PATCH /api/services/status (10 services) ou PUT d'un service;
+ *    - rafales de connexions: "login-burst-size" POST /api/auth/login simultanés.
+ * 3. Scénario "db-reads" (-Dload.scenario=db-reads): chaque tableau de bord lit
+ *    GET /api/services?limit=50 sans If-None-Match, une requête SQL par appel.
+ *    Avec DB_LATENCY_MS côté backend, compare threads plateforme et virtuels:
+ *      VIRTUAL_THREADS=false|true DB_LATENCY_MS=2000 mvn -Pjava21 spring-boot:run \
+ *          -Dspring-boot.run.arguments=--spring.datasource.hikari.maximum-pool-size=400
+ *    puis -Dload.scenario=db-reads -Dload.services=0 (l'import serait ralenti
+ *    par la latence: le catalogue existant suffit). La latence doit dépasser le
+ *    coût CPU d'une requête, sinon le CPU sature avant le pool de threads.
+ * 4. Scénario "probes" (-Dload.scenario=probes -Dload.services=10000 -Dload.admins=0):
+ *    ProbeStubs démarre des cibles HTTP/TCP locales, chaque service de la flotte
+ *    reçoit une sonde (un sur deux HTTP, l'autre TCP) par PUT. Au tiers de la
+ *    mesure, "probe-failing" cibles HTTP répondent 503: on mesure le délai avant
+ *    que le service passe en OUTAGE "[Sonde]". Les sondes sont retirées à la fin.
+ *    Sans administrateurs: un MAINTENANCE posé au hasard bloquerait la détection.
+ * 5. Rapport: percentiles HdrHistogram par endpoint, report.json + report.html.
+ *    Les lectures ont en plus deux lignes "[rafale]" / "[calme]": une lecture
+ *    est "rafale" si une connexion était en cours à son départ, à son arrivée,
+ *    ou si une rafale a commencé entre les deux. Si la vérification BCrypt est
+ *    bien isolée, le p99 des deux lignes reste le même.
+ *
+ * Toutes les requêtes sont asynchrones (HttpClient.sendAsync): quelques threads
+ * suffisent pour des milliers de tableaux de bord, comme fetch() en JavaScript.
+ * Un tableau de bord dont la requête précédente n'est pas terminée saute son tour
+ * (compté dans "skippedPolls"): le backend est alors saturé.
+ *
+ * Lancement: backend démarré (mvn spring-boot:run), puis
+ *   mvn -Pload-test verify -Dload.dashboards=2000 -Dload.duration=120
+ */
+public final class LoadTest {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String SERVICE_PREFIX = "loadtest-";
+    private static final int STATUS_BATCH = 10;
+    private static final String[] ADMIN_STATUSES = {"OPERATIONAL", "DEGRADED", "MAINTENANCE", "OUTAGE"};
+    private static final String PAGE_ENDPOINT = "GET /api/services?limit=50";
+    private static final List<String> READ_ENDPOINTS = List.of("GET /api/services", "GET /api/services/health-summary",
+            PAGE_ENDPOINT);
+    private static final String BURST = " [rafale]";
+    private static final String CALM = " [calme]";
+    private static final String PROBE_MESSAGE_PREFIX = "[Sonde]";
+    private static final int PROBE_UPDATES_IN_FLIGHT = 32;
+
+    private final LoadTestSettings settings;
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    // Rafales de connexions: d'autres navigateurs, pas le même pool de connexions
+    // que les tableaux de bord (sinon la mesure des lectures attend côté client)
+    private final HttpClient loginClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(4, runnable -> {
+        Thread thread = new Thread(runnable, "load-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private final LongAdder skippedPolls = new LongAdder();
+    private final AtomicInteger loginsInFlight = new AtomicInteger();
+    private final AtomicInteger burstsStarted = new AtomicInteger();
+    private volatile boolean running = true;
+
+    private String token;
+    private List<JsonNode> fleet;
+
+    // Scénario "probes"
+    private ProbeStubs stubs;
+    private long[] httpServiceIds;
+    private int failingTargets;
+    private final Map<Long, Long> failingSince = new ConcurrentHashMap<>();
+    private final Histogram detection = new ConcurrentHistogram(TimeUnit.MINUTES.toMillis(10), 3);
+
+    private LoadTest(LoadTestSettings settings) {
+        this.settings = settings;
+        List<String> reads = settings.isDbReads()
+                ? List.of(PAGE_ENDPOINT)
+                : List.of("GET /api/services", "GET /api/services/health-summary");
+        List<String> endpoints = new ArrayList<>(reads);
+        endpoints.addAll(List.of("PATCH /api/services/status", "PUT /api/services/{id}", "POST /api/auth/login"));
+        for (String endpoint : endpoints) {
+            stats.put(endpoint, new EndpointStats(endpoint));
+            if (READ_ENDPOINTS.contains(endpoint)) {
+                stats.put(endpoint + CALM, new EndpointStats(endpoint + CALM));
+                stats.put(endpoint + BURST, new EndpointStats(endpoint + BURST));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTest loadTest = new LoadTest(LoadTestSettings.fromSystemProperties());
+        loadTest.prepare();
+        loadTest.run();
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Préparation: connexion + flotte synthétique
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private void prepare() throws IOException, InterruptedException {
+        System.out.printf("Backend %s - connexion de %s%n", settings.url(), settings.username());
+        HttpResponse<String> login = client.send(loginRequest(), HttpResponse.BodyHandlers.ofString());
+        if (login.statusCode() != 200) {
+            throw new IllegalStateException("Connexion impossible (HTTP " + login.statusCode() + "): " + login.body());
+        }
+        token = objectMapper.readTree(login.body()).get("token").asText();
+
+        String imported = "aucun (load.services=0)";
+        if (settings.services() > 0) {
+            imported = importFleet();
+        }
+
+        HttpResponse<String> all = client.send(HttpRequest.newBuilder(uri("/api/services")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        fleet = new ArrayList<>();
+        for (JsonNode service : objectMapper.readTree(all.body())) {
+            if (service.get("name").asText().startsWith(SERVICE_PREFIX)) {
+                fleet.add(service);
+            }
+        }
+        System.out.printf("Flotte prête: %d services (import: %s)%n", fleet.size(), imported);
+
+        if (settings.isProbes()) {
+            attachProbes();
+        }
+    }
+
+    /**
+     * Import NDJSON idempotent de la flotte synthétique
+     *
+     * @return le rapport d'import renvoyé par le backend
+     */
+    private String importFleet() throws IOException, InterruptedException {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 1; i <= settings.services(); i++) {
+            ObjectNode service = objectMapper.createObjectNode()
+                    .put("name", String.format("%s%05d", SERVICE_PREFIX, i))
+                    .put("description", "Service synthétique du test de charge")
+                    .put("status", "OPERATIONAL");
+            ndjson.append(objectMapper.writeValueAsString(service)).append('\n');
+        }
+        HttpResponse<String> imported = client.send(authorized("/api/services/import")
+                        .header("Content-Type", "application/x-ndjson")
+                        .POST(HttpRequest.BodyPublishers.ofString(ndjson.toString()))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (imported.statusCode() != 200) {
+            throw new IllegalStateException("Import de la flotte impossible (HTTP " + imported.statusCode() + ")");
+        }
+        return imported.body();
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Exécution
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private void run() throws IOException, InterruptedException {
+        System.out.printf("Scénario %s: %d tableaux de bord, %d administrateurs, rafales de %d connexions, %d s%n",
+                settings.scenario(), settings.dashboards(), settings.admins(), settings.loginBurstSize(), settings.duration().toSeconds());
+
+        long pollMillis = settings.pollInterval().toMillis();
+        for (int i = 0; i < settings.dashboards(); i++) {
+            Dashboard dashboard = new Dashboard();
+            scheduler.scheduleAtFixedRate(dashboard::poll,
+                    ThreadLocalRandom.current().nextLong(pollMillis), pollMillis, TimeUnit.MILLISECONDS);
+        }
+        long adminMillis = settings.adminInterval().toMillis();
+        for (int i = 0; i < settings.admins(); i++) {
+            Admin admin = new Admin();
+            scheduler.scheduleAtFixedRate(admin::act,
+                    ThreadLocalRandom.current().nextLong(adminMillis), adminMillis, TimeUnit.MILLISECONDS);
+        }
+        long burstMillis = settings.loginBurstInterval().toMillis();
+        if (burstMillis > 0 && settings.loginBurstSize() > 0) {
+            scheduler.scheduleAtFixedRate(this::loginBurst, burstMillis / 2, burstMillis, TimeUnit.MILLISECONDS);
+        }
+        if (settings.isProbes()) {
+            stubs.startMeasuring();
+            scheduler.schedule(this::injectProbeFailures, settings.duration().toMillis() / 3, TimeUnit.MILLISECONDS);
+        }
+
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
+        Thread.sleep(settings.duration().toMillis());
+        running = false;
+        scheduler.shutdownNow();
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        Map<String, Object> probes = null;
+        if (settings.isProbes()) {
+            stubs.stopMeasuring();
+            probes = describeProbes(elapsedSeconds);
+            detachProbes();
+            stubs.close();
+        }
+
+        LoadReport report = new LoadReport(settings, startedAt, elapsedSeconds, stats.values(), skippedPolls.sum(), probes);
+        Path html = report.write(Path.of(settings.reportDir()));
+        System.out.println(report.summary());
+        System.out.println("Rapport: " + html.toAbsolutePath());
+    }
+
+    /**
+     * Un tableau de bord: une requête à la fois, ETag mémorisés comme un navigateur
+     */
+    private final class Dashboard {
+
+        private final AtomicBoolean inFlight = new AtomicBoolean();
+        private volatile String servicesEtag;
+        private volatile String summaryEtag;
+
+        void poll() {
+            if (!running) {
+                return;
+            }
+            if (!inFlight.compareAndSet(false, true)) {
+                skippedPolls.increment();
+                return;
+            }
+            if (settings.isDbReads()) {
+                // Onglet fraîchement ouvert: pas d'ETag, la page est relue en base
+                send(PAGE_ENDPOINT, conditionalGet("/api/services?limit=50", null))
+                        .whenComplete((ignored, error) -> inFlight.set(false));
+                return;
+            }
+            send("GET /api/services", conditionalGet("/api/services", servicesEtag))
+                    .thenAccept(response -> servicesEtag = etagOf(response, servicesEtag))
+                    .thenCompose(ignored -> send("GET /api/services/health-summary",
+                            conditionalGet("/api/services/health-summary", summaryEtag)))
+                    .thenAccept(response -> summaryEtag = etagOf(response, summaryEtag))
+                    .whenComplete((ignored, error) -> inFlight.set(false));
+        }
+    }
+
+    /**
+     * Un administrateur: 70 % de PATCH groupés, 30 % de PUT complets
+     */
+    private final class Admin {
+
+        private final AtomicBoolean inFlight = new AtomicBoolean();
+        private final AtomicInteger revision = new AtomicInteger();
+
+        void act() {
+            if (!running || fleet.isEmpty() || !inFlight.compareAndSet(false, true)) {
+                return;
+            }
+            CompletableFuture<HttpResponse<Void>> call = ThreadLocalRandom.current().nextInt(10) < 7
+                    ? send("PATCH /api/services/status", statusBatch())
+                    : send("PUT /api/services/{id}", fullUpdate());
+            call.whenComplete((ignored, error) -> inFlight.set(false));
+        }
+
+        private HttpRequest statusBatch() {
+            ArrayNode items = objectMapper.createArrayNode();
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < STATUS_BATCH; i++) {
+                items.addObject()
+                        .put("id", fleet.get(random.nextInt(fleet.size())).get("id").asLong())
+                        .put("status", ADMIN_STATUSES[random.nextInt(ADMIN_STATUSES.length)])
+                        .put("message", "Test de charge");
+            }
+            // Un même ID deux fois dans le lot est refusé pour cet élément seulement (INVALID)
+            return authorized("/api/services/status")
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString(items.toString()))
+                    .build();
+        }
+
+        private HttpRequest fullUpdate() {
+            JsonNode service = fleet.get(ThreadLocalRandom.current().nextInt(fleet.size()));
+            ObjectNode body = objectMapper.createObjectNode()
+                    .put("name", service.get("name").asText())
+                    .put("description", "Service synthétique, révision " + revision.incrementAndGet())
+                    .put("status", ADMIN_STATUSES[ThreadLocalRandom.current().nextInt(ADMIN_STATUSES.length)]);
+            return authorized("/api/services/" + service.get("id").asLong())
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(body.toString()))
+                    .build();
+        }
+    }
+
+    private void loginBurst() {
+        if (!running) {
+            return;
+        }
+        burstsStarted.incrementAndGet();
+        for (int i = 0; i < settings.loginBurstSize(); i++) {
+            loginsInFlight.incrementAndGet();
+            send(loginClient, "POST /api/auth/login", loginRequest())
+                    .whenComplete((ignored, error) -> loginsInFlight.decrementAndGet());
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Scénario "probes": cibles simulées, pannes injectées
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Une sonde par service de la flotte: indices pairs en HTTP, impairs en TCP
+     */
+    private void attachProbes() throws IOException, InterruptedException {
+        int httpTargets = (fleet.size() + 1) / 2;
+        stubs = ProbeStubs.start(httpTargets);
+        httpServiceIds = new long[httpTargets];
+        for (int i = 0; i < fleet.size(); i += 2) {
+            httpServiceIds[i / 2] = fleet.get(i).get("id").asLong();
+        }
+
+        long start = System.nanoTime();
+        int failed = updateProbes(this::probeOf);
+        System.out.printf("Sondes posées sur %d services en %.1f s (%d refus), par ex. %s et %s:%d%n",
+                fleet.size() - failed, (System.nanoTime() - start) / 1e9, failed,
+                stubs.httpUrl(0), stubs.tcpHost(), stubs.tcpPort(0));
+    }
+
+    private void detachProbes() throws InterruptedException {
+        int failed = updateProbes(index -> null);
+        System.out.printf("Sondes retirées (%d refus)%n", failed);
+    }
+
+    private ObjectNode probeOf(int index) {
+        long interval = settings.probeInterval().toSeconds();
+        ObjectNode probe = objectMapper.createObjectNode()
+                .put("intervalSeconds", interval)
+                .put("timeoutMillis", Math.min(2000, interval * 1000));
+        if (index % 2 == 0) {
+            probe.put("httpUrl", stubs.httpUrl(index / 2));
+        } else {
+            probe.put("tcpHost", stubs.tcpHost()).put("tcpPort", stubs.tcpPort(index / 2));
+        }
+        return probe;
+    }
+
+    /**
+     * PUT de chaque service de la flotte avec la sonde donnée (null = sans sonde),
+     * quelques requêtes en vol à la fois
+     *
+     * @return le nombre de PUT refusés
+     */
+    private int updateProbes(IntFunction<ObjectNode> probeOf) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(PROBE_UPDATES_IN_FLIGHT);
+        AtomicInteger failed = new AtomicInteger();
+        for (int i = 0; i < fleet.size(); i++) {
+            JsonNode service = fleet.get(i);
+            ObjectNode body = objectMapper.createObjectNode()
+                    .put("name", service.get("name").asText())
+                    .put("description", service.get("description").asText())
+                    .put("status", service.get("status").asText());
+            ObjectNode probe = probeOf.apply(i);
+            if (probe != null) {
+                body.set("probe", probe);
+            }
+            inFlight.acquire();
+            client.sendAsync(authorized("/api/services/" + service.get("id").asLong())
+                                    .header("Content-Type", "application/json")
+                                    .PUT(HttpRequest.BodyPublishers.ofString(body.toString()))
+                                    .build(),
+                            HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        if (error != null || response.statusCode() != 200) {
+                            failed.incrementAndGet();
+                        }
+                        inFlight.release();
+                    });
+        }
+        inFlight.acquire(PROBE_UPDATES_IN_FLIGHT);
+        return failed.get();
+    }
+
+    /**
+     * Cibles HTTP réparties sur toute la flotte: elles répondent 503 à partir de maintenant
+     */
+    private void injectProbeFailures() {
+        failingTargets = Math.min(settings.probeFailing(), httpServiceIds.length);
+        if (failingTargets == 0) {
+            return;
+        }
+        int step = httpServiceIds.length / failingTargets;
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < failingTargets; i++) {
+            stubs.fail(i * step);
+            failingSince.put(httpServiceIds[i * step], now);
+        }
+        System.out.printf("%d cibles HTTP en panne (503)%n", failingTargets);
+        scheduler.scheduleAtFixedRate(this::detectOutages, 500, 500, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Services passés en OUTAGE par le moteur de sondes depuis la panne de leur cible
+     */
+    private void detectOutages() {
+        if (!running || failingSince.isEmpty()) {
+            return;
+        }
+        try {
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri("/api/services/status/OUTAGE"))
+                            .timeout(REQUEST_TIMEOUT)
+                            .GET()
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            long now = System.currentTimeMillis();
+            for (JsonNode service : objectMapper.readTree(response.body())) {
+                JsonNode message = service.get("maintenanceMessage");
+                if (message == null || !message.asText().startsWith(PROBE_MESSAGE_PREFIX)) {
+                    continue;
+                }
+                Long since = failingSince.remove(service.get("id").asLong());
+                if (since != null) {
+                    detection.recordValue(now - since);
+                }
+            }
+        } catch (IOException e) {
+            // Nouvel essai au prochain passage
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Map<String, Object> describeProbes(double elapsedSeconds) {
+        Map<String, Object> probes = stubs.describe(fleet.size() - httpServiceIds.length,
+                (int) settings.probeInterval().toSeconds(), elapsedSeconds);
+        probes.put("failingTargets", failingTargets);
+        probes.put("detected", detection.getTotalCount());
+        probes.put("notDetected", failingSince.size());
+        Map<String, Object> detectionMillis = new LinkedHashMap<>();
+        detectionMillis.put("min", detection.getMinValue());
+        detectionMillis.put("p50", detection.getValueAtPercentile(50));
+        detectionMillis.put("p99", detection.getValueAtPercentile(99));
+        detectionMillis.put("max", detection.getMaxValue());
+        probes.put("detectionMillis", detectionMillis);
+        return probes;
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // HTTP
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Envoie la requête et enregistre sa latence (le corps est lu puis ignoré).
+     * Une lecture est aussi rangée dans sa ligne "[rafale]" ou "[calme]".
+     */
+    private CompletableFuture<HttpResponse<Void>> send(String endpoint, HttpRequest request) {
+        return send(client, endpoint, request);
+    }
+
+    private CompletableFuture<HttpResponse<Void>> send(HttpClient httpClient, String endpoint, HttpRequest request) {
+        EndpointStats endpointStats = stats.get(endpoint);
+        boolean read = READ_ENDPOINTS.contains(endpoint);
+        boolean loginAtStart = loginsInFlight.get() > 0;
+        int burstAtStart = burstsStarted.get();
+        long start = System.nanoTime();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    if (!running) {
+                        // Réponse arrivée après la fin de la mesure: hors rapport
+                        return;
+                    }
+                    EndpointStats phaseStats = null;
+                    if (read) {
+                        boolean burst = loginAtStart || loginsInFlight.get() > 0 || burstsStarted.get() != burstAtStart;
+                        phaseStats = stats.get(endpoint + (burst ? BURST : CALM));
+                    }
+                    if (error != null) {
+                        endpointStats.recordError();
+                        if (phaseStats != null) {
+                            phaseStats.recordError();
+                        }
+                    } else {
+                        endpointStats.record(response.statusCode(), start);
+                        if (phaseStats != null) {
+                            phaseStats.record(response.statusCode(), start);
+                        }
+                    }
+                });
+    }
+
+    private HttpRequest conditionalGet(String path, String etag) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept-Encoding", "gzip")
+                .GET();
+        if (etag != null) {
+            builder.header("If-None-Match", etag);
+        }
+        return builder.build();
+    }
+
+    private static String etagOf(HttpResponse<?> response, String previous) {
+        return response.headers().firstValue("ETag").orElse(previous);
+    }
+
+    private HttpRequest loginRequest() {
+        ObjectNode credentials = objectMapper.createObjectNode()
+                .put("username", settings.username())
+                .put("password", settings.password());
+        return HttpRequest.newBuilder(uri("/api/auth/login"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(credentials.toString()))
+                .build();
+    }
+
+    private HttpRequest.Builder authorized(String path) {
+        return HttpRequest.newBuilder(uri(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + token);
+    }
+
+    private URI uri(String path) {
+        return URI.create(settings.url() + path);
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.servicepulse.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 🎓 PARAMÈTRES DU TEST DE CHARGE (propriétés système -Dload.*)
+ * 
+ * Valeurs par défaut identiques à celles du profil Maven "load-test".
+ * 
+ * @param scenario          "dashboards" (snapshot + ETag), "db-reads" (pages lues en base)
+ *                          ou "probes" (sondes sur cibles simulées, cf. ProbeStubs)
+ * @param url               backend démarré localement
+ * @param services          taille de la flotte synthétique importée avant le test (0 = pas d'import)
+ * @param dashboards        tableaux de bord qui interrogent /api/services + /health-summary
+ * @param pollInterval      période de rafraîchissement d'un tableau de bord
+ * @param admins            administrateurs qui modifient des statuts (PATCH groupé / PUT)
+ * @param adminInterval     pause entre deux modifications d'un administrateur
+ * @param loginBurstSize    connexions simultanées par rafale
+ * @param loginBurstInterval période des rafales (0 = pas de rafale)
+ * @param duration          durée de la mesure
+ * @param probeInterval     scénario "probes": intervalle des sondes
+ * @param probeFailing      scénario "probes": cibles HTTP mises en panne au tiers de la mesure
+ * @param reportDir         dossier des rapports report.json / report.html
+ */
+record LoadTestSettings(String scenario,
+                        String url,
+                        int services,
+                        int dashboards,
+                        Duration pollInterval,
+                        int admins,
+                        Duration adminInterval,
+                        int loginBurstSize,
+                        Duration loginBurstInterval,
+                        Duration duration,
+                        Duration probeInterval,
+                        int probeFailing,
+                        String username,
+                        String password,
+                        String reportDir) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                System.getProperty("load.scenario", "dashboards"),
+                System.getProperty("load.url", "http://localhost:8080"),
+                Integer.getInteger("load.services", 1000),
+                Integer.getInteger("load.dashboards", 500),
+                Duration.ofMillis(Long.getLong("load.poll-interval", 5000)),
+                Integer.getInteger("load.admins", 5),
+                Duration.ofMillis(Long.getLong("load.admin-interval", 1000)),
+                Integer.getInteger("load.login-burst-size", 100),
+                Duration.ofMillis(Long.getLong("load.login-burst-interval", 15000)),
+                Duration.ofSeconds(Long.getLong("load.duration", 60)),
+                Duration.ofSeconds(Long.getLong("load.probe-interval", 10)),
+                Integer.getInteger("load.probe-failing", 100),
+                System.getProperty("load.username", "admin"),
+                System.getProperty("load.password", "password"),
+                System.getProperty("load.report-dir", "target/load-report"));
+    }
+
+    boolean isDbReads() {
+        return "db-reads".equals(scenario);
+    }
+
+    boolean isProbes() {
+        return "probes".equals(scenario);
+    }
+
+    /**
+     * Paramètres repris dans le rapport (sans le mot de passe)
+     */
+    Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("scenario", scenario);
+        description.put("url", url);
+        description.put("services", services);
+        description.put("dashboards", dashboards);
+        description.put("pollIntervalMillis", pollInterval.toMillis());
+        description.put("admins", admins);
+        description.put("adminIntervalMillis", adminInterval.toMillis());
+        description.put("loginBurstSize", loginBurstSize);
+        description.put("loginBurstIntervalMillis", loginBurstInterval.toMillis());
+        description.put("durationSeconds", duration.toSeconds());
+        if (isProbes()) {
+            description.put("probeIntervalSeconds", probeInterval.toSeconds());
+            description.put("probeFailing", probeFailing);
+        }
+        return description;
+    }
+
+}
@@ -0,0 +1,210 @@
+package com.servicepulse.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 🎓 CIBLES DE SONDE SIMULÉES - Serveurs HTTP et TCP locaux pour le moteur de sondes
+ *
+ * - HTTP: GET /probe/{n} → 204, ou 503 si la cible n a été mise en panne
+ * - TCP:  quelques ports qui acceptent puis ferment aussitôt la connexion
+ *   (plusieurs ports: 500 connexions/s vers un seul port épuiseraient les
+ *   ports éphémères du backend, bloqués en TIME_WAIT)
+ *
+ * Chaque passage sur une cible HTTP mesure l'écart avec le précédent: à 10 s
+ * d'intervalle et ± 10 % de gigue, tout écart au-delà de 11 s est un passage
+ * sauté ou retardé par le moteur.
+ *
+ * Analogie JavaScript:
+ *   http.createServer((req, res) => { hits[id(req)]++; res.writeHead(down.has(id(req)) ? 503 : 204).end(); })
+ */
+final class ProbeStubs implements AutoCloseable {
+
+    private static final int TCP_PORTS = 10;
+    private static final long HIGHEST_TRACKABLE_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private final HttpServer http;
+    private final ExecutorService httpThreads = Executors.newFixedThreadPool(4, daemon("stub-http"));
+    private final List<ServerSocketChannel> tcp = new ArrayList<>();
+
+    private final AtomicLongArray lastHit;
+    private final AtomicIntegerArray failing;
+    private final Histogram gaps = new ConcurrentHistogram(HIGHEST_TRACKABLE_MILLIS, 3);
+    private final LongAdder httpHits = new LongAdder();
+    private final LongAdder tcpAccepts = new LongAdder();
+    private volatile boolean measuring;
+
+    private ProbeStubs(int httpTargets) throws IOException {
+        this.lastHit = new AtomicLongArray(httpTargets);
+        this.failing = new AtomicIntegerArray(httpTargets);
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+
+        http = HttpServer.create(new InetSocketAddress(loopback, 0), 1024);
+        http.createContext("/probe/", this::handle);
+        http.setExecutor(httpThreads);
+        http.start();
+
+        for (int i = 0; i < TCP_PORTS; i++) {
+            ServerSocketChannel channel = ServerSocketChannel.open();
+            channel.bind(new InetSocketAddress(loopback, 0), 1024);
+            tcp.add(channel);
+            Thread acceptor = daemon("stub-tcp").newThread(() -> accept(channel));
+            acceptor.start();
+        }
+    }
+
+    /**
+     * Démarre les serveurs sur des ports libres de l'interface locale
+     *
+     * @param httpTargets nombre de cibles HTTP (/probe/0 ... /probe/{httpTargets - 1})
+     */
+    static ProbeStubs start(int httpTargets) throws IOException {
+        return new ProbeStubs(httpTargets);
+    }
+
+    String httpUrl(int target) {
+        return "http://" + http.getAddress().getHostString() + ":" + http.getAddress().getPort() + "/probe/" + target;
+    }
+
+    String tcpHost() {
+        return tcp.get(0).socket().getInetAddress().getHostAddress();
+    }
+
+    int tcpPort(int target) {
+        return tcp.get(target % TCP_PORTS).socket().getLocalPort();
+    }
+
+    /**
+     * La cible HTTP répond désormais 503
+     */
+    void fail(int target) {
+        failing.set(target, 1);
+    }
+
+    /**
+     * Début de la mesure: compteurs et écarts remis à zéro
+     */
+    void startMeasuring() {
+        httpHits.reset();
+        tcpAccepts.reset();
+        gaps.reset();
+        measuring = true;
+    }
+
+    void stopMeasuring() {
+        measuring = false;
+    }
+
+    /**
+     * Mesures des cibles pour le rapport
+     */
+    Map<String, Object> describe(int tcpTargets, int intervalSeconds, double elapsedSeconds) {
+        Histogram snapshot = gaps.copy();
+        int never = 0;
+        for (int i = 0; i < lastHit.length(); i++) {
+            if (lastHit.get(i) == 0) {
+                never++;
+            }
+        }
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("httpTargets", lastHit.length());
+        description.put("tcpTargets", tcpTargets);
+        description.put("expectedChecksPerSecond", round((lastHit.length() + tcpTargets) / (double) intervalSeconds));
+        description.put("httpChecksPerSecond", round(httpHits.sum() / elapsedSeconds));
+        description.put("tcpChecksPerSecond", round(tcpAccepts.sum() / elapsedSeconds));
+        description.put("httpTargetsNeverChecked", never);
+        Map<String, Object> gapMillis = new LinkedHashMap<>();
+        gapMillis.put("samples", snapshot.getTotalCount());
+        gapMillis.put("min", snapshot.getMinValue());
+        gapMillis.put("p50", snapshot.getValueAtPercentile(50));
+        gapMillis.put("p99", snapshot.getValueAtPercentile(99));
+        gapMillis.put("p99.9", snapshot.getValueAtPercentile(99.9));
+        gapMillis.put("max", snapshot.getMaxValue());
+        description.put("httpIntervalMillis", gapMillis);
+        return description;
+    }
+
+    @Override
+    public void close() throws IOException {
+        http.stop(0);
+        httpThreads.shutdownNow();
+        for (ServerSocketChannel channel : tcp) {
+            channel.close();
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            int target = targetOf(exchange);
+            if (target < 0) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            long now = System.currentTimeMillis();
+            long previous = lastHit.getAndSet(target, now);
+            if (measuring) {
+                httpHits.increment();
+                if (previous != 0) {
+                    gaps.recordValue(Math.min(now - previous, HIGHEST_TRACKABLE_MILLIS));
+                }
+            }
+            exchange.sendResponseHeaders(failing.get(target) == 1 ? 503 : 204, -1);
+        }
+    }
+
+    /**
+     * Numéro de cible de /probe/{n}, ou -1 si le chemin n'en désigne aucune
+     */
+    private int targetOf(HttpExchange exchange) {
+        try {
+            int target = Integer.parseInt(exchange.getRequestURI().getPath().substring("/probe/".length()));
+            return target >= 0 && target < lastHit.length() ? target : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void accept(ServerSocketChannel channel) {
+        while (channel.isOpen()) {
+            try (SocketChannel ignored = channel.accept()) {
+                if (measuring) {
+                    tcpAccepts.increment();
+                }
+            } catch (IOException e) {
+                // Serveur fermé: fin de la boucle
+            }
+        }
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+}
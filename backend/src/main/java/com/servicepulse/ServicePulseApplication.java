@@ -2,6 +2,7 @@ package com.servicepulse;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * 🎓 POINT D'ENTRÉE DE L'APPLICATION
@@ -25,8 +26,12 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * En JS, c'est comme si Express faisait automatiquement:
  *   - require() de tous tes fichiers routes/
  *   - Configuration automatique de body-parser, cors, etc.
+ * 
+ * @EnableScheduling active les tâches périodiques (@Scheduled),
+ * comme un setInterval() géré par Spring.
  */
 @SpringBootApplication
+@EnableScheduling
 public class ServicePulseApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,101 @@
+package com.servicepulse.catalog;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.servicepulse.model.ApplicationService;
+import com.servicepulse.repository.ServiceStore;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * 🎓 EXPORT EN FLUX - Catalogue complet en NDJSON ou CSV
+ * 
+ * Les lignes sont lues au fil de l'eau (store.streamAll: curseur JDBC avec
+ * le moteur JPA) et écrites dans la réponse au fur et à mesure.
+ * La mémoire utilisée ne dépend pas de la taille du catalogue.
+ * 
+ * Analogie JavaScript:
+ *   db.query('SELECT * FROM application_services').stream()
+ *     .pipe(toNdjson()).pipe(res);
+ * 
+ * Le CSV produit peut être réimporté tel quel (colonnes inconnues ignorées).
+ */
+@Component
+public class CatalogExporter {
+
+    private static final String[] CSV_HEADER =
+            {"id", "name", "description", "status", "maintenanceMessage", "lastUpdated", "createdAt"};
+
+    private final ServiceStore store;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    public CatalogExporter(ServiceStore store,
+                           PlatformTransactionManager transactionManager,
+                           ObjectMapper objectMapper) {
+        this.store = store;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Écrit tout le catalogue dans le flux (le curseur reste ouvert le temps de l'écriture)
+     */
+    public void export(OutputStream out, CatalogFormat format) throws IOException {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<ApplicationService> services = store.streamAll()) {
+                    if (format == CatalogFormat.CSV) {
+                        writeCsv(services.iterator(), out);
+                    } else {
+                        writeNdjson(services.iterator(), out);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // Client déconnecté en cours de route, par exemple
+            throw e.getCause();
+        }
+    }
+
+    private void writeNdjson(Iterator<ApplicationService> services, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Séparateur de racine par défaut = " ": NDJSON veut uniquement le \n
+        generator.setRootValueSeparator(null);
+        while (services.hasNext()) {
+            ApplicationService service = services.next();
+            objectMapper.writeValue(generator, service);
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+    }
+
+    private void writeCsv(Iterator<ApplicationService> services, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        CsvCodec.writeRecord(writer, CSV_HEADER);
+        while (services.hasNext()) {
+            ApplicationService service = services.next();
+            CsvCodec.writeRecord(writer,
+                    String.valueOf(service.getId()),
+                    service.getName(),
+                    service.getDescription(),
+                    service.getStatus().name(),
+                    service.getMaintenanceMessage(),
+                    Objects.toString(service.getLastUpdated(), null),
+                    Objects.toString(service.getCreatedAt(), null));
+        }
+        writer.flush();
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.servicepulse.catalog;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.Optional;
+
+/**
+ * 🎓 FORMATS D'IMPORT / EXPORT DU CATALOGUE
+ * 
+ * - NDJSON: un objet JSON par ligne ("newline-delimited JSON")
+ *     {"name":"API Paiements","status":"OPERATIONAL"}
+ *     {"name":"Service Email","status":"MAINTENANCE","maintenanceMessage":"..."}
+ * - CSV: une ligne d'en-tête, puis une ligne par service
+ *     name,description,status,maintenanceMessage
+ * 
+ * Les deux se lisent et s'écrivent ligne par ligne: pas besoin de tout
+ * charger en mémoire (contrairement à un grand tableau JSON).
+ */
+public enum CatalogFormat {
+
+    NDJSON("ndjson", new MediaType("application", "x-ndjson")),
+    CSV("csv", new MediaType("text", "csv"));
+
+    private final String parameter;
+    private final MediaType mediaType;
+
+    CatalogFormat(String parameter, MediaType mediaType) {
+        this.parameter = parameter;
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * Valeur du paramètre ?format= (null → NDJSON)
+     */
+    public static CatalogFormat fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return NDJSON;
+        }
+        for (CatalogFormat format : values()) {
+            if (format.parameter.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Format inconnu: " + value + " (ndjson ou csv)");
+    }
+
+    /**
+     * Format déduit du Content-Type de la requête (absent → NDJSON)
+     * 
+     * @return vide si le type n'est ni NDJSON ni CSV (ex: application/json)
+     * @throws InvalidMediaTypeException si le Content-Type est mal formé
+     */
+    public static Optional<CatalogFormat> fromContentType(String contentType) {
+        if (contentType == null || contentType.isBlank()) {
+            return Optional.of(NDJSON);
+        }
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        for (CatalogFormat format : values()) {
+            if (format.mediaType.equalsTypeAndSubtype(mediaType)) {
+                return Optional.of(format);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getFileExtension() {
+        return parameter;
+    }
+
+}
@@ -0,0 +1,330 @@
+package com.servicepulse.catalog;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.servicepulse.catalog.CsvCodec.CsvReader;
+import com.servicepulse.dto.ImportReport;
+import com.servicepulse.dto.ImportReport.LineError;
+import com.servicepulse.event.ServiceChangeEvent;
+import com.servicepulse.event.ServiceChangeEvent.ServiceChange;
+import com.servicepulse.model.ApplicationService;
+import com.servicepulse.model.ServiceStatus;
+import com.servicepulse.repository.ServiceStore;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 🎓 IMPORT EN FLUX - Synchronisation du catalogue depuis une CMDB
+ * 
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 LECTURE INCRÉMENTALE + TRANSACTIONS PAR LOTS
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 
+ * Le corps de la requête est lu ligne par ligne pendant qu'il arrive: 50 000
+ * lignes ne sont jamais en mémoire en même temps. Les lignes valides sont
+ * regroupées par lots de "batch-size":
+ *   1 SELECT ... WHERE name IN (...)   → services existants du lot
+ *   mise à jour des existants, création des autres, 1 commit
+ * au lieu de "existsByName + save" (2 requêtes + 1 transaction) par service.
+ * 
+ * Analogie JavaScript:
+ *   for await (const line of readline.createInterface({ input: req })) {
+ *       batch.push(parse(line));
+ *       if (batch.length === 500) await upsertByName(batch.splice(0));
+ *   }
+ * 
+ * Une ligne invalide est signalée (numéro + raison) sans arrêter l'import.
+ * Chaque lot publie UN ServiceChangeEvent (snapshot, SSE... une fois par lot).
+ * 
+ * ⚠️ Une CMDB ne connaît pas le statut en direct: sans colonne (ou champ)
+ *    "status", le statut et le message des services existants ne sont pas
+ *    touchés (une panne détectée par une sonde reste une panne). Les
+ *    nouveaux services démarrent alors en OPERATIONAL. Même règle pour
+ *    "maintenanceMessage" seul; une valeur vide, elle, efface le message.
+ */
+@Slf4j
+@Component
+public class CatalogImporter {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final ServiceStore store;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public CatalogImporter(ServiceStore store,
+                           ApplicationEventPublisher eventPublisher,
+                           PlatformTransactionManager transactionManager,
+                           ObjectMapper objectMapper,
+                           @Value("${application.catalog.import-batch-size}") int batchSize) {
+        this.store = store;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Importe un flux NDJSON ou CSV (UTF-8), rapprochement par nom
+     */
+    public ImportReport importCatalog(InputStream body, CatalogFormat format) throws IOException {
+        Progress progress = new Progress();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        if (format == CatalogFormat.CSV) {
+            readCsv(reader, progress);
+        } else {
+            readNdjson(reader, progress);
+        }
+        flush(progress);
+        log.info("Import du catalogue: {} lignes, {} créés, {} mis à jour, {} rejetées",
+                progress.processed, progress.created, progress.updated, progress.failed);
+        return new ImportReport(progress.processed, progress.created, progress.updated, progress.failed,
+                progress.errors);
+    }
+
+    private void readNdjson(BufferedReader reader, Progress progress) throws IOException {
+        String text;
+        long line = 0;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            progress.processed++;
+            try {
+                JsonNode node = objectMapper.readTree(text);
+                if (!node.isObject()) {
+                    throw new IllegalArgumentException("objet JSON attendu");
+                }
+                accept(progress, row(line, text(node, "name"), text(node, "description"),
+                        text(node, "status"), text(node, "maintenanceMessage")));
+            } catch (JsonProcessingException e) {
+                progress.reject(line, "JSON invalide: " + e.getOriginalMessage());
+            } catch (IllegalArgumentException e) {
+                progress.reject(line, e.getMessage());
+            }
+        }
+    }
+
+    private void readCsv(BufferedReader reader, Progress progress) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header;
+        try {
+            header = csv.next();
+        } catch (IllegalArgumentException e) {
+            progress.reject(1, "En-tête CSV invalide: " + e.getMessage());
+            return;
+        }
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+        if (!columns.containsKey("name")) {
+            progress.reject(1, "En-tête CSV sans colonne \"name\"");
+            return;
+        }
+
+        while (true) {
+            List<String> fields;
+            try {
+                fields = csv.next();
+            } catch (IllegalArgumentException e) {
+                // Guillemet non fermé: la suite du fichier n'est plus interprétable
+                progress.processed++;
+                progress.reject(csv.getRecordLine(), e.getMessage() + " (import interrompu)");
+                return;
+            }
+            if (fields == null) {
+                return;
+            }
+            progress.processed++;
+            try {
+                accept(progress, row(csv.getRecordLine(), field(fields, columns, "name"),
+                        field(fields, columns, "description"), field(fields, columns, "status"),
+                        field(fields, columns, "maintenanceMessage")));
+            } catch (IllegalArgumentException e) {
+                progress.reject(csv.getRecordLine(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Ajoute une ligne valide au lot courant (un même nom deux fois dans un lot
+     * force l'écriture du lot: la seconde ligne devient une mise à jour)
+     */
+    private void accept(Progress progress, Row row) {
+        if (progress.batch.containsKey(row.name)) {
+            flush(progress);
+        }
+        progress.batch.put(row.name, row);
+        if (progress.batch.size() >= batchSize) {
+            flush(progress);
+        }
+    }
+
+    /**
+     * Écrit le lot courant dans sa propre transaction
+     */
+    private void flush(Progress progress) {
+        if (progress.batch.isEmpty()) {
+            return;
+        }
+        List<Row> rows = new ArrayList<>(progress.batch.values());
+        progress.batch.clear();
+        try {
+            int[] counts = transactionTemplate.execute(status -> upsert(rows));
+            progress.created += counts[0];
+            progress.updated += counts[1];
+        } catch (DataAccessException | TransactionException | ConstraintViolationException e) {
+            String cause = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            for (Row row : rows) {
+                progress.reject(row.line, "Lot rejeté par la base: " + cause);
+            }
+        } finally {
+            // Les entités du lot ne sont plus utiles: mémoire constante d'un lot à l'autre
+            entityManager.clear();
+        }
+    }
+
+    /**
+     * @return { créés, mis à jour }
+     */
+    private int[] upsert(List<Row> rows) {
+        Map<String, ApplicationService> existing = store.findByNameIn(
+                        rows.stream().map(row -> row.name).toList()).stream()
+                .collect(Collectors.toMap(ApplicationService::getName, Function.identity()));
+
+        List<ApplicationService> services = new ArrayList<>(rows.size());
+        List<ApplicationService> created = new ArrayList<>();
+        for (Row row : rows) {
+            ApplicationService service = existing.get(row.name);
+            if (service == null) {
+                service = new ApplicationService();
+                service.setName(row.name);
+                created.add(service);
+            }
+            service.setDescription(row.description);
+            if (row.status != null) {
+                service.setStatus(row.status);
+            } else if (service.getStatus() == null) {
+                service.setStatus(ServiceStatus.OPERATIONAL);
+            }
+            if (row.maintenanceMessage != null) {
+                service.setMaintenanceMessage(emptyToNull(row.maintenanceMessage));
+            }
+            services.add(service);
+        }
+        // Un seul enregistrement pour le lot (JPA: INSERT des nouveaux, UPDATE par lots au commit)
+        store.saveAll(services);
+
+        List<ServiceChange> changes = new ArrayList<>(services.size());
+        for (ApplicationService service : services) {
+            changes.add(ServiceChange.upsert(service));
+        }
+        eventPublisher.publishEvent(new ServiceChangeEvent(changes));
+        return new int[]{created.size(), rows.size() - created.size()};
+    }
+
+    /**
+     * Valide une ligne (mêmes règles que les annotations de l'entité)
+     */
+    private static Row row(long line, String name, String description, String status, String maintenanceMessage) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Le nom du service est obligatoire");
+        }
+        String trimmed = name.trim();
+        if (trimmed.length() < 2 || trimmed.length() > 100) {
+            throw new IllegalArgumentException("Le nom doit contenir entre 2 et 100 caractères");
+        }
+        if (description != null && description.length() > 500) {
+            throw new IllegalArgumentException("La description ne peut pas dépasser 500 caractères");
+        }
+        if (maintenanceMessage != null && maintenanceMessage.length() > 1000) {
+            throw new IllegalArgumentException("Le message ne peut pas dépasser 1000 caractères");
+        }
+        ServiceStatus serviceStatus;
+        try {
+            serviceStatus = status == null || status.isBlank()
+                    ? null
+                    : ServiceStatus.valueOf(status.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Statut inconnu: " + status);
+        }
+        return new Row(line, trimmed, emptyToNull(description), serviceStatus, maintenanceMessage);
+    }
+
+    /**
+     * Champ absent → null (non fourni), champ à null → "" (valeur effacée)
+     */
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        if (value == null) {
+            return null;
+        }
+        return value.isNull() ? "" : value.asText();
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        return index == null || index >= fields.size() ? null : fields.get(index);
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    /**
+     * @param status             null si non fourni (statut existant conservé)
+     * @param maintenanceMessage null si non fourni (message existant conservé), "" pour l'effacer
+     */
+    private record Row(long line, String name, String description, ServiceStatus status, String maintenanceMessage) {
+    }
+
+    /**
+     * État d'un import en cours (lot courant + compteurs)
+     */
+    private static final class Progress {
+        private final Map<String, Row> batch = new LinkedHashMap<>();
+        private final List<LineError> errors = new ArrayList<>();
+        private long processed;
+        private long created;
+        private long updated;
+        private long failed;
+
+        void reject(long line, String error) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new LineError(line, error));
+            }
+        }
+    }
+
+}
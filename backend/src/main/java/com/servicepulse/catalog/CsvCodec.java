@@ -0,0 +1,143 @@
+package com.servicepulse.catalog;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 🎓 CSV MINIMAL (RFC 4180) - Lecture enregistrement par enregistrement
+ * 
+ * - Séparateur ",", champs entre guillemets si besoin: "Paris, France"
+ * - Guillemet dans un champ doublé: "dit ""bonjour"""
+ * - Un champ entre guillemets peut contenir des retours à la ligne
+ * 
+ * La lecture ne garde en mémoire qu'un enregistrement à la fois.
+ */
+final class CsvCodec {
+
+    private CsvCodec() {
+    }
+
+    /**
+     * Lecteur d'enregistrements (non thread-safe)
+     */
+    static final class CsvReader {
+
+        private final Reader reader;
+        private int line = 1;
+        private int recordLine;
+        private int pending = -2;
+
+        CsvReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        /**
+         * @return les champs de l'enregistrement suivant, ou null en fin de flux
+         * @throws IllegalArgumentException si un guillemet n'est pas fermé
+         */
+        List<String> next() throws IOException {
+            int c = read();
+            while (c == '\r' || c == '\n') {
+                c = read();
+            }
+            if (c == -1) {
+                return null;
+            }
+            recordLine = line;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        throw new IllegalArgumentException("Guillemet non fermé");
+                    }
+                    if (c == '"') {
+                        int following = read();
+                        if (following == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            c = following;
+                            continue;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == '\r' || c == -1) {
+                    if (c == '\r') {
+                        int following = read();
+                        if (following != '\n') {
+                            unread(following);
+                        }
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+        }
+
+        /**
+         * Numéro de la ligne où commence le dernier enregistrement lu
+         */
+        int getRecordLine() {
+            return recordLine;
+        }
+
+        private int read() throws IOException {
+            int c;
+            if (pending != -2) {
+                c = pending;
+                pending = -2;
+            } else {
+                c = reader.read();
+            }
+            if (c == '\n') {
+                line++;
+            }
+            return c;
+        }
+
+        private void unread(int c) {
+            if (c == '\n') {
+                line--;
+            }
+            pending = c;
+        }
+    }
+
+    /**
+     * Écrit un enregistrement (guillemets uniquement si nécessaire)
+     */
+    static void writeRecord(Writer writer, String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            String value = fields[i];
+            if (value == null) {
+                continue;
+            }
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write("\r\n");
+    }
+
+}
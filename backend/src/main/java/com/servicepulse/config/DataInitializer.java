@@ -3,7 +3,9 @@ package com.servicepulse.config;
 import com.servicepulse.model.User;
 import com.servicepulse.repository.UserRepository;
 import jakarta.annotation.PostConstruct;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
@@ -13,21 +15,54 @@ import java.util.Set;
  * 🎓 INITIALISATION DES DONNÉES - Crée les utilisateurs de test
  * 
  * Cette classe est exécutée au démarrage pour créer les utilisateurs admin et lecteur
+ *
+ * Les mots de passe sont stockés sous forme de hash BCrypt déjà calculé:
+ * passwordEncoder.encode() coûte ~100 ms de CPU par appel (exprès, c'est le
+ * principe de BCrypt) et retardait d'autant chaque démarrage.
+ *
+ * ⚠️ Profil prod (base persistante): pas de compte "password"
+ *   - l'admin est créé au premier démarrage avec ADMIN_PASSWORD (obligatoire
+ *     tant qu'il n'existe pas), le lecteur de test n'est pas créé
+ *   - démarrage refusé si l'admin en base a encore le mot de passe par défaut
+ *     (base créée en dev puis réutilisée, ADMIN_PASSWORD=password...)
  */
 @Component
-@RequiredArgsConstructor
 public class DataInitializer {
 
+    /**
+     * BCrypt (coût 10, celui de SecurityConfig.passwordEncoder) de "password"
+     * Régénérer avec new BCryptPasswordEncoder().encode(...) si le mot de passe change
+     */
+    static final String DEFAULT_PASSWORD_HASH = "$2a$10$9t5pn/1EJxOuHUafaLR3a.BGZH4qvxb3j9HXCh88j7AZgRDzCvPZS";
+    static final String DEFAULT_PASSWORD = "password";
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final boolean production;
+    private final String adminPassword;
+
+    public DataInitializer(UserRepository userRepository,
+                           PasswordEncoder passwordEncoder,
+                           Environment environment,
+                           @Value("${application.security.admin-password}") String adminPassword) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.production = environment.acceptsProfiles(Profiles.of("prod"));
+        this.adminPassword = adminPassword;
+    }
 
     @PostConstruct
     public void init() {
+        if (production) {
+            initProduction();
+            return;
+        }
+
         // Créer l'admin si n'existe pas
         if (!userRepository.existsByUsername("admin")) {
             User admin = User.builder()
                     .username("admin")
-                    .password(passwordEncoder.encode("password"))
+                    .password(DEFAULT_PASSWORD_HASH)
                     .fullName("Admin User")
                     .roles(Set.of("ROLE_ADMIN", "ROLE_LECTEUR"))
                     .enabled(true)
@@ -40,7 +75,7 @@ public class DataInitializer {
         if (!userRepository.existsByUsername("lecteur")) {
             User lecteur = User.builder()
                     .username("lecteur")
-                    .password(passwordEncoder.encode("password"))
+                    .password(DEFAULT_PASSWORD_HASH)
                     .fullName("Lecteur User")
                     .roles(Set.of("ROLE_LECTEUR"))
                     .enabled(true)
@@ -49,4 +84,31 @@ public class DataInitializer {
             System.out.println("✅ Utilisateur lecteur créé (username: lecteur, password: password)");
         }
     }
+
+    /**
+     * Admin créé avec ADMIN_PASSWORD, puis refus du mot de passe par défaut
+     * (@PostConstruct: avant l'ouverture du port HTTP)
+     */
+    private void initProduction() {
+        if (!userRepository.existsByUsername("admin")) {
+            if (adminPassword == null || adminPassword.isBlank()) {
+                throw new IllegalStateException(
+                        "Aucun admin en base: définir ADMIN_PASSWORD pour le créer au premier démarrage");
+            }
+            userRepository.save(User.builder()
+                    .username("admin")
+                    .password(passwordEncoder.encode(adminPassword))
+                    .fullName("Admin User")
+                    .roles(Set.of("ROLE_ADMIN", "ROLE_LECTEUR"))
+                    .enabled(true)
+                    .build());
+        }
+        userRepository.findByUsername("admin")
+                .filter(admin -> DEFAULT_PASSWORD_HASH.equals(admin.getPassword())
+                        || passwordEncoder.matches(DEFAULT_PASSWORD, admin.getPassword()))
+                .ifPresent(admin -> {
+                    throw new IllegalStateException("Profil prod: l'admin a encore le mot de passe par défaut "
+                            + "(changer son mot de passe en base ou repartir d'une base vide avec ADMIN_PASSWORD)");
+                });
+    }
 }
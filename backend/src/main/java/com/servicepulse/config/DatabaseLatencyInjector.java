@@ -0,0 +1,103 @@
+package com.servicepulse.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 🎓 LATENCE DE BASE SIMULÉE (diagnostic / benchmark uniquement)
+ *
+ * H2 en mémoire répond en microsecondes: impossible d'y voir la différence entre
+ * threads plateforme et threads virtuels. Avec application.diagnostics.db-latency > 0,
+ * chaque exécution SQL attend ce nombre de millisecondes AVANT de partir, connexion
+ * tenue, comme une vraie base distante.
+ *
+ * Analogie JavaScript:
+ *   const query = async (sql) => { await sleep(latency); return db.query(sql); };
+ *
+ * À 0 (valeur par défaut), la DataSource n'est pas modifiée.
+ */
+@Slf4j
+@Component
+public class DatabaseLatencyInjector implements BeanPostProcessor {
+
+    private final long latencyMillis;
+
+    public DatabaseLatencyInjector(@Value("${application.diagnostics.db-latency:0}") long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (latencyMillis <= 0 || !(bean instanceof DataSource dataSource)) {
+            return bean;
+        }
+        log.warn("Latence SQL simulée de {} ms sur la DataSource '{}'", latencyMillis, beanName);
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return delayed(Connection.class, super.getConnection());
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return delayed(Connection.class, super.getConnection(username, password));
+            }
+        };
+    }
+
+    /**
+     * Proxy JDBC: les Statement créés par la connexion sont eux aussi enveloppés,
+     * et leurs méthodes execute* attendent avant de s'exécuter
+     */
+    private <T> T delayed(Class<T> type, T target) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getName().startsWith("execute")) {
+                sleep();
+            }
+            Object result = invoke(method, target, args);
+            if (result instanceof CallableStatement statement) {
+                return delayed(CallableStatement.class, statement);
+            }
+            if (result instanceof PreparedStatement statement) {
+                return delayed(PreparedStatement.class, statement);
+            }
+            if (result instanceof Statement statement) {
+                return delayed(Statement.class, statement);
+            }
+            return result;
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private void sleep() throws SQLException {
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrompu pendant la latence simulée", e);
+        }
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.servicepulse.config;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * 🎓 INITIALISATION PARESSEUSE - Quels beans doivent rester créés au démarrage
+ *
+ * Avec spring.main.lazy-initialization=true (profil fast-start), un bean n'est
+ * créé qu'au premier getBean(): le démarrage saute les contrôleurs, endpoints
+ * Actuator, convertisseurs... jusqu'à ce qu'une requête (ou le warm-up) en ait besoin.
+ *
+ * Analogie JavaScript: un import() dynamique au lieu d'un import en tête de fichier
+ *
+ * Ce n'est PAS sans risque pour un bean qui travaille sans être appelé:
+ *   - @Scheduled: la tâche n'est enregistrée qu'à la création du bean
+ *     → jamais créé, jamais exécuté (purges, réconciliation, heartbeat SSE)
+ *   - @PostConstruct: l'effet attendu au démarrage (données initiales,
+ *     vérification de la clé JWT, reprise du journal) serait reporté, voire perdu
+ * Ces beans sont exclus ici, quel que soit leur package. Un bean qui travaille
+ * dans son constructeur (ex: enregistrement de jauges) porte @Lazy(false).
+ *
+ * Les @EventListener n'ont pas besoin d'exclusion: Spring crée le bean au
+ * premier événement reçu.
+ *
+ * Sans effet quand l'initialisation paresseuse est désactivée (par défaut).
+ */
+@Configuration(proxyBeanMethods = false)
+public class LazyInitializationConfig {
+
+    /**
+     * static: lu par un BeanFactoryPostProcessor, avant la création des autres beans
+     */
+    @Bean
+    static LazyInitializationExcludeFilter backgroundWorkExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> beanType != null && hasBackgroundWork(beanType);
+    }
+
+    private static boolean hasBackgroundWork(Class<?> beanType) {
+        ReflectionUtils.MethodFilter filter = method ->
+                AnnotatedElementUtils.hasAnnotation(method, Scheduled.class)
+                        || method.isAnnotationPresent(PostConstruct.class);
+        return !MethodIntrospector.selectMethods(beanType, filter).isEmpty();
+    }
+
+}
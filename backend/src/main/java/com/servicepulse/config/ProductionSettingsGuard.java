@@ -0,0 +1,97 @@
+package com.servicepulse.config;
+
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 🎓 GARDE-FOU DU PROFIL PROD - Refuse de démarrer avec des réglages de dev
+ *
+ * Une variable d'environnement oubliée ou un application-prod.yml incomplet
+ * suffit à retomber sur la config de dev: base en mémoire vidée à chaque
+ * redémarrage, SQL et logs DEBUG qui saturent le CPU, clé JWT publique...
+ *
+ * BeanFactoryPostProcessor = exécuté AVANT la création des beans: aucune
+ * connexion ouverte, aucune migration jouée, aucun port ouvert si la
+ * configuration est refusée.
+ *
+ * Le mot de passe de l'admin est en base, donc inaccessible ici: c'est
+ * DataInitializer qui refuse le mot de passe par défaut en profil prod.
+ *
+ * Analogie JavaScript:
+ *   if (process.env.NODE_ENV === 'production' && config.db.url.includes(':memory:')) {
+ *       throw new Error('Base en mémoire interdite en production');
+ *   }
+ */
+@Component
+@Profile("prod")
+public class ProductionSettingsGuard implements BeanFactoryPostProcessor, EnvironmentAware {
+
+    private static final Set<String> DESTRUCTIVE_DDL = Set.of("create", "create-drop", "update");
+    private static final Set<String> VERBOSE_LEVELS = Set.of("DEBUG", "TRACE", "ALL");
+    private static final List<String> QUIET_LOGGERS = List.of(
+            "org.springframework.security", "org.hibernate.SQL", "org.hibernate.orm.jdbc.bind");
+
+    private Environment environment;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        List<String> problems = check();
+        if (!problems.isEmpty()) {
+            throw new IllegalStateException("Configuration de dev refusée en profil prod:\n - "
+                    + String.join("\n - ", problems));
+        }
+    }
+
+    private List<String> check() {
+        List<String> problems = new ArrayList<>();
+
+        String url = environment.getProperty("spring.datasource.url", "");
+        if (url.contains(":mem:")) {
+            problems.add("spring.datasource.url est une base en mémoire (" + url + ")");
+        }
+        String ddl = environment.getProperty("spring.jpa.hibernate.ddl-auto", "none").toLowerCase(Locale.ROOT);
+        if (DESTRUCTIVE_DDL.contains(ddl)) {
+            problems.add("spring.jpa.hibernate.ddl-auto=" + ddl + " (attendu: validate ou none)");
+        }
+        if (!environment.getProperty("spring.flyway.enabled", Boolean.class, true)) {
+            problems.add("spring.flyway.enabled=false (le schéma doit venir des migrations)");
+        }
+        if ("always".equalsIgnoreCase(environment.getProperty("spring.sql.init.mode"))) {
+            problems.add("spring.sql.init.mode=always (données de démonstration)");
+        }
+        if (environment.getProperty("spring.jpa.show-sql", Boolean.class, false)) {
+            problems.add("spring.jpa.show-sql=true");
+        }
+        if (environment.getProperty("spring.h2.console.enabled", Boolean.class, false)) {
+            problems.add("spring.h2.console.enabled=true");
+        }
+        for (String logger : QUIET_LOGGERS) {
+            String level = environment.getProperty("logging.level." + logger, "");
+            if (VERBOSE_LEVELS.contains(level.toUpperCase(Locale.ROOT))) {
+                problems.add("logging.level." + logger + "=" + level);
+            }
+        }
+        if (environment.getProperty("application.security.jwt.secret-key", "").isBlank()) {
+            problems.add("application.security.jwt.secret-key vide (définir JWT_SECRET)");
+        }
+        if (environment.getProperty("application.diagnostics.db-latency", Long.class, 0L) > 0) {
+            problems.add("application.diagnostics.db-latency > 0 (latence SQL simulée)");
+        }
+        return problems;
+    }
+
+}
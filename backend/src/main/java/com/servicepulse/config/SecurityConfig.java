@@ -4,6 +4,8 @@ import com.servicepulse.security.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -11,6 +13,7 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 /**
@@ -36,11 +39,21 @@ public class SecurityConfig {
                 .requestMatchers("/api/auth/**").permitAll()      // Login
                 .requestMatchers("/api/services").permitAll()     // Liste services (lecture)
                 .requestMatchers("/api/services/*/").permitAll()  // Détail service
-                .requestMatchers("/api/services/status/**").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/services/status/**").permitAll() // PATCH /status groupé: authentifié
                 .requestMatchers("/api/services/alerts").permitAll()
                 .requestMatchers("/api/services/search").permitAll()
+                .requestMatchers("/api/services/search/suggest").permitAll() // Autocomplétion
                 .requestMatchers("/api/services/health-summary").permitAll()
-                .requestMatchers("/actuator/**").permitAll()
+                .requestMatchers("/api/services/stream").permitAll()  // Flux SSE
+                .requestMatchers("/api/services/changes").permitAll() // Synchronisation incrémentale
+                .requestMatchers("/api/services/*/history").permitAll()   // Historique d'un service
+                .requestMatchers("/api/services/history/at").permitAll()  // Statuts à un instant
+                .requestMatchers("/api/services/*/uptime").permitAll()    // Disponibilité d'un service
+                .requestMatchers("/api/services/sla").permitAll()         // Rapport SLA
+                // Actuator: sondes publiques (Docker, Kubernetes), métriques réservées aux admins
+                .requestMatchers("/actuator/health", "/actuator/health/**", "/actuator/info").permitAll()
+                .requestMatchers("/actuator/prometheus", "/actuator/metrics", "/actuator/metrics/**").hasRole("ADMIN")
+                .requestMatchers("/actuator/**").authenticated()
                 .requestMatchers("/h2-console/**").permitAll()
                 .requestMatchers("/error").permitAll()
                 
@@ -53,6 +66,11 @@ public class SecurityConfig {
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
             )
             
+            // Sans token (ou token refusé): 401, et non le 403 par défaut (réservé au rôle insuffisant)
+            .exceptionHandling(exceptions -> exceptions
+                .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED))
+            )
+            
             // Ajouter le filtre JWT avant le filtre d'authentification standard
             .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
             
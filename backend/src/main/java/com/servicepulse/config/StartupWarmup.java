@@ -0,0 +1,170 @@
+package com.servicepulse.config;
+
+import com.servicepulse.model.ApplicationService;
+import com.servicepulse.model.User;
+import com.servicepulse.repository.UserRepository;
+import com.servicepulse.security.JwtService;
+import com.servicepulse.service.ServiceSnapshotStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 🎓 WARM-UP - Chauffer la JVM avant d'annoncer l'instance prête
+ *
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 POURQUOI ?
+ * ═══════════════════════════════════════════════════════════════════════════════
+ *
+ * Juste après le démarrage, le code tourne en mode interprété: le JIT ne compile
+ * une méthode qu'après quelques milliers d'appels. Sans warm-up, ce sont les
+ * premières requêtes des utilisateurs qui paient ce coût (et, avec
+ * l'initialisation paresseuse, la création des contrôleurs et de Jackson).
+ *
+ * Analogie JavaScript: V8 passe d'Ignition (interpréteur) à TurboFan (optimisé)
+ * après assez d'appels; ici on fait ces appels nous-mêmes, avant le trafic.
+ *
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 QUAND ?
+ * ═══════════════════════════════════════════════════════════════════════════════
+ *
+ * Un ApplicationRunner s'exécute APRÈS le démarrage de Tomcat mais AVANT que
+ * Spring Boot publie ReadinessState.ACCEPTING_TRAFFIC:
+ *   - /actuator/health/liveness  → UP (le processus vit)
+ *   - /actuator/health/readiness → OUT_OF_SERVICE tant que le warm-up tourne
+ * Kubernetes / Docker n'envoient donc aucun trafic à une instance froide.
+ *
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 QUOI ?
+ * ═══════════════════════════════════════════════════════════════════════════════
+ *
+ *   1. JWT: signature + vérification HMAC en boucle (JwtService)
+ *   2. Requêtes HTTP GET en boucle locale (127.0.0.1): Tomcat, filtres de
+ *      sécurité et JWT, contrôleurs, sérialisation JSON, requêtes paginées
+ *      (SQL en moteur jpa)
+ *
+ * Lecture seule: aucune donnée n'est modifiée. Ces requêtes apparaissent dans
+ * les métriques http.server.requests. Un échec est journalisé mais n'empêche
+ * jamais le démarrage.
+ * 
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 COMBIEN ?
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 
+ * Le warm-up retarde "ready": il doit coûter moins qu'il ne fait gagner aux
+ * premières requêtes. Le nombre de passages est donné PAR CPU (une petite
+ * instance en fait moins, son JIT compile aussi moins vite) et la durée
+ * totale reste bornée par application.warmup.timeout.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "application.warmup.enabled", havingValue = "true")
+public class StartupWarmup implements ApplicationRunner {
+
+    private final WebServerApplicationContext context;
+    private final JwtService jwtService;
+    private final UserRepository userRepository;
+    private final ServiceSnapshotStore snapshotStore;
+    private final int iterations;
+    private final int jwtIterations;
+    private final Duration timeout;
+
+    public StartupWarmup(WebServerApplicationContext context,
+                         JwtService jwtService,
+                         UserRepository userRepository,
+                         ServiceSnapshotStore snapshotStore,
+                         @Value("${application.warmup.iterations-per-cpu}") int iterationsPerCpu,
+                         @Value("${application.warmup.jwt-iterations-per-cpu}") int jwtIterationsPerCpu,
+                         @Value("${application.warmup.timeout}") long timeoutMillis) {
+        this.context = context;
+        this.jwtService = jwtService;
+        this.userRepository = userRepository;
+        this.snapshotStore = snapshotStore;
+        int cpus = Runtime.getRuntime().availableProcessors();
+        this.iterations = iterationsPerCpu * cpus;
+        this.jwtIterations = jwtIterationsPerCpu * cpus;
+        this.timeout = Duration.ofMillis(timeoutMillis);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        try {
+            Optional<User> user = userRepository.findByUsername("admin");
+            int tokens = user.map(u -> warmUpJwt(u, deadline)).orElse(0);
+            int requests = warmUpHttp(user.map(jwtService::generateToken).orElse(null), deadline);
+            log.info("Warm-up terminé en {} ms: {} tokens signés/vérifiés, {} requêtes HTTP",
+                    (System.nanoTime() - start) / 1_000_000, tokens, requests);
+        } catch (Exception e) {
+            log.warn("Warm-up interrompu après {} ms: {}", (System.nanoTime() - start) / 1_000_000, e.toString());
+        }
+    }
+
+    private int warmUpJwt(User user, long deadline) {
+        int done = 0;
+        while (done < jwtIterations && System.nanoTime() < deadline) {
+            String token = jwtService.generateToken(user);
+            jwtService.isTokenValid(jwtService.parseClaims(token), user.getUsername());
+            done++;
+        }
+        return done;
+    }
+
+    private int warmUpHttp(String token, long deadline) throws IOException, InterruptedException {
+        String base = "http://127.0.0.1:" + context.getWebServer().getPort();
+        List<URI> uris = new ArrayList<>();
+        for (String path : List.of(
+                "/api/services",
+                "/api/services/health-summary",
+                "/api/services/alerts",
+                "/api/services?limit=50",
+                "/api/services?limit=50&sort=name",
+                "/api/services?limit=50&sort=lastUpdated",
+                "/api/services/status/OPERATIONAL?limit=50",
+                "/api/services/search?q=api",
+                "/api/services/search/suggest?q=a")) {
+            uris.add(URI.create(base + path));
+        }
+        List<ApplicationService> services = snapshotStore.current().getServices();
+        if (!services.isEmpty()) {
+            uris.add(URI.create(base + "/api/services/" + services.get(0).getId()));
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+        int done = 0;
+        for (int i = 0; i < iterations && System.nanoTime() < deadline; i++) {
+            for (URI uri : uris) {
+                HttpRequest.Builder request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(5)).GET();
+                if (token != null) {
+                    request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+                }
+                HttpResponse<Void> response = client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+                if (i == 0 && response.statusCode() >= 400) {
+                    log.debug("Warm-up: {} → {}", uri.getPath(), response.statusCode());
+                }
+                done++;
+            }
+        }
+        return done;
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.servicepulse.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * 🎓 MODE D'EXÉCUTION - Threads "plateforme" ou threads virtuels
+ *
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 POURQUOI ?
+ * ═══════════════════════════════════════════════════════════════════════════════
+ *
+ * Par défaut Tomcat traite chaque requête sur un thread d'un pool de 200.
+ * Un appel JPA bloque ce thread pendant l'attente de la base: si la base est
+ * lente, les 200 threads attendent et les requêtes suivantes font la queue,
+ * alors que le CPU ne fait presque rien.
+ *
+ * Avec spring.threads.virtual.enabled=true (Java 21+), Spring Boot exécute les
+ * requêtes Tomcat, les tâches @Async et les @Scheduled sur des threads virtuels:
+ * un thread bloqué sur une E/S libère son thread système, un peu comme un "await"
+ * en JavaScript libère l'event loop.
+ *
+ * Le mode est un simple réglage (VIRTUAL_THREADS=true) pour comparer les deux
+ * sous la même charge. Ce composant affiche au démarrage le mode RÉELLEMENT
+ * actif: sur un JRE 17, Spring Boot ignore silencieusement la propriété.
+ *
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 ÉPINGLAGE ("PINNING")
+ * ═══════════════════════════════════════════════════════════════════════════════
+ *
+ * Jusqu'à Java 23, un thread virtuel qui bloque DANS un bloc synchronized reste
+ * collé à son thread système. Le chemin des requêtes n'en contient pas:
+ *   - notre code utilise ReentrantLock / ReadWriteLock (snapshot, caches, SSE,
+ *     historique) et aucun synchronized;
+ *   - les ConcurrentHashMap.compute() ne font que du calcul (pas d'E/S);
+ *   - H2 2.2 et HikariCP 5 utilisent des verrous java.util.concurrent.
+ * Le profil Maven "java21" active -Djdk.tracePinnedThreads=short pour le vérifier.
+ *
+ * Les pools dédiés (BCrypt, sondes, SSE, écriture des résultats) restent sur
+ * des threads plateforme: ils sont bornés volontairement.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ThreadingModeReporter {
+
+    private final Environment environment;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        boolean requested = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("Threads virtuels actifs (requêtes Tomcat, @Async, @Scheduled)");
+            return;
+        }
+        if (requested) {
+            log.warn("spring.threads.virtual.enabled=true ignoré: Java {} (Java 21 requis, profil Maven java21)",
+                    Runtime.version().feature());
+        }
+        log.info("Threads plateforme: pool Tomcat de {} threads",
+                environment.getProperty("server.tomcat.threads.max", "200"));
+    }
+
+}
@@ -1,16 +1,45 @@
 package com.servicepulse.controller;
 
+import com.servicepulse.catalog.CatalogExporter;
+import com.servicepulse.catalog.CatalogFormat;
+import com.servicepulse.catalog.CatalogImporter;
+import com.servicepulse.dto.BulkStatusUpdateResponse;
+import com.servicepulse.dto.ImportReport;
+import com.servicepulse.dto.ProbeStatus;
+import com.servicepulse.dto.ServiceChangesResponse;
+import com.servicepulse.dto.StatusTransition;
+import com.servicepulse.dto.StatusUpdateItem;
 import com.servicepulse.model.ApplicationService;
 import com.servicepulse.model.ServiceStatus;
+import com.servicepulse.probe.ProbeEngine;
 import com.servicepulse.service.ApplicationServiceService;
+import com.servicepulse.service.ServiceSnapshot;
+import com.servicepulse.stream.ServiceEventBroadcaster;
+import com.servicepulse.web.EncodedBody;
+import com.servicepulse.web.EncodedResponseCache;
+import com.servicepulse.web.EncodedResponseCache.Resource;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * 🎓 CONTROLLER REST - Points d'entrée de l'API
@@ -48,6 +77,28 @@ import java.util.Map;
  * 
  * @CrossOrigin = Autorise les requêtes depuis d'autres origines (CORS)
  *                Nécessaire pour que Angular puisse appeler l'API
+ * 
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 REQUÊTES CONDITIONNELLES (ETag / 304)
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 
+ * Les listes et le résumé portent un ETag égal à la version du snapshot.
+ * Si le navigateur renvoie la même valeur dans If-None-Match, on répond
+ * 304 Not Modified sans lire les données ni sérialiser de JSON.
+ * 
+ * Les endpoints les plus sollicités (liste, alertes, résumé) renvoient des
+ * octets déjà sérialisés et compressés (EncodedResponseCache), calculés une
+ * seule fois par version, en arrière-plan: pendant l'encodage, la version
+ * précédente est servie avec son propre ETag.
+ * 
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 PAGINATION PAR CURSEUR
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 
+ * Liste, statut et recherche acceptent ?limit=&after=&sort=. Dès qu'un de ces
+ * paramètres est présent, la réponse est une page de résumés légers:
+ *   { "items": [...], "nextCursor": "...", "limit": 50 }
+ * Sans paramètre, le comportement historique (liste complète) est conservé.
  */
 @RestController
 @RequestMapping("/api/services")
@@ -56,6 +107,11 @@ import java.util.Map;
 public class ApplicationServiceController {
 
     private final ApplicationServiceService serviceService;
+    private final ServiceEventBroadcaster eventBroadcaster;
+    private final ProbeEngine probeEngine;
+    private final CatalogImporter catalogImporter;
+    private final CatalogExporter catalogExporter;
+    private final EncodedResponseCache responseCache;
 
     /*
      * ═══════════════════════════════════════════════════════════════════════════
@@ -74,9 +130,15 @@ public class ApplicationServiceController {
      *   });
      */
     @GetMapping
-    public ResponseEntity<List<ApplicationService>> getAllServices() {
-        List<ApplicationService> services = serviceService.getAllServices();
-        return ResponseEntity.ok(services);
+    public ResponseEntity<?> getAllServices(
+            WebRequest request,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "sort", required = false) String sort) {
+        if (after == null && limit == null && sort == null) {
+            return precomputed(request, Resource.SERVICES, ServiceSnapshot::getServices);
+        }
+        return page(request, null, null, after, limit, sort);
     }
 
     /**
@@ -97,8 +159,17 @@ public class ApplicationServiceController {
      * Récupère les services filtrés par statut
      */
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<ApplicationService>> getServicesByStatus(@PathVariable ServiceStatus status) {
-        return ResponseEntity.ok(serviceService.getServicesByStatus(status));
+    public ResponseEntity<?> getServicesByStatus(
+            @PathVariable ServiceStatus status,
+            WebRequest request,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "sort", required = false) String sort) {
+        if (after != null || limit != null || sort != null) {
+            return page(request, status, null, after, limit, sort);
+        }
+        ServiceSnapshot snapshot = serviceService.getSnapshot();
+        return conditional(request, snapshot, () -> snapshot.getByStatus(status));
     }
 
     /**
@@ -106,19 +177,47 @@ public class ApplicationServiceController {
      * Récupère les services en alerte (non opérationnels)
      */
     @GetMapping("/alerts")
-    public ResponseEntity<List<ApplicationService>> getAlerts() {
-        return ResponseEntity.ok(serviceService.getNonOperationalServices());
+    public ResponseEntity<byte[]> getAlerts(WebRequest request) {
+        return precomputed(request, Resource.ALERTS, ServiceSnapshot::getNonOperational);
     }
 
     /**
      * GET /api/services/search?q=xxx
-     * Recherche des services par nom
+     * Recherche des services par nom ou description (sans accents ni casse),
+     * classés par pertinence
      * 
      * @RequestParam = Extrait un paramètre de query string (comme req.query.q en Express)
      */
     @GetMapping("/search")
-    public ResponseEntity<List<ApplicationService>> searchServices(@RequestParam("q") String query) {
-        return ResponseEntity.ok(serviceService.searchServices(query));
+    public ResponseEntity<?> searchServices(
+            @RequestParam("q") String query,
+            WebRequest request,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "sort", required = false) String sort) {
+        if (after != null || limit != null || sort != null) {
+            return page(request, null, query, after, limit, sort);
+        }
+        ServiceSnapshot snapshot = serviceService.getSnapshot();
+        if (!serviceService.isSearchIndexCurrent(snapshot)) {
+            // Index en retard d'une version: pas d'ETag, sinon le client garderait ce résultat
+            return ResponseEntity.ok(serviceService.searchServices(query));
+        }
+        return conditional(request, snapshot, () -> serviceService.searchServices(query));
+    }
+
+    /**
+     * GET /api/services/search/suggest?q=xxx&limit=10
+     * Autocomplétion sur le nom des services (dès le premier caractère)
+     */
+    @GetMapping("/search/suggest")
+    public ResponseEntity<?> suggestServices(@RequestParam("q") String query,
+                                             @RequestParam(value = "limit", required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(serviceService.suggestServices(query, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     /**
@@ -126,19 +225,174 @@ public class ApplicationServiceController {
      * Retourne un résumé de la santé des services
      */
     @GetMapping("/health-summary")
-    public ResponseEntity<Map<String, Object>> getHealthSummary() {
-        long total = serviceService.countServices();
-        boolean allOperational = serviceService.areAllServicesOperational();
-        List<ApplicationService> alerts = serviceService.getNonOperationalServices();
-        
-        Map<String, Object> summary = Map.of(
-            "totalServices", total,
-            "allOperational", allOperational,
-            "alertCount", alerts.size(),
-            "alerts", alerts
-        );
-        
-        return ResponseEntity.ok(summary);
+    public ResponseEntity<byte[]> getHealthSummary(WebRequest request) {
+        return precomputed(request, Resource.HEALTH_SUMMARY, serviceService::getHealthSummary);
+    }
+
+    /**
+     * GET /api/services/changes?since=N
+     * Synchronisation incrémentale: uniquement ce qui a changé depuis la version N
+     * (créations, modifications et suppressions). Sans "since": liste complète.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ServiceChangesResponse> getChanges(@RequestParam(value = "since", required = false) Long since) {
+        return ResponseEntity.ok(serviceService.getChangesSince(since));
+    }
+
+    /**
+     * GET /api/services/{id}/history?from=2026-01-01T00:00&to=2026-01-02T00:00
+     * Chronologie des changements de statut d'un service (période optionnelle)
+     * 
+     * @DateTimeFormat = Convertit le texte ISO-8601 en LocalDateTime (400 si invalide)
+     */
+    @GetMapping("/{id}/history")
+    public ResponseEntity<?> getStatusHistory(
+            @PathVariable Long id,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        try {
+            return ResponseEntity.ok(serviceService.getStatusHistory(id, from, to));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * GET /api/services/history/at?instant=2026-01-01T12:00
+     * Statut de tous les services à un instant passé ("voyage dans le temps")
+     */
+    @GetMapping("/history/at")
+    public ResponseEntity<List<StatusTransition>> getStatusAt(
+            @RequestParam("instant") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime instant) {
+        return ResponseEntity.ok(serviceService.getStatusAt(instant));
+    }
+
+    /**
+     * GET /api/services/{id}/uptime?window=30d
+     * Disponibilité d'un service (fenêtres: 30d, 90d, 365d, 24h, 90m...)
+     * 
+     * Agrégats en mémoire depuis le démarrage: une fenêtre plus longue que
+     * l'observation est ramenée à observedSince (windowClamped = true).
+     */
+    @GetMapping("/{id}/uptime")
+    public ResponseEntity<?> getUptime(@PathVariable Long id,
+                                       @RequestParam(value = "window", required = false) String window) {
+        try {
+            return serviceService.getUptime(id, window)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * GET /api/services/sla?window=30d&target=99.9
+     * Disponibilité de tous les services, et ceux sous l'objectif
+     */
+    @GetMapping("/sla")
+    public ResponseEntity<?> getSlaReport(@RequestParam(value = "window", required = false) String window,
+                                          @RequestParam(value = "target", required = false) Double target) {
+        try {
+            return ResponseEntity.ok(serviceService.getSlaReport(window, target));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * GET /api/services/{id}/probe
+     * État de la sonde d'un service (dernier résultat, échecs consécutifs...)
+     * Réservé aux utilisateurs authentifiés; 404 si le service n'a pas de sonde.
+     */
+    @GetMapping("/{id}/probe")
+    public ResponseEntity<ProbeStatus> getProbeStatus(@PathVariable Long id) {
+        return probeEngine.status(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * GET /api/services/stream
+     * Flux Server-Sent Events: snapshot complet à la connexion, puis un message
+     * à chaque changement (remplace le polling toutes les 30 secondes)
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamServices() {
+        return eventBroadcaster.subscribe();
+    }
+
+    /**
+     * Page de résumés (requête SQL avec projection DTO), elle aussi conditionnelle.
+     * Un tri, un curseur ou une taille invalide → 400 Bad Request.
+     */
+    private ResponseEntity<?> page(WebRequest request,
+                                   ServiceStatus status,
+                                   String query,
+                                   String after,
+                                   Integer limit,
+                                   String sort) {
+        try {
+            ServiceSnapshot snapshot = serviceService.getSnapshot();
+            if (query != null && !serviceService.isSearchIndexCurrent(snapshot)) {
+                return ResponseEntity.ok(serviceService.getServiceSummaries(status, query, sort, after, limit));
+            }
+            return conditional(request, snapshot,
+                    () -> serviceService.getServiceSummaries(status, query, sort, after, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Réponse conditionnelle servie depuis le cache d'octets pré-encodés.
+     * 
+     * Le corps est calculé au plus une fois par version: le vérifier avant
+     * le 304 ne coûte qu'une lecture de champ. La variante gzip est une
+     * représentation différente: elle a son propre ETag (suffixe "-gzip")
+     * et la réponse porte "Vary: Accept-Encoding".
+     */
+    private ResponseEntity<byte[]> precomputed(WebRequest request,
+                                               Resource resource,
+                                               Function<ServiceSnapshot, Object> body) {
+        // Lecture sans verrou tant que la version n'a pas changé
+        EncodedBody encoded = responseCache.get(resource, serviceService.getSnapshot(), body);
+        boolean gzip = encoded.getGzip() != null
+                && EncodedBody.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String etag = "\"" + encoded.getVersion() + (gzip ? "-gzip" : "") + "\"";
+
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        return gzip
+                ? response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(encoded.getGzip())
+                : response.body(encoded.getIdentity());
+    }
+
+    /**
+     * Réponse conditionnelle basée sur la version du snapshot.
+     * 
+     * Le corps n'est calculé (et sérialisé) que si le client n'a pas déjà
+     * cette version: sinon → 304 Not Modified, sans corps.
+     * "no-cache" oblige le navigateur à revalider à chaque fois (pas de données périmées).
+     */
+    private <T> ResponseEntity<T> conditional(WebRequest request, ServiceSnapshot snapshot, Supplier<T> body) {
+        String etag = "\"" + snapshot.getVersion() + "\"";
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(body.get());
     }
 
     /*
@@ -163,8 +417,62 @@ public class ApplicationServiceController {
      */
     @PostMapping
     public ResponseEntity<ApplicationService> createService(@Valid @RequestBody ApplicationService service) {
-        ApplicationService created = serviceService.createService(service);
-        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        try {
+            ApplicationService created = serviceService.createService(service);
+            return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        } catch (IllegalArgumentException e) {
+            // Nom déjà utilisé ou sonde incohérente
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * POST /api/services/import
+     * Import en flux du catalogue (création ou mise à jour par nom)
+     * 
+     * Content-Type: application/x-ndjson (un objet JSON par ligne) ou text/csv (avec en-tête)
+     * Réponse: compteurs + erreurs par numéro de ligne
+     * Content-Type mal formé → 400, autre type (ex: application/json) → 415
+     * 
+     * HttpServletRequest.getInputStream() = le corps brut, lu au fil de l'eau
+     * (comme consommer "req" en tant que stream en Node.js)
+     */
+    @PostMapping("/import")
+    public ResponseEntity<ImportReport> importCatalog(HttpServletRequest request) throws IOException {
+        CatalogFormat format;
+        try {
+            format = CatalogFormat.fromContentType(request.getContentType())
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE,
+                            "Content-Type non supporté: " + request.getContentType()
+                                    + " (application/x-ndjson ou text/csv)"));
+        } catch (InvalidMediaTypeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Content-Type invalide: " + e.getMessage());
+        }
+        return ResponseEntity.ok(catalogImporter.importCatalog(request.getInputStream(), format));
+    }
+
+    /**
+     * GET /api/services/export?format=ndjson|csv
+     * Export en flux de tout le catalogue
+     * 
+     * StreamingResponseBody = la réponse est écrite morceau par morceau
+     * (comme stream.pipe(res) en Node.js), sans tout construire en mémoire
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCatalog(
+            @RequestParam(value = "format", required = false) String format) {
+        CatalogFormat catalogFormat;
+        try {
+            catalogFormat = CatalogFormat.fromParameter(format);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        StreamingResponseBody body = out -> catalogExporter.export(out, catalogFormat);
+        return ResponseEntity.ok()
+                .contentType(catalogFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"services." + catalogFormat.getFileExtension() + "\"")
+                .body(body);
     }
 
     /*
@@ -185,7 +493,10 @@ public class ApplicationServiceController {
             ApplicationService updated = serviceService.updateService(id, service);
             return ResponseEntity.ok(updated);
         } catch (IllegalArgumentException e) {
-            return ResponseEntity.notFound().build();
+            // Service inconnu → 404, sonde incohérente → 400
+            return serviceService.getServiceById(id).isPresent()
+                    ? ResponseEntity.badRequest().build()
+                    : ResponseEntity.notFound().build();
         }
     }
 
@@ -216,6 +527,23 @@ public class ApplicationServiceController {
         }
     }
 
+    /**
+     * PATCH /api/services/status
+     * Met à jour le statut de plusieurs services d'un coup (incident datacenter)
+     * 
+     * Body JSON attendu : [ { "id": 3, "status": "OUTAGE", "message": "..." }, ... ]
+     * Réponse: un résultat par élément (UPDATED, NOT_FOUND, INVALID)
+     */
+    @PatchMapping("/status")
+    public ResponseEntity<?> updateServiceStatuses(@RequestBody List<StatusUpdateItem> updates) {
+        try {
+            BulkStatusUpdateResponse response = serviceService.updateServiceStatuses(updates);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /*
      * ═══════════════════════════════════════════════════════════════════════════
      * 🗑️ DELETE - Suppression
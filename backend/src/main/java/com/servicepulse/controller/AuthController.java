@@ -4,15 +4,23 @@ import com.servicepulse.dto.LoginRequest;
 import com.servicepulse.dto.LoginResponse;
 import com.servicepulse.model.User;
 import com.servicepulse.repository.UserRepository;
+import com.servicepulse.security.AuthMode;
+import com.servicepulse.security.JwtAuthenticationFilter;
 import com.servicepulse.security.JwtService;
+import com.servicepulse.security.PasswordVerifier;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.RequiredTypeException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * 🎓 CONTROLLER AUTH - Gestion de l'authentification
@@ -26,25 +34,43 @@ import java.util.Map;
 public class AuthController {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordVerifier passwordVerifier;
     private final JwtService jwtService;
 
+    @Value("${application.security.auth-mode}")
+    private AuthMode authMode;
+
     /**
      * POST /api/auth/login
      * Authentifie un utilisateur et retourne un token JWT
+     * 
+     * Le hash BCrypt est calculé sur le pool de PasswordVerifier: le thread
+     * Tomcat est libéré pendant le calcul (réponse asynchrone, comme une Promise).
+     * Pool saturé → 429 immédiat.
      */
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest request) {
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody LoginRequest request) {
         
         // Chercher l'utilisateur
         User user = userRepository.findByUsername(request.getUsername())
                 .orElseThrow(() -> new RuntimeException("Invalid credentials"));
 
-        // Vérifier le mot de passe
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(Map.of("error", "Invalid credentials"));
+        // Vérifier le mot de passe (hors des threads Tomcat)
+        CompletableFuture<Boolean> verification;
+        try {
+            verification = passwordVerifier.matches(request.getPassword(), user.getPassword());
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("error", "Too many login attempts, retry later")));
         }
+        return verification.thenApply(matches -> matches
+                ? issueToken(user)
+                : ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(Map.of("error", "Invalid credentials")));
+    }
+
+    private ResponseEntity<?> issueToken(User user) {
 
         // Vérifier si l'utilisateur est actif
         if (!user.isEnabled()) {
@@ -52,13 +78,8 @@ public class AuthController {
                     .body(Map.of("error", "Account disabled"));
         }
 
-        // Créer les claims pour le token (rôles, etc.)
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("roles", user.getRoles());
-        claims.put("fullName", user.getFullName());
-
-        // Générer le token JWT
-        String token = jwtService.generateToken(user.getUsername(), claims);
+        // Générer le token JWT (claims: rôles, époque, nom complet)
+        String token = jwtService.generateToken(user);
 
         // Retourner la réponse
         LoginResponse response = LoginResponse.builder()
@@ -76,7 +97,25 @@ public class AuthController {
      * Retourne les infos de l'utilisateur connecté
      */
     @GetMapping("/me")
-    public ResponseEntity<?> getCurrentUser(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<?> getCurrentUser(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestAttribute(name = JwtAuthenticationFilter.CLAIMS_ATTRIBUTE, required = false) Claims claims) {
+
+        // Mode claims: tout est dans le token déjà vérifié par le filtre, pas de base
+        if (authMode == AuthMode.CLAIMS) {
+            String fullName = claims == null ? null : claim(claims, JwtService.CLAIM_FULL_NAME, String.class);
+            List<?> roles = claims == null ? null : claim(claims, JwtService.CLAIM_ROLES, List.class);
+            // Signé par nous mais sans les claims de login (autre émetteur, ancien format): pas un 500
+            if (claims == null || claims.getSubject() == null || fullName == null || roles == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(Map.of("error", "Invalid token"));
+            }
+            return ResponseEntity.ok(Map.of(
+                    "username", claims.getSubject(),
+                    "fullName", fullName,
+                    "roles", roles
+            ));
+        }
         
         String token = authHeader.substring(7);
         String username = jwtService.extractUsername(token);
@@ -90,4 +129,15 @@ public class AuthController {
                 "roles", user.getRoles()
         ));
     }
+
+    /**
+     * Claim du type attendu, ou null s'il est absent ou d'un autre type
+     */
+    private static <T> T claim(Claims claims, String name, Class<T> type) {
+        try {
+            return claims.get(name, type);
+        } catch (RequiredTypeException e) {
+            return null;
+        }
+    }
 }
@@ -0,0 +1,21 @@
+package com.servicepulse.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 🎓 DTO - Réponse de PATCH /api/services/status
+ * 
+ * Un résultat par élément, dans l'ordre de la requête, plus les totaux.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusUpdateResponse {
+    private int updated;
+    private int failed;
+    private List<StatusUpdateResult> results;
+}
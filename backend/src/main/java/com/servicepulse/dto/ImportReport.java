@@ -0,0 +1,34 @@
+package com.servicepulse.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 🎓 DTO - Compte rendu d'un import du catalogue
+ * 
+ * - processed: lignes de données lues (hors en-tête CSV et lignes vides)
+ * - created / updated: services créés / mis à jour (rapprochement par nom)
+ * - failed: lignes rejetées; "errors" en détaille les premières
+ *   (liste tronquée au-delà de 1000 pour rester de taille raisonnable)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReport {
+    private long processed;
+    private long created;
+    private long updated;
+    private long failed;
+    private List<LineError> errors;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LineError {
+        private long line;
+        private String error;
+    }
+}
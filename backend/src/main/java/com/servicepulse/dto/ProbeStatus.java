@@ -0,0 +1,28 @@
+package com.servicepulse.dto;
+
+import com.servicepulse.probe.ProbeResult;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 🎓 DTO - État de la sonde d'un service
+ * 
+ * - type:       "HTTP" ou "TCP"
+ * - target:     URL ou hôte:port vérifié
+ * - lastResult: dernière vérification (null tant qu'aucune n'a eu lieu)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProbeStatus {
+    private Long serviceId;
+    private String type;
+    private String target;
+    private long intervalMillis;
+    private int consecutiveFailures;
+    private int consecutiveSuccesses;
+    private ProbeResult lastResult;
+}
@@ -0,0 +1,30 @@
+package com.servicepulse.dto;
+
+import com.servicepulse.model.ApplicationService;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 🎓 DTO - Changements depuis une version
+ * 
+ * Réponse de GET /api/services/changes?since=N
+ * - version: à renvoyer comme "since" au prochain appel
+ * - resync:  true si "upserts" contient la liste COMPLÈTE (le client doit
+ *            remplacer sa copie locale au lieu d'appliquer un delta)
+ * - upserts: services créés ou modifiés
+ * - deletes: IDs des services supprimés ("tombstones")
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceChangesResponse {
+    private long version;
+    private boolean resync;
+    private List<ApplicationService> upserts;
+    private List<Long> deletes;
+}
@@ -0,0 +1,23 @@
+package com.servicepulse.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 🎓 DTO - Une page de résultats (pagination par curseur)
+ * 
+ * - items:      les éléments de la page
+ * - nextCursor: à passer en "after" pour obtenir la page suivante (null = fin)
+ * - limit:      taille de page utilisée
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServicePage<T> {
+    private List<T> items;
+    private String nextCursor;
+    private int limit;
+}
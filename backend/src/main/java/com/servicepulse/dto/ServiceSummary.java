@@ -0,0 +1,26 @@
+package com.servicepulse.dto;
+
+import com.servicepulse.model.ServiceStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 🎓 DTO - Résumé léger d'un service
+ * 
+ * Seulement les colonnes utiles à une liste (sans description ni message
+ * de maintenance). Rempli directement par la requête SQL:
+ *   SELECT new ServiceSummary(s.id, s.name, s.status, s.lastUpdated) ...
+ * → aucune entité JPA n'est chargée en mémoire.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceSummary {
+    private Long id;
+    private String name;
+    private ServiceStatus status;
+    private LocalDateTime lastUpdated;
+}
@@ -0,0 +1,39 @@
+package com.servicepulse.dto;
+
+import com.servicepulse.model.ServiceStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 🎓 DTO - Disponibilité d'un service sur une fenêtre de temps
+ * 
+ * - from:           début de la fenêtre, ramené à observedSince si la fenêtre commence avant
+ * - observedSince:  début du suivi (démarrage de l'application ou création du service):
+ *                   les agrégats sont en mémoire et repartent de zéro à chaque redémarrage
+ * - windowClamped:  true si la fenêtre demandée commence avant observedSince
+ *                   (ex: ?window=365d sur une instance démarrée hier)
+ * - observedMillis: durée pendant laquelle le service était suivi dans la fenêtre
+ * - millisByStatus: temps passé dans chaque statut (la somme = observedMillis)
+ * - availability:   % de disponibilité = 100 × (1 - OUTAGE / (observé - MAINTENANCE))
+ *                   (la maintenance planifiée ne compte pas contre le SLA)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceUptime {
+    private Long serviceId;
+    private String name;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private LocalDateTime observedSince;
+    private boolean windowClamped;
+    private long observedMillis;
+    private Map<ServiceStatus, Long> millisByStatus;
+    private double availability;
+}
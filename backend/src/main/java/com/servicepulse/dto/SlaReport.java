@@ -0,0 +1,34 @@
+package com.servicepulse.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 🎓 DTO - Rapport SLA de tous les services
+ * 
+ * - observedSince:     début de suivi le plus ancien (null si aucun service)
+ * - windowClamped:     true si la fenêtre d'au moins un service a été ramenée
+ *                      à son début de suivi (voir ServiceUptime)
+ * - fleetAvailability: moyenne des disponibilités des services
+ * - target / breaches: objectif demandé (?target=99.9) et services en dessous
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlaReport {
+    private String window;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private LocalDateTime observedSince;
+    private boolean windowClamped;
+    private double fleetAvailability;
+    private Double target;
+    private List<Long> breaches;
+    private List<ServiceUptime> services;
+}
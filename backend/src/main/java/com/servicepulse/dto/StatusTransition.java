@@ -0,0 +1,32 @@
+package com.servicepulse.dto;
+
+import com.servicepulse.model.ServiceStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 🎓 DTO - Un changement de statut dans l'historique
+ * 
+ * - at:       moment où le service est passé dans ce statut
+ * - removed:  true si le service a été supprimé à ce moment (status = null)
+ * - observed: true si le statut a seulement été constaté à "at" (démarrage,
+ *             rechargement complet): il était en vigueur AU PLUS TARD depuis "at"
+ * 
+ * Pour GET /api/services/history/at, "at" est le début du statut en vigueur.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusTransition {
+    private Long serviceId;
+    private ServiceStatus status;
+    private String maintenanceMessage;
+    private LocalDateTime at;
+    private boolean removed;
+    private boolean observed;
+}
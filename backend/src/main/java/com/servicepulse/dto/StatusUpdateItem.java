@@ -0,0 +1,21 @@
+package com.servicepulse.dto;
+
+import com.servicepulse.model.ServiceStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 🎓 DTO - Un élément d'une mise à jour de statut groupée
+ * 
+ * Body de PATCH /api/services/status:
+ *   [ { "id": 3, "status": "OUTAGE", "message": "Incident datacenter" }, ... ]
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusUpdateItem {
+    private Long id;
+    private ServiceStatus status;
+    private String message;
+}
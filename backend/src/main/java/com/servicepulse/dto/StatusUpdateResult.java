@@ -0,0 +1,31 @@
+package com.servicepulse.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 🎓 DTO - Résultat d'un élément d'une mise à jour groupée
+ * 
+ * - outcome: UPDATED, NOT_FOUND ou INVALID (statut absent, ID en double...)
+ * - error:   explication si l'élément n'a pas été appliqué
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusUpdateResult {
+
+    public enum Outcome { UPDATED, NOT_FOUND, INVALID }
+
+    private Long id;
+    private Outcome outcome;
+    private String error;
+
+    public static StatusUpdateResult updated(Long id) {
+        return new StatusUpdateResult(id, Outcome.UPDATED, null);
+    }
+
+    public static StatusUpdateResult failed(Long id, Outcome outcome, String error) {
+        return new StatusUpdateResult(id, outcome, error);
+    }
+}
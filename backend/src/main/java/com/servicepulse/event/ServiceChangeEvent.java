@@ -0,0 +1,58 @@
+package com.servicepulse.event;
+
+import com.servicepulse.model.ApplicationService;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * 🎓 ÉVÉNEMENT - Modification du catalogue de services
+ * 
+ * Publié par ApplicationServiceService pendant la transaction, puis traité
+ * APRÈS le commit par les composants qui maintiennent une vue en mémoire
+ * (snapshot, index, caches...).
+ * 
+ * Analogie JavaScript:
+ *   emitter.emit('services:changed', [{ type: 'UPSERT', service }]);
+ * 
+ * Un même événement peut transporter plusieurs changements (écritures groupées):
+ * les consommateurs les appliquent alors en une seule fois.
+ */
+@Value
+public class ServiceChangeEvent {
+
+    List<ServiceChange> changes;
+
+    public static ServiceChangeEvent upserted(ApplicationService service) {
+        return new ServiceChangeEvent(List.of(ServiceChange.upsert(service)));
+    }
+
+    public static ServiceChangeEvent deleted(Long serviceId) {
+        return new ServiceChangeEvent(List.of(ServiceChange.delete(serviceId)));
+    }
+
+    /**
+     * Un changement unitaire: création/mise à jour (UPSERT) ou suppression (DELETE).
+     * 
+     * Pour un UPSERT, "service" référence l'entité JPA gérée: elle ne doit être
+     * lue qu'après le commit (les callbacks @PreUpdate ont alors été exécutés).
+     */
+    @Value
+    public static class ServiceChange {
+
+        public enum Type { UPSERT, DELETE }
+
+        Type type;
+        Long serviceId;
+        ApplicationService service;
+
+        public static ServiceChange upsert(ApplicationService service) {
+            return new ServiceChange(Type.UPSERT, service.getId(), service);
+        }
+
+        public static ServiceChange delete(Long serviceId) {
+            return new ServiceChange(Type.DELETE, serviceId, null);
+        }
+    }
+
+}
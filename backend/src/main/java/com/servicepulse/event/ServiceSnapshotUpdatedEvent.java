@@ -0,0 +1,33 @@
+package com.servicepulse.event;
+
+import com.servicepulse.event.ServiceChangeEvent.ServiceChange;
+import com.servicepulse.service.ServiceSnapshot;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * 🎓 ÉVÉNEMENT - Nouveau snapshot publié
+ * 
+ * Publié par ServiceSnapshotStore juste après le remplacement du snapshot,
+ * dans l'ordre strict des versions. Les vues dérivées (flux SSE, index...)
+ * s'y abonnent plutôt qu'au ServiceChangeEvent brut: elles voient ainsi
+ * exactement les mêmes données que les lectures REST.
+ * 
+ * ⚠️ Les écouteurs sont appelés pendant que le store bloque les écritures:
+ *    ils doivent rester rapides (mise en file, mise à jour d'index en mémoire).
+ */
+@Value
+public class ServiceSnapshotUpdatedEvent {
+
+    ServiceSnapshot previous;
+    ServiceSnapshot current;
+
+    /** Changements appliqués, ou liste vide pour un rechargement complet */
+    List<ServiceChange> changes;
+
+    public boolean isFullReload() {
+        return changes.isEmpty();
+    }
+
+}
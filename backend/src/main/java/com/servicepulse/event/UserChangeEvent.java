@@ -0,0 +1,30 @@
+package com.servicepulse.event;
+
+import lombok.Value;
+
+/**
+ * 🎓 ÉVÉNEMENT - Modification ou suppression d'un utilisateur
+ * 
+ * Publié par l'entity listener de User pendant la transaction, traité APRÈS
+ * le commit par les caches qui gardent une copie de l'utilisateur
+ * (principals authentifiés par token).
+ * 
+ * Analogie JavaScript:
+ *   emitter.emit('user:changed', { userId });
+ */
+@Value
+public class UserChangeEvent {
+
+    Long userId;
+
+    /**
+     * Époque des tokens après la modification
+     */
+    long tokenEpoch;
+
+    /**
+     * false si l'utilisateur est désactivé ou supprimé
+     */
+    boolean active;
+
+}
@@ -0,0 +1,217 @@
+package com.servicepulse.history;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 🎓 PARTITION D'HISTORIQUE - Les transitions d'une journée
+ * 
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 ENCODAGE COMPACT (16 octets par transition)
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 
+ * Chaque transition = 2 long dans un seul tableau:
+ *   [ epoch millis ][ id service (32 bits) | n° message (24 bits) | statut (8 bits) ]
+ * 
+ * Le bit de poids fort du statut (OBSERVED) distingue un statut simplement
+ * CONSTATÉ (démarrage, rechargement complet) d'un changement daté.
+ * 
+ * Pas d'objet par transition: un million de transitions ≈ 16 Mo,
+ * contre ~80 Mo avec des objets Java (en-têtes, références, LocalDateTime...).
+ * 
+ * Analogie JavaScript: un BigInt64Array au lieu d'un tableau d'objets.
+ * 
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 POINT DE REPRISE ("checkpoint")
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 
+ * La partition retient le statut de chaque service à son ouverture.
+ * "Statut de tous les services à l'instant T" = checkpoint de la partition
+ * qui contient T + ses transitions jusqu'à T. On ne relit jamais plus d'une journée.
+ * 
+ * Un index par service (positions de ses transitions) permet de sortir la
+ * chronologie d'un service sans parcourir celles des autres.
+ * 
+ * Non thread-safe: protégée par le verrou de StatusHistory.
+ */
+final class HistoryPartition {
+
+    /** Code de statut réservé: le service a été supprimé */
+    static final int REMOVED = 0x7F;
+
+    /** Drapeau: état constaté à cet instant, son début réel est inconnu */
+    static final int OBSERVED = 0x80;
+
+    private final long start;
+    private final long end;
+
+    // Statut de chaque service à l'ouverture, trié par id
+    private final int[] checkpointIds;
+    private final long[] checkpointStates;
+    private final long[] checkpointSince;
+
+    private long[] entries = new long[2 * 64];
+    private int size;
+
+    // id service → positions de ses transitions (case 0 = nombre de positions)
+    private final Map<Integer, int[]> positionsByService = new HashMap<>();
+
+    /**
+     * @param checkpoint id → { état encodé, début de cet état } à l'ouverture
+     */
+    HistoryPartition(long start, long end, TreeMap<Integer, long[]> checkpoint) {
+        this.start = start;
+        this.end = end;
+        this.checkpointIds = new int[checkpoint.size()];
+        this.checkpointStates = new long[checkpoint.size()];
+        this.checkpointSince = new long[checkpoint.size()];
+        int i = 0;
+        for (Map.Entry<Integer, long[]> entry : checkpoint.entrySet()) {
+            checkpointIds[i] = entry.getKey();
+            checkpointStates[i] = entry.getValue()[0];
+            checkpointSince[i] = entry.getValue()[1];
+            i++;
+        }
+    }
+
+    static long pack(int serviceId, int messageRef, int code) {
+        return ((long) serviceId << 32) | ((long) messageRef << 8) | code;
+    }
+
+    static int serviceId(long state) {
+        return (int) (state >>> 32);
+    }
+
+    static int messageRef(long state) {
+        return (int) ((state >>> 8) & MessageTable.MAX_REF);
+    }
+
+    /**
+     * Ordinal du statut, ou REMOVED (sans le drapeau OBSERVED)
+     */
+    static int code(long state) {
+        return (int) (state & REMOVED);
+    }
+
+    static boolean isObserved(long state) {
+        return (state & OBSERVED) != 0;
+    }
+
+    /**
+     * État sans le drapeau OBSERVED: deux états égaux ainsi ne sont pas une transition
+     */
+    static long withoutFlags(long state) {
+        return state & ~OBSERVED;
+    }
+
+    /**
+     * Ajoute une transition (les instants arrivent dans l'ordre croissant)
+     */
+    void append(long millis, long state) {
+        if (2 * size + 2 > entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+        }
+        entries[2 * size] = millis;
+        entries[2 * size + 1] = state;
+
+        int[] positions = positionsByService.get(serviceId(state));
+        if (positions == null) {
+            positions = new int[4];
+        } else if (positions[0] + 1 >= positions.length) {
+            positions = Arrays.copyOf(positions, positions.length * 2);
+        }
+        positions[++positions[0]] = size;
+        positionsByService.put(serviceId(state), positions);
+        size++;
+    }
+
+    /**
+     * Transitions d'un service entre "from" et "to" (inclus), dans l'ordre
+     */
+    void forEachOf(int serviceId, long from, long to, TransitionVisitor visitor) {
+        int[] positions = positionsByService.get(serviceId);
+        if (positions == null) {
+            return;
+        }
+        for (int i = 1; i <= positions[0]; i++) {
+            long millis = entries[2 * positions[i]];
+            if (millis > to) {
+                return;
+            }
+            if (millis >= from) {
+                visitor.visit(millis, entries[2 * positions[i] + 1]);
+            }
+        }
+    }
+
+    /**
+     * État de tous les services à l'instant donné: id → { état encodé, début de cet état }
+     * (les services supprimés en sont retirés)
+     */
+    TreeMap<Integer, long[]> stateAt(long instant) {
+        TreeMap<Integer, long[]> states = new TreeMap<>();
+        for (int i = 0; i < checkpointIds.length; i++) {
+            states.put(checkpointIds[i], new long[]{checkpointStates[i], checkpointSince[i]});
+        }
+        int count = countUntil(instant);
+        for (int i = 0; i < count; i++) {
+            long state = entries[2 * i + 1];
+            if (code(state) == REMOVED) {
+                states.remove(serviceId(state));
+            } else {
+                states.put(serviceId(state), new long[]{state, entries[2 * i]});
+            }
+        }
+        return states;
+    }
+
+    /**
+     * Nombre de transitions dont l'instant est ≤ "instant" (recherche dichotomique)
+     */
+    private int countUntil(long instant) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (entries[2 * middle] <= instant) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Marque les numéros de message encore référencés (transitions et checkpoint)
+     */
+    void collectMessageRefs(BitSet used) {
+        for (long state : checkpointStates) {
+            used.set(messageRef(state));
+        }
+        for (int i = 0; i < size; i++) {
+            used.set(messageRef(entries[2 * i + 1]));
+        }
+    }
+
+    long getStart() {
+        return start;
+    }
+
+    long getEnd() {
+        return end;
+    }
+
+    int size() {
+        return size;
+    }
+
+    @FunctionalInterface
+    interface TransitionVisitor {
+        void visit(long millis, long state);
+    }
+
+}
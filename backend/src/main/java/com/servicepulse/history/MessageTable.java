@@ -0,0 +1,89 @@
+package com.servicepulse.history;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🎓 TABLE DES MESSAGES - Chaque texte distinct n'est stocké qu'une fois
+ * 
+ * Les transitions ne contiennent qu'un numéro de message (0 = pas de message).
+ * "Maintenance planifiée" répété 10 000 fois = 1 chaîne + 10 000 entiers.
+ * 
+ * Analogie JavaScript:
+ *   const messages = [null];   const refs = new Map();
+ *   const ref = refs.get(text) ?? (messages.push(text) - 1);
+ * 
+ * Les messages des sondes ("[Sonde] connexion refusée: ...") varient beaucoup:
+ * quand des partitions sortent de la rétention, les numéros qui ne sont plus
+ * référencés nulle part sont libérés (release) et réattribués par intern.
+ * La table ne grossit donc pas sans fin, et redevient utilisable si elle était pleine.
+ * 
+ * Non thread-safe: protégée par le verrou de StatusHistory.
+ */
+final class MessageTable {
+
+    /** Numéro maximal (24 bits dans l'encodage d'une transition) */
+    static final int MAX_REF = (1 << 24) - 1;
+
+    private final List<String> messages = new ArrayList<>(List.of(""));
+    private final Map<String, Integer> refs = new HashMap<>();
+    // Numéros libérés, réattribués avant d'agrandir la liste
+    private final Deque<Integer> free = new ArrayDeque<>();
+
+    /**
+     * @return le numéro du message (0 si absent ou si la table est pleine)
+     */
+    int intern(String message) {
+        if (message == null || message.isEmpty()) {
+            return 0;
+        }
+        Integer ref = refs.get(message);
+        if (ref != null) {
+            return ref;
+        }
+        if (!free.isEmpty()) {
+            ref = free.pop();
+            messages.set(ref, message);
+        } else if (messages.size() > MAX_REF) {
+            return 0;
+        } else {
+            ref = messages.size();
+            messages.add(message);
+        }
+        refs.put(message, ref);
+        return ref;
+    }
+
+    /**
+     * Libère tous les numéros absents de "used"
+     * 
+     * @return nombre de messages libérés
+     */
+    int release(BitSet used) {
+        int released = 0;
+        for (int ref = 1; ref < messages.size(); ref++) {
+            String message = messages.get(ref);
+            if (message != null && !used.get(ref)) {
+                refs.remove(message);
+                messages.set(ref, null);
+                free.push(ref);
+                released++;
+            }
+        }
+        return released;
+    }
+
+    int size() {
+        return refs.size();
+    }
+
+    String get(int ref) {
+        return ref == 0 ? null : messages.get(ref);
+    }
+
+}
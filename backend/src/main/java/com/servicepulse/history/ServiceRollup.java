@@ -0,0 +1,157 @@
+package com.servicepulse.history;
+
+import com.servicepulse.model.ServiceStatus;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * 🎓 AGRÉGATS D'UN SERVICE - Temps passé dans chaque statut, par tranche
+ * 
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 TRANCHES JOUR / HEURE / MINUTE SANS CHEVAUCHEMENT
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 
+ * Une période de panne de 10:42 (lundi) à 03:15 (mercredi) est rangée ainsi:
+ *   minutes 10:42 → 10:59   (tranches "minute")
+ *   heures  11:00 → 23:00   (tranches "heure", chacune entièrement en panne)
+ *   jour    mardi           (tranche "jour", entièrement en panne)
+ *   heures  00:00 → 02:00, minutes 03:00 → 03:14
+ * 
+ * Chaque instant n'est compté que dans UNE tranche, et une tranche heure/jour
+ * est toujours entièrement dans le même statut. Une fenêtre de 30 jours ne lit
+ * donc que ~30 tranches jour + quelques tranches aux bords: O(tranches).
+ * 
+ * Seul le temps NON opérationnel est stocké (le cas rare): le temps
+ * OPERATIONAL = temps observé - le reste. Un service toujours vert n'a aucune tranche.
+ * 
+ * Les tranches sont alignées sur l'heure UTC (jour = 24 h depuis l'époque Unix).
+ */
+final class ServiceRollup {
+
+    static final long MINUTE = 60_000L;
+    static final long HOUR = 60 * MINUTE;
+    static final long DAY = 24 * HOUR;
+
+    private static final int STATUSES = ServiceStatus.values().length;
+
+    // début de tranche → millisecondes par statut (index = ordinal)
+    private final TreeMap<Long, long[]> days = new TreeMap<>();
+    private final TreeMap<Long, long[]> hours = new TreeMap<>();
+    private final TreeMap<Long, long[]> minutes = new TreeMap<>();
+
+    /** Début du suivi (démarrage de l'application ou création du service) */
+    private final long observedFrom;
+
+    /** Statut en cours, pas encore rangé dans les tranches */
+    private ServiceStatus status;
+    private long since;
+
+    ServiceRollup(ServiceStatus status, long now) {
+        this.observedFrom = now;
+        this.status = status;
+        this.since = now;
+    }
+
+    /**
+     * Changement de statut: la période précédente est rangée dans les tranches
+     */
+    void transition(ServiceStatus next, long now) {
+        if (next == status) {
+            return;
+        }
+        add(status, since, now);
+        status = next;
+        since = now;
+    }
+
+    /**
+     * Range la période [start, end) passée dans un statut
+     */
+    void add(ServiceStatus state, long start, long end) {
+        if (state == ServiceStatus.OPERATIONAL) {
+            return;
+        }
+        long t = start;
+        while (t < end) {
+            if (t % DAY == 0 && t + DAY <= end) {
+                increment(days, t, state, DAY);
+                t += DAY;
+            } else if (t % HOUR == 0 && t + HOUR <= end) {
+                increment(hours, t, state, HOUR);
+                t += HOUR;
+            } else {
+                long minute = t - t % MINUTE;
+                long next = Math.min(minute + MINUTE, end);
+                increment(minutes, minute, state, next - t);
+                t = next;
+            }
+        }
+    }
+
+    /**
+     * Temps passé dans chaque statut sur [from, to), période en cours comprise
+     * 
+     * @return millisecondes par ordinal; la case OPERATIONAL contient le temps observé restant
+     */
+    long[] timeInState(long from, long to) {
+        long[] totals = new long[STATUSES];
+        long observedStart = Math.max(from, observedFrom);
+        if (observedStart >= to) {
+            return totals;
+        }
+        sum(days, DAY, observedStart, to, totals);
+        sum(hours, HOUR, observedStart, to, totals);
+        sum(minutes, MINUTE, observedStart, to, totals);
+
+        long openStart = Math.max(since, observedStart);
+        if (openStart < to) {
+            totals[status.ordinal()] += to - openStart;
+        }
+
+        long nonOperational = 0;
+        for (ServiceStatus state : ServiceStatus.values()) {
+            if (state != ServiceStatus.OPERATIONAL) {
+                nonOperational += totals[state.ordinal()];
+            }
+        }
+        totals[ServiceStatus.OPERATIONAL.ordinal()] = Math.max(0, (to - observedStart) - nonOperational);
+        return totals;
+    }
+
+    /**
+     * Supprime les tranches terminées avant "cutoff"
+     */
+    void pruneBefore(long cutoff) {
+        days.headMap(cutoff - DAY, true).clear();
+        hours.headMap(cutoff - HOUR, true).clear();
+        minutes.headMap(cutoff - MINUTE, true).clear();
+    }
+
+    long getObservedFrom() {
+        return observedFrom;
+    }
+
+    private static void increment(TreeMap<Long, long[]> level, long bucket, ServiceStatus state, long millis) {
+        level.computeIfAbsent(bucket, key -> new long[STATUSES])[state.ordinal()] += millis;
+    }
+
+    /**
+     * Ajoute les tranches qui chevauchent [from, to). Au bord de la fenêtre,
+     * une tranche n'est comptée qu'au prorata (exact pour heure/jour, qui sont
+     * pleines; au plus une minute d'écart pour les tranches minute).
+     */
+    private static void sum(TreeMap<Long, long[]> level, long unit, long from, long to, long[] totals) {
+        NavigableMap<Long, long[]> overlapping = level.subMap(from - unit, false, to, false);
+        for (Map.Entry<Long, long[]> entry : overlapping.entrySet()) {
+            long start = entry.getKey();
+            long overlap = Math.min(start + unit, to) - Math.max(start, from);
+            long[] values = entry.getValue();
+            for (int i = 0; i < values.length; i++) {
+                totals[i] += overlap == unit ? values[i] : values[i] * overlap / unit;
+            }
+        }
+    }
+
+}
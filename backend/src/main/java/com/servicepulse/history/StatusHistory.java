@@ -0,0 +1,268 @@
+package com.servicepulse.history;
+
+import com.servicepulse.dto.StatusTransition;
+import com.servicepulse.event.ServiceChangeEvent.ServiceChange;
+import com.servicepulse.event.ServiceSnapshotUpdatedEvent;
+import com.servicepulse.model.ApplicationService;
+import com.servicepulse.model.ServiceStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 🎓 HISTORIQUE DES STATUTS - Journal en ajout seul, découpé par jour
+ * 
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 POURQUOI ?
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 
+ * updateServiceStatus écrase le statut: sans historique, impossible de dire
+ * quand "Service de Cache" est passé en OUTAGE puis revenu. Ici chaque
+ * changement de statut (ou de message) est AJOUTÉ, jamais modifié.
+ * 
+ * Analogie JavaScript:
+ *   history.push({ serviceId, status, message, at: Date.now() });
+ * ... mais rangé par jour et encodé en nombres (voir HistoryPartition).
+ * 
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 REQUÊTES SANS TOUT RELIRE
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 
+ * - Chronologie d'un service: seulement les partitions de la période, et dans
+ *   chacune seulement les positions de ce service.
+ * - Statut de tous les services à l'instant T: checkpoint de la partition
+ *   de T + les transitions de ce jour jusqu'à T.
+ * 
+ * L'historique suit ServiceSnapshotUpdatedEvent (même source que les lectures
+ * REST); les partitions plus anciennes que la rétention sont supprimées.
+ * 
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 CONSTATÉ OU CHANGÉ ?
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 
+ * ⚠️ L'historique vit en mémoire: il n'est PAS persisté, même avec une base
+ * durable (profil prod), et repart de zéro à chaque démarrage.
+ * 
+ * Un rechargement complet (démarrage, écart détecté par la réconciliation) ne
+ * dit pas QUAND un statut a commencé, seulement qu'il est en vigueur. Il
+ * n'enregistre donc que les services dont l'état diffère du dernier connu, et
+ * marque ces entrées "observed": le service est dans ce statut AU PLUS TARD
+ * depuis "at". Seules les écritures de l'application produisent des
+ * changements datés.
+ */
+@Slf4j
+@Component
+public class StatusHistory {
+
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final Duration retention;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<Long, HistoryPartition> partitions = new TreeMap<>();
+    private final MessageTable messages = new MessageTable();
+
+    // Dernier état connu de chaque service existant: id → { état encodé, début }
+    private final TreeMap<Integer, long[]> latest = new TreeMap<>();
+    private long lastMillis;
+
+    public StatusHistory(@Value("${application.history.retention-days}") int retentionDays) {
+        this.retention = Duration.ofDays(retentionDays);
+    }
+
+    /**
+     * Appelé sous le verrou du ServiceSnapshotStore: un seul écrivain à la fois
+     */
+    @EventListener
+    public void onSnapshotUpdated(ServiceSnapshotUpdatedEvent event) {
+        lock.writeLock().lock();
+        try {
+            long now = Math.max(System.currentTimeMillis(), lastMillis);
+            if (event.isFullReload()) {
+                Set<Integer> present = new HashSet<>();
+                for (ApplicationService service : event.getCurrent().getServices()) {
+                    present.add(Math.toIntExact(service.getId()));
+                    record(now, Math.toIntExact(service.getId()), service, true);
+                }
+                for (Integer id : new ArrayList<>(latest.keySet())) {
+                    if (!present.contains(id)) {
+                        record(now, id, null, true);
+                    }
+                }
+            } else {
+                Set<Long> changedIds = new LinkedHashSet<>();
+                for (ServiceChange change : event.getChanges()) {
+                    changedIds.add(change.getServiceId());
+                }
+                for (Long id : changedIds) {
+                    record(now, Math.toIntExact(id), event.getCurrent().findById(id).orElse(null), false);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Transitions d'un service, de la plus ancienne à la plus récente
+     * 
+     * @param from début de période (null = début de l'historique)
+     * @param to   fin de période (null = maintenant)
+     */
+    public List<StatusTransition> timeline(Long serviceId, LocalDateTime from, LocalDateTime to) {
+        long fromMillis = from == null ? Long.MIN_VALUE : toMillis(from);
+        long toMillis = to == null ? Long.MAX_VALUE : toMillis(to);
+        if (fromMillis > toMillis) {
+            throw new IllegalArgumentException("from doit précéder to");
+        }
+        int id = Math.toIntExact(serviceId);
+        List<StatusTransition> transitions = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            Long first = partitions.floorKey(fromMillis);
+            NavigableMap<Long, HistoryPartition> range = partitions.subMap(
+                    first == null ? Long.MIN_VALUE : first, true, toMillis, true);
+            for (HistoryPartition partition : range.values()) {
+                partition.forEachOf(id, fromMillis, toMillis,
+                        (millis, state) -> transitions.add(toTransition(millis, state)));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return transitions;
+    }
+
+    /**
+     * Statut de chaque service à un instant donné ("at" = début de ce statut).
+     * Liste vide si l'instant précède l'historique conservé.
+     */
+    public List<StatusTransition> statusAt(LocalDateTime instant) {
+        long millis = toMillis(instant);
+        lock.readLock().lock();
+        try {
+            Map.Entry<Long, HistoryPartition> partition = partitions.floorEntry(millis);
+            if (partition == null) {
+                return List.of();
+            }
+            List<StatusTransition> statuses = new ArrayList<>();
+            for (long[] state : partition.getValue().stateAt(millis).values()) {
+                statuses.add(toTransition(state[1], state[0]));
+            }
+            return statuses;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Supprime les partitions entièrement sorties de la période de rétention
+     */
+    @Scheduled(fixedDelayString = "${application.history.prune-interval}")
+    public void prune() {
+        long cutoff = System.currentTimeMillis() - retention.toMillis();
+        lock.writeLock().lock();
+        try {
+            boolean dropped = false;
+            Iterator<HistoryPartition> iterator = partitions.values().iterator();
+            while (iterator.hasNext()) {
+                HistoryPartition partition = iterator.next();
+                // La dernière partition porte l'état courant: on la garde toujours
+                if (partition.getEnd() > cutoff || partition == partitions.lastEntry().getValue()) {
+                    break;
+                }
+                iterator.remove();
+                dropped = true;
+                log.info("Partition d'historique du {} supprimée ({} transitions)",
+                        Instant.ofEpochMilli(partition.getStart()).atZone(zone).toLocalDate(), partition.size());
+            }
+            if (dropped) {
+                releaseMessages();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ajoute une transition si le statut ou le message a changé
+     * 
+     * @param service  null si le service a été supprimé
+     * @param observed true si l'état vient d'un rechargement complet (début réel inconnu)
+     */
+    private void record(long now, int id, ApplicationService service, boolean observed) {
+        long[] previous = latest.get(id);
+        if (service == null && previous == null) {
+            return;
+        }
+        long state = service == null
+                ? HistoryPartition.pack(id, 0, HistoryPartition.REMOVED)
+                : HistoryPartition.pack(id, messages.intern(service.getMaintenanceMessage()), service.getStatus().ordinal());
+        if (previous != null && HistoryPartition.withoutFlags(previous[0]) == state) {
+            return;
+        }
+        if (observed) {
+            state |= HistoryPartition.OBSERVED;
+        }
+
+        partitionFor(now).append(now, state);
+        lastMillis = now;
+        if (service == null) {
+            latest.remove(id);
+        } else {
+            latest.put(id, new long[]{state, now});
+        }
+    }
+
+    /**
+     * Libère les messages que plus aucune partition ni aucun état courant ne référence
+     */
+    private void releaseMessages() {
+        BitSet used = new BitSet();
+        partitions.values().forEach(partition -> partition.collectMessageRefs(used));
+        latest.values().forEach(state -> used.set(HistoryPartition.messageRef(state[0])));
+        int released = messages.release(used);
+        if (released > 0) {
+            log.info("{} messages d'historique libérés ({} conservés)", released, messages.size());
+        }
+    }
+
+    /**
+     * Partition du jour; la créer fige l'état courant comme checkpoint
+     */
+    private HistoryPartition partitionFor(long millis) {
+        Map.Entry<Long, HistoryPartition> last = partitions.lastEntry();
+        if (last != null && millis < last.getValue().getEnd()) {
+            return last.getValue();
+        }
+        LocalDate day = Instant.ofEpochMilli(millis).atZone(zone).toLocalDate();
+        long start = day.atStartOfDay(zone).toInstant().toEpochMilli();
+        long end = day.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        HistoryPartition partition = new HistoryPartition(start, end, latest);
+        partitions.put(start, partition);
+        return partition;
+    }
+
+    private StatusTransition toTransition(long millis, long state) {
+        int code = HistoryPartition.code(state);
+        boolean removed = code == HistoryPartition.REMOVED;
+        return StatusTransition.builder()
+                .serviceId((long) HistoryPartition.serviceId(state))
+                .status(removed ? null : ServiceStatus.values()[code])
+                .maintenanceMessage(messages.get(HistoryPartition.messageRef(state)))
+                .at(LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), zone))
+                .removed(removed)
+                .observed(HistoryPartition.isObserved(state))
+                .build();
+    }
+
+    private long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(zone).toInstant().toEpochMilli();
+    }
+
+}
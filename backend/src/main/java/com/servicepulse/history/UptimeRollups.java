@@ -0,0 +1,245 @@
+package com.servicepulse.history;
+
+import com.servicepulse.dto.ServiceUptime;
+import com.servicepulse.dto.SlaReport;
+import com.servicepulse.event.ServiceChangeEvent.ServiceChange;
+import com.servicepulse.event.ServiceSnapshotUpdatedEvent;
+import com.servicepulse.model.ApplicationService;
+import com.servicepulse.model.ServiceStatus;
+import com.servicepulse.service.ServiceSnapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 🎓 AGRÉGATS DE DISPONIBILITÉ (SLA) - Pré-calculés, mis à jour à chaque changement
+ * 
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 POURQUOI PRÉ-AGRÉGER ?
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 
+ * Calculer "disponibilité sur 365 jours" en relisant toutes les transitions
+ * coûterait de plus en plus cher. Ici chaque changement de statut range la
+ * période qui se termine dans des tranches jour/heure/minute (ServiceRollup);
+ * une requête additionne quelques dizaines de tranches.
+ * 
+ * Analogie JavaScript:
+ *   // au lieu de transitions.filter(inWindow).reduce(...) à chaque requête
+ *   rollups[id].days[dayStart][status] += duration;   // à chaque changement
+ * 
+ * Alimenté par ServiceSnapshotUpdatedEvent, donc par les écritures validées
+ * d'ApplicationServiceService.
+ * 
+ * ⚠️ Les agrégats vivent en mémoire (non persistés): ils commencent au
+ * démarrage de l'application (ou à la création du service) et repartent de
+ * zéro à chaque redémarrage. Une fenêtre qui commence avant est ramenée au
+ * début de l'observation, et la réponse le dit (observedSince, windowClamped).
+ */
+@Component
+public class UptimeRollups {
+
+    private static final Pattern WINDOW = Pattern.compile("(\\d+)([dhm])");
+
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final Duration maxWindow;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, ServiceRollup> rollups = new HashMap<>();
+
+    public UptimeRollups(@Value("${application.uptime.max-window-days}") int maxWindowDays) {
+        this.maxWindow = Duration.ofDays(maxWindowDays);
+    }
+
+    /**
+     * Appelé sous le verrou du ServiceSnapshotStore: un seul écrivain à la fois
+     */
+    @EventListener
+    public void onSnapshotUpdated(ServiceSnapshotUpdatedEvent event) {
+        apply(event, System.currentTimeMillis());
+    }
+
+    /**
+     * Applique un nouveau snapshot à l'instant "now" (horloge fournie par les tests)
+     */
+    void apply(ServiceSnapshotUpdatedEvent event, long now) {
+        lock.writeLock().lock();
+        try {
+            if (event.isFullReload()) {
+                Set<Long> present = new HashSet<>();
+                for (ApplicationService service : event.getCurrent().getServices()) {
+                    present.add(service.getId());
+                    record(service.getId(), service, now);
+                }
+                rollups.keySet().retainAll(present);
+            } else {
+                for (ServiceChange change : event.getChanges()) {
+                    record(change.getServiceId(), event.getCurrent().findById(change.getServiceId()).orElse(null), now);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Disponibilité d'un service sur une fenêtre se terminant maintenant
+     * 
+     * @param window "30d", "24h", "90m"... (null = 30 jours)
+     * @throws IllegalArgumentException si la fenêtre est invalide
+     */
+    public Optional<ServiceUptime> uptime(ApplicationService service, String window) {
+        return uptime(service, window, System.currentTimeMillis());
+    }
+
+    Optional<ServiceUptime> uptime(ApplicationService service, String window, long to) {
+        long from = to - parseWindow(window).toMillis();
+        lock.readLock().lock();
+        try {
+            ServiceRollup rollup = rollups.get(service.getId());
+            return rollup == null ? Optional.empty() : Optional.of(toUptime(service, rollup, from, to));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Disponibilité de tous les services du snapshot
+     * 
+     * @param target objectif en % (null = pas de liste de services en dessous)
+     */
+    public SlaReport sla(ServiceSnapshot snapshot, String window, Double target) {
+        return sla(snapshot, window, target, System.currentTimeMillis());
+    }
+
+    SlaReport sla(ServiceSnapshot snapshot, String window, Double target, long to) {
+        Duration duration = parseWindow(window);
+        if (target != null && (target < 0 || target > 100)) {
+            throw new IllegalArgumentException("target doit être compris entre 0 et 100");
+        }
+        long from = to - duration.toMillis();
+
+        List<ServiceUptime> services = new ArrayList<>(snapshot.size());
+        lock.readLock().lock();
+        try {
+            for (ApplicationService service : snapshot.getServices()) {
+                ServiceRollup rollup = rollups.get(service.getId());
+                if (rollup != null) {
+                    services.add(toUptime(service, rollup, from, to));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        double fleet = services.stream().mapToDouble(ServiceUptime::getAvailability).average().orElse(100.0);
+        List<Long> breaches = target == null ? null : services.stream()
+                .filter(uptime -> uptime.getAvailability() < target)
+                .map(ServiceUptime::getServiceId)
+                .toList();
+        LocalDateTime observedSince = services.stream()
+                .map(ServiceUptime::getObservedSince)
+                .min(Comparator.naturalOrder())
+                .orElse(null);
+        return SlaReport.builder()
+                .window(window == null ? "30d" : window)
+                .from(toDateTime(from))
+                .to(toDateTime(to))
+                .observedSince(observedSince)
+                .windowClamped(services.stream().anyMatch(ServiceUptime::isWindowClamped))
+                .fleetAvailability(fleet)
+                .target(target)
+                .breaches(breaches)
+                .services(services)
+                .build();
+    }
+
+    /**
+     * Supprime les tranches plus anciennes que la plus grande fenêtre autorisée
+     */
+    @Scheduled(fixedDelayString = "${application.uptime.prune-interval}")
+    public void prune() {
+        long cutoff = System.currentTimeMillis() - maxWindow.toMillis();
+        lock.writeLock().lock();
+        try {
+            rollups.values().forEach(rollup -> rollup.pruneBefore(cutoff));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * "30d" → 30 jours, "24h" → 24 heures, "90m" → 90 minutes
+     */
+    Duration parseWindow(String window) {
+        if (window == null || window.isBlank()) {
+            return Duration.ofDays(30);
+        }
+        Matcher matcher = WINDOW.matcher(window.trim());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Fenêtre invalide (ex: 30d, 24h, 90m): " + window);
+        }
+        long amount = Long.parseLong(matcher.group(1));
+        Duration duration = switch (matcher.group(2)) {
+            case "d" -> Duration.ofDays(amount);
+            case "h" -> Duration.ofHours(amount);
+            default -> Duration.ofMinutes(amount);
+        };
+        if (duration.isZero() || duration.compareTo(maxWindow) > 0) {
+            throw new IllegalArgumentException("La fenêtre doit être comprise entre 1m et " + maxWindow.toDays() + "d");
+        }
+        return duration;
+    }
+
+    private void record(Long id, ApplicationService service, long now) {
+        if (service == null) {
+            rollups.remove(id);
+            return;
+        }
+        ServiceRollup rollup = rollups.get(id);
+        if (rollup == null) {
+            rollups.put(id, new ServiceRollup(service.getStatus(), now));
+        } else {
+            rollup.transition(service.getStatus(), now);
+        }
+    }
+
+    private ServiceUptime toUptime(ApplicationService service, ServiceRollup rollup, long from, long to) {
+        long[] totals = rollup.timeInState(from, to);
+        Map<ServiceStatus, Long> byStatus = new EnumMap<>(ServiceStatus.class);
+        long observed = 0;
+        for (ServiceStatus status : ServiceStatus.values()) {
+            byStatus.put(status, totals[status.ordinal()]);
+            observed += totals[status.ordinal()];
+        }
+        long accountable = observed - totals[ServiceStatus.MAINTENANCE.ordinal()];
+        double availability = accountable <= 0
+                ? 100.0
+                : 100.0 * (accountable - totals[ServiceStatus.OUTAGE.ordinal()]) / accountable;
+        return ServiceUptime.builder()
+                .serviceId(service.getId())
+                .name(service.getName())
+                .from(toDateTime(Math.max(from, rollup.getObservedFrom())))
+                .to(toDateTime(to))
+                .observedSince(toDateTime(rollup.getObservedFrom()))
+                .windowClamped(rollup.getObservedFrom() > from)
+                .observedMillis(observed)
+                .millisByStatus(byStatus)
+                .availability(availability)
+                .build();
+    }
+
+    private LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), zone);
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.servicepulse.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+/**
+ * 🎓 CONFIGURATION DES MÉTRIQUES APPLICATIVES
+ * 
+ * Les endpoints REST sont déjà chronométrés par Spring Boot (http.server.requests,
+ * tags uri/method/status). On y ajoute les méthodes des beans @TimedComponent.
+ * 
+ * L'Advisor passe AVANT @Transactional (ordre le plus prioritaire): la durée
+ * mesurée inclut le commit et les écouteurs AFTER_COMMIT (snapshot, index...).
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * static: l'Advisor est créé très tôt (avant les autres beans à intercepter);
+     * le MeterRegistry n'est résolu qu'au premier appel chronométré.
+     * ROLE_INFRASTRUCTURE: bean d'infrastructure AOP, comme les Advisors de Spring
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor timedComponentAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                new AnnotationMatchingPointcut(TimedComponent.class, true),
+                new MethodTimingInterceptor(meterRegistry));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+}
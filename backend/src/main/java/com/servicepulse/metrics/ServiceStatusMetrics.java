@@ -0,0 +1,35 @@
+package com.servicepulse.metrics;
+
+import com.servicepulse.model.ServiceStatus;
+import com.servicepulse.service.ServiceSnapshotStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * 🎓 JAUGES - Nombre de services par statut
+ * 
+ * Lues dans le snapshot en mémoire (compteurs déjà calculés): une lecture
+ * Prometheus ne coûte aucune requête SQL.
+ * 
+ * Prometheus: servicepulse_services{status="OUTAGE"} 3
+ * 
+ * @Lazy(false): personne n'injecte ce bean, les jauges sont enregistrées par
+ * son constructeur (voir LazyInitializationConfig)
+ */
+@Component
+@Lazy(false)
+public class ServiceStatusMetrics {
+
+    public ServiceStatusMetrics(ServiceSnapshotStore snapshotStore, MeterRegistry meterRegistry) {
+        for (ServiceStatus status : ServiceStatus.values()) {
+            Gauge.builder("servicepulse.services", snapshotStore,
+                            store -> store.current().getStatusCounts().get(status))
+                    .description("Services par statut")
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+        }
+    }
+
+}
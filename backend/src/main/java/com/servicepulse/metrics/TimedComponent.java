@@ -0,0 +1,29 @@
+package com.servicepulse.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 🎓 ANNOTATION - Chronométrer TOUTES les méthodes publiques d'un bean
+ * 
+ * Analogie JavaScript (décorateur de classe):
+ *   @timed('servicepulse.service')
+ *   class ApplicationServiceService { ... }
+ * 
+ * Chaque méthode produit un Timer "value" avec les tags method=... et
+ * outcome=success|error (voir MethodTimingInterceptor).
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface TimedComponent {
+
+    /**
+     * Nom de la métrique (Prometheus: points remplacés par "_", suffixe _seconds)
+     */
+    String value();
+
+}
@@ -1,12 +1,15 @@
 package com.servicepulse.model;
 
 import jakarta.persistence.*;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
@@ -48,7 +51,16 @@ import java.time.LocalDateTime;
  */
 
 @Entity  // 📌 Dit à JPA: "Cette classe représente une table en base de données"
-@Table(name = "application_services")  // 📌 Nom de la table SQL
+@Table(name = "application_services", indexes = {  // 📌 Nom de la table SQL
+        // Index composites pour la pagination par curseur (filtre statut + ordre de tri + id)
+        // Le tri par nom seul utilise déjà l'index de la contrainte unique sur "name"
+        @Index(name = "idx_services_status_id", columnList = "status, id"),
+        @Index(name = "idx_services_status_name", columnList = "status, name"),
+        @Index(name = "idx_services_last_updated_id", columnList = "last_updated, id"),
+        @Index(name = "idx_services_status_last_updated_id", columnList = "status, last_updated, id")
+})
+@Cacheable  // 📌 Cache de second niveau: relu sans SQL tant qu'il n'est pas modifié (voir hibernate-cache.conf)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ApplicationService.CACHE_REGION)
 
 /*
  * ═══════════════════════════════════════════════════════════════════════════════
@@ -69,6 +81,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class ApplicationService {
 
+    public static final String CACHE_REGION = "servicepulse-services";
+
     /*
      * ═══════════════════════════════════════════════════════════════════════════
      * 🔑 CLÉ PRIMAIRE
@@ -131,6 +145,21 @@ public class ApplicationService {
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
+    /*
+     * ═══════════════════════════════════════════════════════════════════════════
+     * 🩺 SONDE DE SANTÉ (optionnelle)
+     * ═══════════════════════════════════════════════════════════════════════════
+     * 
+     * @Embedded = Les champs de ProbeDefinition sont des colonnes de CETTE table
+     *             (probe_http_url, probe_tcp_host...), pas une table séparée.
+     *             Comme un sous-document Mongoose: { probe: { httpUrl, interval } }
+     * 
+     * null = pas de sonde, le statut ne change que manuellement.
+     */
+    @Embedded
+    @Valid
+    private ProbeDefinition probe;
+
     /*
      * ═══════════════════════════════════════════════════════════════════════════
      * 🔄 CALLBACKS JPA - Exécutés automatiquement
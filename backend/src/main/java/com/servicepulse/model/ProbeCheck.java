@@ -0,0 +1,49 @@
+package com.servicepulse.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 🎓 ENTITÉ JPA - Résultat d'une vérification de sonde
+ * 
+ * L'entité sert à décrire la table (créée par Hibernate comme les autres).
+ * Les lignes, elles, sont insérées par lots en JDBC par ProbeResultWriter:
+ * à ~1 000 vérifications par seconde, un repository.save() par ligne
+ * (une transaction + le suivi des modifications JPA chacun) ne tiendrait pas.
+ */
+@Entity
+@Table(name = "probe_results", indexes = {
+        @Index(name = "idx_probe_results_service_checked", columnList = "service_id, checked_at"),
+        @Index(name = "idx_probe_results_checked", columnList = "checked_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProbeCheck {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "service_id", nullable = false)
+    private Long serviceId;
+
+    @Column(name = "checked_at", nullable = false)
+    private LocalDateTime checkedAt;
+
+    @Column(nullable = false)
+    private boolean success;
+
+    @Column(name = "latency_ms", nullable = false)
+    private long latencyMillis;
+
+    @Column(length = 255)
+    private String detail;
+
+}
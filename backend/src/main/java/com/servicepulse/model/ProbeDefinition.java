@@ -0,0 +1,72 @@
+package com.servicepulse.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 🎓 EMBEDDABLE JPA - Définition de la sonde d'un service
+ * 
+ * Deux types de sonde (un seul à la fois):
+ * - HTTP: GET sur httpUrl, succès si le code de réponse est < 400
+ * - TCP:  ouverture d'une connexion sur tcpHost:tcpPort
+ * 
+ * Exemple JSON:
+ *   "probe": { "httpUrl": "https://api.example.com/health", "intervalSeconds": 10 }
+ * 
+ * Les champs laissés vides prennent les valeurs par défaut ci-dessous.
+ * Les seuils évitent de basculer sur un seul échec ponctuel: il faut
+ * "failureThreshold" échecs d'affilée pour passer en OUTAGE, et
+ * "successThreshold" succès d'affilée pour revenir en OPERATIONAL.
+ */
+@Embeddable
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProbeDefinition {
+
+    public static final int DEFAULT_INTERVAL_SECONDS = 10;
+    public static final int DEFAULT_TIMEOUT_MILLIS = 2000;
+    public static final int DEFAULT_FAILURE_THRESHOLD = 3;
+    public static final int DEFAULT_SUCCESS_THRESHOLD = 2;
+
+    @Column(name = "probe_http_url", length = 500)
+    @Size(max = 500)
+    private String httpUrl;
+
+    @Column(name = "probe_tcp_host")
+    private String tcpHost;
+
+    @Column(name = "probe_tcp_port")
+    @Min(1)
+    @Max(65535)
+    private Integer tcpPort;
+
+    @Column(name = "probe_interval_seconds")
+    @Min(1)
+    @Max(3600)
+    private Integer intervalSeconds;
+
+    @Column(name = "probe_timeout_millis")
+    @Min(100)
+    @Max(60000)
+    private Integer timeoutMillis;
+
+    @Column(name = "probe_failure_threshold")
+    @Min(1)
+    @Max(100)
+    private Integer failureThreshold;
+
+    @Column(name = "probe_success_threshold")
+    @Min(1)
+    @Max(100)
+    private Integer successThreshold;
+
+}
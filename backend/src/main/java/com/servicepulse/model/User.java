@@ -1,10 +1,13 @@
 package com.servicepulse.model;
 
+import com.servicepulse.security.UserChangeListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.Set;
 
@@ -14,18 +17,24 @@ import java.util.Set;
  * Représente un utilisateur avec ses credentials et rôles
  */
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints =  // 📌 Index unique: recherche par username à chaque connexion
+        @UniqueConstraint(name = "uk_users_username", columnNames = "username"))
+@EntityListeners(UserChangeListener.class)  // 📌 Invalide les tokens en cache après modification
+@Cacheable                                   // 📌 Cache de second niveau (voir hibernate-cache.conf)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class User {
 
+    public static final String CACHE_REGION = "servicepulse-users";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String username;
 
     @Column(nullable = false)
@@ -35,11 +44,36 @@ public class User {
     private String fullName;
 
     @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"))
+    @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"),
+            indexes = @Index(name = "idx_user_roles_user_id", columnList = "user_id"))
     @Column(name = "role")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "servicepulse-user-roles")
     private Set<String> roles;
 
     @Column(nullable = false)
     private boolean enabled = true;
 
+    /*
+     * Époque des tokens: copiée dans chaque JWT à la connexion ("epoch").
+     * Incrémentée à chaque modification (désactivation, rôles, mot de passe...):
+     * les tokens émis avant deviennent invalides en mode auth-mode=claims.
+     */
+    @Column(name = "token_epoch", nullable = false)
+    private long tokenEpoch;
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.tokenEpoch++;
+    }
+
+    /**
+     * Remplace les rôles ET avance l'époque: la table user_roles change seule,
+     * la ligne users ne serait pas "dirty" (ni @PreUpdate ni UserChangeEvent)
+     * et les tokens portant les anciens rôles resteraient valides.
+     */
+    public void setRoles(Set<String> roles) {
+        this.roles = roles;
+        this.tokenEpoch++;
+    }
+
 }
@@ -0,0 +1,298 @@
+package com.servicepulse.probe;
+
+import com.servicepulse.dto.BulkStatusUpdateResponse;
+import com.servicepulse.dto.ProbeStatus;
+import com.servicepulse.dto.StatusUpdateItem;
+import com.servicepulse.dto.StatusUpdateResult;
+import com.servicepulse.dto.StatusUpdateResult.Outcome;
+import com.servicepulse.event.ServiceChangeEvent.ServiceChange;
+import com.servicepulse.event.ServiceSnapshotUpdatedEvent;
+import com.servicepulse.model.ApplicationService;
+import com.servicepulse.model.ServiceStatus;
+import com.servicepulse.service.ApplicationServiceService;
+import com.servicepulse.service.ServiceSnapshot;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 🎓 MOTEUR DE SONDES - Vérifie les services et met leur statut à jour tout seul
+ * 
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 FONCTIONNEMENT
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 
+ * Analogie JavaScript:
+ *   for (const s of services.filter(s => s.probe)) {
+ *       setTimeout(function tick() {
+ *           check(s.probe).then(result => { apply(result); setTimeout(tick, jittered(interval)); });
+ *       }, Math.random() * interval);
+ *   }
+ * 
+ * - Premier passage à un instant aléatoire de l'intervalle, puis intervalle
+ *   ± "jitter" %: 10 000 cibles à 10 s = ~1 000 vérifications réparties sur
+ *   chaque seconde, pas 10 000 d'un coup.
+ * - Un sémaphore borne le nombre de vérifications en vol (sockets ouvertes);
+ *   au-delà, le passage est sauté et compté.
+ * - Après "failureThreshold" échecs d'affilée → OUTAGE (message préfixé "[Sonde]").
+ *   Après "successThreshold" succès → OPERATIONAL, UNIQUEMENT si l'OUTAGE venait
+ *   de la sonde. Un service en MAINTENANCE n'est jamais modifié.
+ * - Le statut passe par ApplicationServiceService.updateServiceStatuses: historique,
+ *   SSE, compteurs... tout suit comme pour une modification manuelle.
+ * - Les changements de statut sont regroupés: le thread "probe-status" vide la
+ *   file d'attente à chaque passage et applique tout ce qu'elle contient en UN
+ *   appel (un snapshot, un événement), au lieu d'un snapshot complet de la
+ *   flotte par service basculé. 500 cibles qui tombent ensemble = 1 écriture.
+ * 
+ * Chaque résultat est aussi historisé par lots (ProbeResultWriter).
+ * 
+ * Les cibles suivent ServiceSnapshotUpdatedEvent: ajouter, modifier ou retirer
+ * la sonde d'un service (PUT) la (re)planifie immédiatement.
+ */
+@Slf4j
+@Component
+public class ProbeEngine {
+
+    /** Préfixe des messages posés par le moteur (permet de savoir qui a mis l'OUTAGE) */
+    public static final String MESSAGE_PREFIX = "[Sonde] ";
+
+    private final ApplicationServiceService serviceService;
+    private final ProbeExecutor executor;
+    private final ProbeResultWriter resultWriter;
+    private final boolean enabled;
+    private final double jitter;
+    private final Semaphore inFlight;
+
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(named("probe-scheduler"));
+    // Écritures en base hors des threads d'entrées/sorties
+    private final ExecutorService statusUpdates = Executors.newSingleThreadExecutor(named("probe-status"));
+    private final Queue<PendingStatus> pendingStatuses = new ConcurrentLinkedQueue<>();
+
+    private final Map<Long, ProbeTarget> targets = new ConcurrentHashMap<>();
+    private final AtomicLong skipped = new AtomicLong();
+
+    public ProbeEngine(ApplicationServiceService serviceService,
+                       ProbeExecutor executor,
+                       ProbeResultWriter resultWriter,
+                       @Value("${application.probes.enabled}") boolean enabled,
+                       @Value("${application.probes.jitter}") double jitter,
+                       @Value("${application.probes.max-concurrent}") int maxConcurrent) {
+        this.serviceService = serviceService;
+        this.executor = executor;
+        this.resultWriter = resultWriter;
+        this.enabled = enabled;
+        this.jitter = jitter;
+        this.inFlight = new Semaphore(maxConcurrent);
+    }
+
+    @EventListener
+    public void onSnapshotUpdated(ServiceSnapshotUpdatedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        ServiceSnapshot snapshot = event.getCurrent();
+        if (event.isFullReload()) {
+            for (ApplicationService service : snapshot.getServices()) {
+                sync(service.getId(), service);
+            }
+            for (Long id : new ArrayList<>(targets.keySet())) {
+                if (snapshot.findById(id).isEmpty()) {
+                    sync(id, null);
+                }
+            }
+        } else {
+            for (ServiceChange change : event.getChanges()) {
+                sync(change.getServiceId(), snapshot.findById(change.getServiceId()).orElse(null));
+            }
+        }
+    }
+
+    /**
+     * État de la sonde d'un service (vide si le service n'a pas de sonde)
+     */
+    public Optional<ProbeStatus> status(Long serviceId) {
+        ProbeTarget target = targets.get(serviceId);
+        if (target == null) {
+            return Optional.empty();
+        }
+        return Optional.of(ProbeStatus.builder()
+                .serviceId(serviceId)
+                .type(target.isHttp() ? "HTTP" : "TCP")
+                .target(target.describeTarget())
+                .intervalMillis(target.intervalMillis)
+                .consecutiveFailures(target.consecutiveFailures)
+                .consecutiveSuccesses(target.consecutiveSuccesses)
+                .lastResult(target.lastResult)
+                .build());
+    }
+
+    public int targetCount() {
+        return targets.size();
+    }
+
+    public long skippedCount() {
+        return skipped.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        targets.values().forEach(ProbeTarget::cancel);
+        scheduler.shutdownNow();
+        statusUpdates.shutdown();
+    }
+
+    /**
+     * Ajoute, remplace ou retire la cible d'un service selon sa définition actuelle
+     */
+    private void sync(Long serviceId, ApplicationService service) {
+        ProbeTarget existing = targets.get(serviceId);
+        if (service == null || service.getProbe() == null) {
+            if (existing != null) {
+                targets.remove(serviceId);
+                existing.cancel();
+            }
+            return;
+        }
+        if (existing != null && existing.definition.equals(service.getProbe())) {
+            return;
+        }
+        ProbeTarget target = new ProbeTarget(serviceId, service.getProbe());
+        targets.put(serviceId, target);
+        if (existing != null) {
+            existing.cancel();
+        }
+        long firstDelay = ThreadLocalRandom.current().nextLong(target.intervalMillis);
+        target.next = scheduler.schedule(() -> run(target), firstDelay, TimeUnit.MILLISECONDS);
+    }
+
+    private void run(ProbeTarget target) {
+        if (target.cancelled) {
+            return;
+        }
+        if (!inFlight.tryAcquire()) {
+            skipped.incrementAndGet();
+            scheduleNext(target);
+            return;
+        }
+        executor.probe(target.serviceId, target.definition, target.timeoutMillis)
+                .whenComplete((result, error) -> {
+                    inFlight.release();
+                    if (result != null) {
+                        onResult(target, result);
+                        resultWriter.submit(result);
+                    }
+                    scheduleNext(target);
+                });
+    }
+
+    private void scheduleNext(ProbeTarget target) {
+        if (target.cancelled || scheduler.isShutdown()) {
+            return;
+        }
+        double factor = 1 + (ThreadLocalRandom.current().nextDouble() * 2 - 1) * jitter;
+        long delay = Math.max(1, Math.round(target.intervalMillis * factor));
+        try {
+            target.next = scheduler.schedule(() -> run(target), delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Arrêt de l'application en cours
+        }
+    }
+
+    /**
+     * Applique les seuils et, si besoin, change le statut du service
+     */
+    private void onResult(ProbeTarget target, ProbeResult result) {
+        if (target.cancelled) {
+            return;
+        }
+        target.record(result);
+        if (target.statusUpdatePending) {
+            return;
+        }
+        ApplicationService service = serviceService.getServiceById(target.serviceId).orElse(null);
+        if (service == null || service.getStatus() == ServiceStatus.MAINTENANCE) {
+            return;
+        }
+        if (!result.isSuccess()
+                && target.consecutiveFailures >= target.failureThreshold
+                && service.getStatus() != ServiceStatus.OUTAGE) {
+            updateStatus(target, ServiceStatus.OUTAGE, MESSAGE_PREFIX + result.getDetail());
+        } else if (result.isSuccess()
+                && target.consecutiveSuccesses >= target.successThreshold
+                && service.getStatus() == ServiceStatus.OUTAGE
+                && service.getMaintenanceMessage() != null
+                && service.getMaintenanceMessage().startsWith(MESSAGE_PREFIX)) {
+            updateStatus(target, ServiceStatus.OPERATIONAL, null);
+        }
+    }
+
+    private void updateStatus(ProbeTarget target, ServiceStatus status, String message) {
+        target.statusUpdatePending = true;
+        pendingStatuses.add(new PendingStatus(target, new StatusUpdateItem(target.serviceId, status, message)));
+        try {
+            // Sans effet si un passage précédent a déjà emporté ce changement
+            statusUpdates.execute(this::applyPendingStatuses);
+        } catch (RejectedExecutionException e) {
+            target.statusUpdatePending = false;
+        }
+    }
+
+    /**
+     * Thread "probe-status": applique en un appel tous les changements en attente
+     */
+    private void applyPendingStatuses() {
+        Map<Long, PendingStatus> batch = new LinkedHashMap<>();
+        PendingStatus pending;
+        while (batch.size() < ApplicationServiceService.MAX_BULK_STATUS_UPDATES
+                && (pending = pendingStatuses.poll()) != null) {
+            // Cible remplacée entre-temps: seul le dernier changement d'un service compte
+            PendingStatus replaced = batch.put(pending.target().serviceId, pending);
+            if (replaced != null) {
+                replaced.target().statusUpdatePending = false;
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            BulkStatusUpdateResponse response = serviceService.updateServiceStatuses(
+                    batch.values().stream().map(PendingStatus::item).toList());
+            for (StatusUpdateResult result : response.getResults()) {
+                PendingStatus applied = batch.get(result.getId());
+                if (result.getOutcome() == Outcome.UPDATED) {
+                    log.info("Sonde {} ({}): statut → {}", result.getId(),
+                            applied.target().describeTarget(), applied.item().getStatus());
+                } else {
+                    log.warn("Sonde {}: impossible de passer le statut à {}: {}", result.getId(),
+                            applied.item().getStatus(), result.getError());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Sondes: impossible d'appliquer {} changements de statut: {}", batch.size(), e.getMessage());
+        } finally {
+            batch.values().forEach(applied -> applied.target().statusUpdatePending = false);
+        }
+    }
+
+    /**
+     * Changement de statut décidé par une cible, en attente du thread "probe-status"
+     */
+    private record PendingStatus(ProbeTarget target, StatusUpdateItem item) {
+    }
+
+    private static ThreadFactory named(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+}
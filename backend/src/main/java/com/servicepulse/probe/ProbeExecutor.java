@@ -0,0 +1,208 @@
+package com.servicepulse.probe;
+
+import com.servicepulse.model.ProbeDefinition;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.channels.AsynchronousChannelGroup;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.CompletionHandler;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 🎓 EXÉCUTION DES SONDES - Entrées/sorties NON bloquantes
+ * 
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 POURQUOI NON BLOQUANT ?
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 
+ * 10 000 cibles toutes les 10 secondes = 1 000 vérifications par seconde.
+ * Avec un thread bloqué par vérification (jusqu'à 2 s de délai), il faudrait
+ * des milliers de threads. Ici une poignée de threads gère toutes les
+ * connexions: on lance la requête, et un callback s'exécute à la réponse.
+ * 
+ * Analogie JavaScript: exactement le modèle de Node.js
+ *   fetch(url, { signal: AbortSignal.timeout(2000) }).then(res => ...)
+ * 
+ * - HTTP: java.net.http.HttpClient.sendAsync → CompletableFuture (comme une Promise)
+ * - TCP:  AsynchronousSocketChannel.connect avec un CompletionHandler (callback)
+ * 
+ * Chaque vérification se termine TOUJOURS par un ProbeResult (jamais en erreur):
+ * un échec réseau ou un dépassement de délai est un résultat "success = false".
+ */
+@Slf4j
+@Component
+public class ProbeExecutor {
+
+    private final ExecutorService ioThreads;
+    private final HttpClient httpClient;
+    private final AsynchronousChannelGroup channelGroup;
+    private final ScheduledExecutorService timeouts;
+
+    public ProbeExecutor(@Value("${application.probes.io-threads}") int ioThreadCount) throws IOException {
+        this.ioThreads = Executors.newFixedThreadPool(ioThreadCount, daemonThreads("probe-io-"));
+        this.httpClient = HttpClient.newBuilder()
+                .executor(ioThreads)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        this.channelGroup = AsynchronousChannelGroup.withFixedThreadPool(ioThreadCount, daemonThreads("probe-tcp-"));
+        this.timeouts = Executors.newSingleThreadScheduledExecutor(daemonThreads("probe-timeout-"));
+    }
+
+    /**
+     * Lance une vérification (HTTP si httpUrl est défini, sinon TCP)
+     */
+    public CompletableFuture<ProbeResult> probe(Long serviceId, ProbeDefinition definition, int timeoutMillis) {
+        long started = System.nanoTime();
+        CompletableFuture<ProbeResult> result = definition.getHttpUrl() != null
+                ? http(serviceId, definition.getHttpUrl(), timeoutMillis, started)
+                : tcp(serviceId, definition.getTcpHost(), definition.getTcpPort(), timeoutMillis, started);
+        // Filet de sécurité: aucune vérification ne reste en suspens au-delà du délai
+        CompletableFuture<ProbeResult> guarded = new CompletableFuture<>();
+        ScheduledFuture<?> timer = timeouts.schedule(
+                () -> guarded.complete(failure(serviceId, started, "Délai dépassé (" + timeoutMillis + " ms)")),
+                timeoutMillis + 1000L, TimeUnit.MILLISECONDS);
+        result.whenComplete((probeResult, error) -> {
+            timer.cancel(false);
+            guarded.complete(probeResult != null ? probeResult : failure(serviceId, started, describe(error, timeoutMillis)));
+        });
+        return guarded;
+    }
+
+    private CompletableFuture<ProbeResult> http(Long serviceId, String url, int timeoutMillis, long started) {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(url))
+                    .timeout(Duration.ofMillis(timeoutMillis))
+                    .header("User-Agent", "ServicePulse-Probe")
+                    .GET()
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(failure(serviceId, started, "URL invalide"));
+        }
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    if (error != null) {
+                        return failure(serviceId, started, describe(error, timeoutMillis));
+                    }
+                    String detail = "HTTP " + response.statusCode();
+                    return response.statusCode() < 400
+                            ? success(serviceId, started, detail)
+                            : failure(serviceId, started, detail);
+                });
+    }
+
+    private CompletableFuture<ProbeResult> tcp(Long serviceId, String host, int port, int timeoutMillis, long started) {
+        // La résolution DNS est bloquante: elle ne doit pas occuper le thread de l'ordonnanceur
+        return CompletableFuture.supplyAsync(() -> new InetSocketAddress(host, port), ioThreads)
+                .thenCompose(address -> {
+                    if (address.isUnresolved()) {
+                        return CompletableFuture.completedFuture(failure(serviceId, started, "Hôte inconnu: " + host));
+                    }
+                    return connect(serviceId, address, timeoutMillis, started);
+                });
+    }
+
+    private CompletableFuture<ProbeResult> connect(Long serviceId, InetSocketAddress address, int timeoutMillis, long started) {
+        CompletableFuture<ProbeResult> result = new CompletableFuture<>();
+        AsynchronousSocketChannel channel;
+        try {
+            channel = AsynchronousSocketChannel.open(channelGroup);
+        } catch (IOException e) {
+            return CompletableFuture.completedFuture(failure(serviceId, started, describe(e, timeoutMillis)));
+        }
+
+        ScheduledFuture<?> timer = timeouts.schedule(() -> {
+            if (result.complete(failure(serviceId, started, "Délai dépassé (" + timeoutMillis + " ms)"))) {
+                closeQuietly(channel);
+            }
+        }, timeoutMillis, TimeUnit.MILLISECONDS);
+
+        channel.connect(address, null, new CompletionHandler<Void, Void>() {
+            @Override
+            public void completed(Void ignored, Void attachment) {
+                timer.cancel(false);
+                result.complete(success(serviceId, started, "Connexion TCP établie"));
+                closeQuietly(channel);
+            }
+
+            @Override
+            public void failed(Throwable error, Void attachment) {
+                timer.cancel(false);
+                result.complete(failure(serviceId, started, describe(error, timeoutMillis)));
+                closeQuietly(channel);
+            }
+        });
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timeouts.shutdownNow();
+        ioThreads.shutdownNow();
+        try {
+            channelGroup.shutdownNow();
+        } catch (IOException e) {
+            log.warn("Arrêt du groupe de canaux des sondes: {}", e.getMessage());
+        }
+    }
+
+    private static ProbeResult success(Long serviceId, long started, String detail) {
+        return new ProbeResult(serviceId, Instant.now(), true, elapsedMillis(started), detail);
+    }
+
+    private static ProbeResult failure(Long serviceId, long started, String detail) {
+        return new ProbeResult(serviceId, Instant.now(), false, elapsedMillis(started), detail);
+    }
+
+    private static long elapsedMillis(long started) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+    }
+
+    private static String describe(Throwable error, int timeoutMillis) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof HttpConnectTimeoutException || cause instanceof HttpTimeoutException) {
+            return "Délai dépassé (" + timeoutMillis + " ms)";
+        }
+        if (cause instanceof ConnectException) {
+            return "Connexion refusée";
+        }
+        if (cause instanceof UnknownHostException) {
+            return "Hôte inconnu";
+        }
+        return cause.getClass().getSimpleName() + (cause.getMessage() == null ? "" : ": " + cause.getMessage());
+    }
+
+    private static void closeQuietly(AsynchronousSocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.trace("Fermeture du canal de sonde", e);
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.servicepulse.probe;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * 🎓 RÉSULTAT D'UNE SONDE - Immuable
+ * 
+ * - latencyMillis: durée de la vérification (jusqu'au délai maximal en cas d'échec par timeout)
+ * - detail:        "HTTP 200", "Connexion TCP établie", "Délai dépassé (2000 ms)"...
+ */
+@Value
+public class ProbeResult {
+    Long serviceId;
+    Instant checkedAt;
+    boolean success;
+    long latencyMillis;
+    String detail;
+}
@@ -0,0 +1,216 @@
+package com.servicepulse.probe;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🎓 ÉCRITURE PAR LOTS - Résultats de sondes vers la table probe_results
+ * 
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 FILE BORNÉE + UN THREAD ÉCRIVAIN
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 
+ * Les sondes déposent leurs résultats dans une file (opération mémoire,
+ * quelques nanosecondes). Un seul thread la vide et insère les lignes par lots:
+ *   INSERT ... VALUES (?,?,?,?,?)  × 500, en un seul aller-retour JDBC
+ * 
+ * Analogie JavaScript:
+ *   queue.push(result);
+ *   setInterval(() => db.batchInsert(queue.splice(0, 500)), 1000);
+ * 
+ * Un lot part dès qu'il atteint "flush-size" lignes, ou au plus tard après
+ * "flush-interval" millisecondes.
+ * 
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 CONTRE-PRESSION
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 
+ * Si la base ne suit plus et que la file est pleine, le résultat est
+ * abandonné et compté (probe.results.dropped), sans attendre: submit() est
+ * appelé depuis les threads d'entrées/sorties des sondes et depuis le thread
+ * unique des délais ("probe-timeout"). Le bloquer figerait le réseau et les
+ * délais de toutes les autres sondes. La mémoire reste bornée quoi qu'il arrive.
+ * 
+ * À l'arrêt (@PreDestroy), le thread écrivain voit le drapeau "running" au
+ * plus tard après "flush-interval", puis écrit tout ce qui reste dans la file.
+ * Pas d'interruption: elle pourrait couper l'insertion JDBC en cours.
+ * 
+ * Métriques (/actuator/metrics): probe.results.queue.depth, probe.results.batch.size,
+ * probe.results.flush, probe.results.written, probe.results.dropped
+ */
+@Slf4j
+@Component
+public class ProbeResultWriter {
+
+    private static final String INSERT =
+            "INSERT INTO probe_results (service_id, checked_at, success, latency_ms, detail) VALUES (?, ?, ?, ?, ?)";
+    private static final int MAX_DETAIL_LENGTH = 255;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<ProbeResult> queue;
+    private final int flushSize;
+    private final long flushIntervalMillis;
+    private final long retentionMillis;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private final DistributionSummary batchSize;
+    private final Timer flushLatency;
+    private final Counter written;
+    private final Counter dropped;
+
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    public ProbeResultWriter(JdbcTemplate jdbcTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${application.probes.results.queue-capacity}") int queueCapacity,
+                             @Value("${application.probes.results.flush-size}") int flushSize,
+                             @Value("${application.probes.results.flush-interval}") long flushIntervalMillis,
+                             @Value("${application.probes.results.retention}") long retentionMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.flushSize = flushSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.retentionMillis = retentionMillis;
+
+        Gauge.builder("probe.results.queue.depth", queue, BlockingQueue::size)
+                .description("Résultats de sondes en attente d'écriture")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("probe.results.batch.size")
+                .description("Lignes par insertion JDBC")
+                .register(meterRegistry);
+        this.flushLatency = Timer.builder("probe.results.flush")
+                .description("Durée d'une insertion par lot")
+                .register(meterRegistry);
+        this.written = Counter.builder("probe.results.written").register(meterRegistry);
+        this.dropped = Counter.builder("probe.results.dropped")
+                .description("Résultats abandonnés car la file était pleine")
+                .register(meterRegistry);
+
+        this.writerThread = new Thread(this::drainLoop, "probe-results-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Dépose un résultat, sans jamais attendre
+     * 
+     * @return false si le résultat a été abandonné (file pleine ou arrêt en cours)
+     */
+    public boolean submit(ProbeResult result) {
+        if (running && queue.offer(result)) {
+            return true;
+        }
+        dropped.increment();
+        return false;
+    }
+
+    /**
+     * Supprime les résultats plus anciens que la rétention (la table ne grossit pas sans fin)
+     */
+    @Scheduled(fixedDelayString = "${application.probes.results.purge-interval}")
+    public void purge() {
+        LocalDateTime cutoff = LocalDateTime.now(zone).minusNanos(retentionMillis * 1_000_000);
+        int deleted = jdbcTemplate.update("DELETE FROM probe_results WHERE checked_at < ?", Timestamp.valueOf(cutoff));
+        if (deleted > 0) {
+            log.debug("{} résultats de sondes purgés", deleted);
+        }
+    }
+
+    /**
+     * Arrêt propre: plus de dépôt, le thread écrivain vide la file puis s'arrête
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writerThread.join(TimeUnit.SECONDS.toMillis(30));
+        if (!queue.isEmpty()) {
+            log.warn("{} résultats de sondes non écrits à l'arrêt", queue.size());
+        }
+    }
+
+    private void drainLoop() {
+        List<ProbeResult> batch = new ArrayList<>(flushSize);
+        while (running) {
+            try {
+                fill(batch);
+            } catch (InterruptedException e) {
+                // Jamais interrompu par shutdown(): la boucle s'arrête sur "running"
+            }
+            flush(batch);
+        }
+        // Vidage final, par lots
+        while (!queue.isEmpty() || !batch.isEmpty()) {
+            queue.drainTo(batch, flushSize - batch.size());
+            flush(batch);
+        }
+    }
+
+    /**
+     * Remplit le lot jusqu'à "flush-size" lignes ou jusqu'à l'échéance
+     */
+    private void fill(List<ProbeResult> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        while (batch.size() < flushSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            ProbeResult next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+            queue.drainTo(batch, flushSize - batch.size());
+        }
+    }
+
+    private void flush(List<ProbeResult> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            jdbcTemplate.batchUpdate(INSERT, batch, batch.size(), (statement, result) -> {
+                statement.setLong(1, result.getServiceId());
+                statement.setTimestamp(2, Timestamp.valueOf(LocalDateTime.ofInstant(result.getCheckedAt(), zone)));
+                statement.setBoolean(3, result.isSuccess());
+                statement.setLong(4, result.getLatencyMillis());
+                statement.setString(5, truncate(result.getDetail()));
+            });
+            written.increment(batch.size());
+        } catch (DataAccessException e) {
+            // Lot perdu, mais le thread écrivain continue
+            dropped.increment(batch.size());
+            log.warn("Écriture de {} résultats de sondes impossible: {}", batch.size(), e.getMessage());
+        } finally {
+            flushLatency.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            batchSize.record(batch.size());
+            batch.clear();
+        }
+    }
+
+    private static String truncate(String detail) {
+        return detail == null || detail.length() <= MAX_DETAIL_LENGTH ? detail : detail.substring(0, MAX_DETAIL_LENGTH);
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.servicepulse.probe;
+
+import com.servicepulse.model.ProbeDefinition;
+
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * 🎓 CIBLE DE SONDE - Paramètres effectifs et compteurs d'un service sondé
+ * 
+ * Une seule vérification est en cours à la fois par cible (la suivante est
+ * planifiée à la fin de la précédente): les compteurs sont modifiés par un
+ * thread à la fois, "volatile" suffit pour les lectures de l'API.
+ */
+final class ProbeTarget {
+
+    final Long serviceId;
+    final ProbeDefinition definition;
+    final long intervalMillis;
+    final int timeoutMillis;
+    final int failureThreshold;
+    final int successThreshold;
+
+    volatile boolean cancelled;
+    volatile ScheduledFuture<?> next;
+    volatile boolean statusUpdatePending;
+
+    volatile int consecutiveFailures;
+    volatile int consecutiveSuccesses;
+    volatile ProbeResult lastResult;
+
+    ProbeTarget(Long serviceId, ProbeDefinition definition) {
+        this.serviceId = serviceId;
+        this.definition = definition;
+        this.intervalMillis = 1000L * orDefault(definition.getIntervalSeconds(), ProbeDefinition.DEFAULT_INTERVAL_SECONDS);
+        this.timeoutMillis = orDefault(definition.getTimeoutMillis(), ProbeDefinition.DEFAULT_TIMEOUT_MILLIS);
+        this.failureThreshold = orDefault(definition.getFailureThreshold(), ProbeDefinition.DEFAULT_FAILURE_THRESHOLD);
+        this.successThreshold = orDefault(definition.getSuccessThreshold(), ProbeDefinition.DEFAULT_SUCCESS_THRESHOLD);
+    }
+
+    void record(ProbeResult result) {
+        lastResult = result;
+        if (result.isSuccess()) {
+            consecutiveSuccesses++;
+            consecutiveFailures = 0;
+        } else {
+            consecutiveFailures++;
+            consecutiveSuccesses = 0;
+        }
+    }
+
+    void cancel() {
+        cancelled = true;
+        ScheduledFuture<?> scheduled = next;
+        if (scheduled != null) {
+            scheduled.cancel(false);
+        }
+    }
+
+    boolean isHttp() {
+        return definition.getHttpUrl() != null;
+    }
+
+    String describeTarget() {
+        return isHttp() ? definition.getHttpUrl() : definition.getTcpHost() + ":" + definition.getTcpPort();
+    }
+
+    private static int orDefault(Integer value, int defaultValue) {
+        return value == null ? defaultValue : value;
+    }
+
+}
@@ -2,11 +2,17 @@ package com.servicepulse.repository;
 
 import com.servicepulse.model.ApplicationService;
 import com.servicepulse.model.ServiceStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * 🎓 REPOSITORY - Accès aux données
@@ -58,14 +64,19 @@ import java.util.Optional;
  */
 
 @Repository  // 📌 Dit à Spring: "C'est un composant de type Repository"
-public interface ApplicationServiceRepository extends JpaRepository<ApplicationService, Long> {
+public interface ApplicationServiceRepository
+        extends JpaRepository<ApplicationService, Long>, ServiceSummaryRepository {
 
     /**
      * Trouve tous les services ayant un statut spécifique
      * 
      * Spring génère automatiquement:
      * SELECT * FROM application_services WHERE status = ?
+     * 
+     * Résultat (liste d'IDs) gardé dans le cache de requêtes, invalidé par
+     * Hibernate dès qu'une transaction modifie la table application_services
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<ApplicationService> findByStatus(ServiceStatus status);
 
     /**
@@ -75,7 +86,10 @@ public interface ApplicationServiceRepository extends JpaRepository<ApplicationS
      * Évite les NullPointerException
      * 
      * Analogie JS: C'est comme retourner null ou undefined, mais de façon plus sûre
+     * 
+     * Mis en cache comme findByStatus
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<ApplicationService> findByName(String name);
 
     /**
@@ -95,4 +109,49 @@ public interface ApplicationServiceRepository extends JpaRepository<ApplicationS
      */
     List<ApplicationService> findByStatusNot(ServiceStatus status);
 
+    /**
+     * Nombre de services par statut, en une seule requête
+     * (sert à vérifier les compteurs tenus en mémoire)
+     * 
+     * SELECT status, COUNT(*) FROM application_services GROUP BY status
+     */
+    @Query("SELECT s.status AS status, COUNT(s) AS total FROM ApplicationService s GROUP BY s.status")
+    List<StatusCount> countByStatus();
+
+    /**
+     * IDs des services qui n'ont pas le statut donné (sans charger les entités)
+     */
+    @Query("SELECT s.id FROM ApplicationService s WHERE s.status <> :status")
+    List<Long> findIdsByStatusNot(ServiceStatus status);
+
+    /**
+     * Services dont le nom est dans la liste (import: un SELECT par lot)
+     */
+    List<ApplicationService> findByNameIn(Collection<String> names);
+
+    /**
+     * Tous les services lus au fil de l'eau via un curseur JDBC (export)
+     * 
+     * Stream = les lignes arrivent par paquets de "fetch size" pendant qu'on
+     * les consomme, au lieu d'une List chargée entièrement en mémoire.
+     * À utiliser dans une transaction, et à fermer (try-with-resources).
+     * 
+     * CacheMode GET: l'export lit le cache de second niveau sans y déposer
+     * tout le catalogue (les entrées utiles ne sont pas chassées)
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "GET")
+    })
+    @Query("SELECT s FROM ApplicationService s ORDER BY s.id")
+    Stream<ApplicationService> streamAll();
+
+    /**
+     * Projection: une ligne du GROUP BY ci-dessus
+     */
+    interface StatusCount {
+        ServiceStatus getStatus();
+        long getTotal();
+    }
+
 }
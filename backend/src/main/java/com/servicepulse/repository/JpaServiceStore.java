@@ -0,0 +1,114 @@
+package com.servicepulse.repository;
+
+import com.servicepulse.dto.ServiceSummary;
+import com.servicepulse.model.ApplicationService;
+import com.servicepulse.model.ServiceStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * 🎓 MOTEUR JPA - Services dans la table application_services (moteur par défaut)
+ *
+ * Simple délégation au repository Spring Data: les requêtes, index et cache
+ * de second niveau restent ceux de ApplicationServiceRepository.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "application.storage.engine", havingValue = "jpa", matchIfMissing = true)
+public class JpaServiceStore implements ServiceStore {
+
+    private final ApplicationServiceRepository repository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ApplicationService> findAll() {
+        return repository.findAll();
+    }
+
+    @Override
+    public Optional<ApplicationService> findById(Long id) {
+        return repository.findById(id);
+    }
+
+    @Override
+    public List<ApplicationService> findAllById(Collection<Long> ids) {
+        return repository.findAllById(ids);
+    }
+
+    @Override
+    public Optional<ApplicationService> findByName(String name) {
+        return repository.findByName(name);
+    }
+
+    @Override
+    public List<ApplicationService> findByNameIn(Collection<String> names) {
+        return repository.findByNameIn(names);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return repository.existsById(id);
+    }
+
+    @Override
+    public boolean existsByName(String name) {
+        return repository.existsByName(name);
+    }
+
+    @Override
+    public ApplicationService save(ApplicationService service) {
+        return repository.save(service);
+    }
+
+    /**
+     * Entités déjà gérées: merge sans effet, l'UPDATE part au commit par lots JDBC
+     */
+    @Override
+    public List<ApplicationService> saveAll(Collection<ApplicationService> services) {
+        return repository.saveAll(services);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        repository.deleteById(id);
+    }
+
+    @Override
+    public Map<ServiceStatus, Long> countByStatus() {
+        Map<ServiceStatus, Long> counts = new EnumMap<>(ServiceStatus.class);
+        repository.countByStatus().forEach(row -> counts.put(row.getStatus(), row.getTotal()));
+        return counts;
+    }
+
+    @Override
+    public List<Long> findIdsByStatusNot(ServiceStatus status) {
+        return repository.findIdsByStatusNot(status);
+    }
+
+    @Override
+    public List<ServiceSummary> findSummaries(ServiceStatus status, ServiceSort sort, ServiceCursor after, int limit) {
+        return repository.findSummaries(status, sort, after, limit);
+    }
+
+    /**
+     * Chaque entité est détachée dès sa lecture: le contexte de persistance
+     * ne grossit pas pendant l'export (aucune association paresseuse à charger)
+     */
+    @Override
+    public Stream<ApplicationService> streamAll() {
+        return repository.streamAll().peek(entityManager::detach);
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.servicepulse.repository;
+
+import com.servicepulse.dto.ServiceSummary;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 🎓 CURSEUR DE PAGINATION (keyset)
+ * 
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 POURQUOI PAS OFFSET ?
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 
+ * "LIMIT 50 OFFSET 10000" oblige la base à lire puis jeter 10 000 lignes.
+ * Un curseur retient la clé de la dernière ligne vue, et la page suivante
+ * commence directement après elle grâce à l'index:
+ *   WHERE name > 'Gateway' OR (name = 'Gateway' AND id > 42) ORDER BY name, id
+ * 
+ * Le coût d'une page reste constant, quelle que soit sa position.
+ * 
+ * Côté client, le curseur est une chaîne opaque (Base64 URL) qu'on renvoie
+ * telle quelle dans ?after=
+ */
+public final class ServiceCursor {
+
+    private final ServiceSort sort;
+    private final long id;
+    private final String name;
+    private final LocalDateTime lastUpdated;
+
+    private ServiceCursor(ServiceSort sort, long id, String name, LocalDateTime lastUpdated) {
+        this.sort = sort;
+        this.id = id;
+        this.name = name;
+        this.lastUpdated = lastUpdated;
+    }
+
+    /**
+     * Curseur positionné sur la dernière ligne d'une page
+     */
+    public static ServiceCursor after(ServiceSort sort, ServiceSummary last) {
+        return new ServiceCursor(sort, last.getId(), last.getName(), last.getLastUpdated());
+    }
+
+    /**
+     * Décode un curseur reçu dans ?after= (il doit correspondre au tri demandé)
+     */
+    public static ServiceCursor decode(ServiceSort sort, String encoded) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            if (parts.length != 3 || !parts[0].equals(sort.getParameter())) {
+                throw new IllegalArgumentException("Curseur invalide pour le tri " + sort.getParameter());
+            }
+            long id = Long.parseLong(parts[1]);
+            return switch (sort) {
+                case ID -> new ServiceCursor(sort, id, null, null);
+                case NAME -> new ServiceCursor(sort, id, parts[2], null);
+                case LAST_UPDATED -> new ServiceCursor(sort, id, null,
+                        parts[2].isEmpty() ? null : LocalDateTime.parse(parts[2]));
+            };
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Curseur invalide: " + encoded, e);
+        }
+    }
+
+    /**
+     * Format: "tri|id|valeur", encodé en Base64 URL (valeur vide: lastUpdated NULL)
+     */
+    public String encode() {
+        String value = switch (sort) {
+            case ID -> "";
+            case NAME -> name;
+            case LAST_UPDATED -> lastUpdated == null ? "" : lastUpdated.toString();
+        };
+        String raw = sort.getParameter() + "|" + id + "|" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Vrai si la ligne vient après le curseur dans l'ordre du tri
+     */
+    public boolean precedes(ServiceSummary row) {
+        ServiceSummary position = new ServiceSummary(id, name, null, lastUpdated);
+        return sort.comparator().compare(position, row) < 0;
+    }
+
+    public ServiceSort getSort() {
+        return sort;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LocalDateTime getLastUpdated() {
+        return lastUpdated;
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.servicepulse.repository;
+
+import com.servicepulse.dto.ServiceSummary;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * 🎓 ORDRES DE TRI - Pour la pagination par curseur
+ * 
+ * Chaque ordre se termine par l'ID pour être total (deux lignes ne sont
+ * jamais "égales"): c'est indispensable pour reprendre après un curseur.
+ */
+public enum ServiceSort {
+
+    /** id croissant (par défaut) */
+    ID("id"),
+
+    /** nom croissant, puis id */
+    NAME("name"),
+
+    /** dernière mise à jour la plus récente d'abord (jamais mis à jour = en dernier), puis id décroissant */
+    LAST_UPDATED("lastUpdated");
+
+    private final String parameter;
+
+    ServiceSort(String parameter) {
+        this.parameter = parameter;
+    }
+
+    /**
+     * Valeur du paramètre ?sort= (null → ID)
+     */
+    public static ServiceSort fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return ID;
+        }
+        for (ServiceSort sort : values()) {
+            if (sort.parameter.equalsIgnoreCase(value)) {
+                return sort;
+            }
+        }
+        throw new IllegalArgumentException("Tri inconnu: " + value);
+    }
+
+    /**
+     * Le même ordre en mémoire (pagination des résultats de recherche)
+     * 
+     * lastUpdated peut être NULL (colonne nullable, lignes migrées ou écrites en SQL):
+     * NULL compte comme la date la plus ancienne, comme "DESC NULLS LAST" en SQL.
+     */
+    public Comparator<ServiceSummary> comparator() {
+        Comparator<ServiceSummary> byId = Comparator.comparing(ServiceSummary::getId);
+        return switch (this) {
+            case ID -> byId;
+            case NAME -> Comparator.comparing(ServiceSummary::getName).thenComparing(byId);
+            case LAST_UPDATED -> Comparator.comparing(ServiceSummary::getLastUpdated,
+                    Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder())).thenComparing(byId).reversed();
+        };
+    }
+
+    public String getParameter() {
+        return parameter;
+    }
+
+}
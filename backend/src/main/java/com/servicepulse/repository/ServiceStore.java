@@ -0,0 +1,88 @@
+package com.servicepulse.repository;
+
+import com.servicepulse.dto.ServiceSummary;
+import com.servicepulse.model.ApplicationService;
+import com.servicepulse.model.ServiceStatus;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * 🎓 MOTEUR DE STOCKAGE DES SERVICES - Interface commune
+ *
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 POURQUOI UNE INTERFACE ?
+ * ═══════════════════════════════════════════════════════════════════════════════
+ *
+ * Les services applicatifs ne passent plus directement par le repository JPA:
+ * le moteur est choisi par configuration (application.storage.engine):
+ *
+ *   jpa = JpaServiceStore, table application_services (par défaut)
+ *   log = LogServiceStore, journal d'écritures + snapshot sur disque, sans SQL
+ *
+ * Analogie JavaScript:
+ *   const store = config.engine === 'log' ? new LogStore(dir) : new SqlStore(db);
+ *   await store.save(service);
+ *
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 CONTRAT COMMUN AUX DEUX MOTEURS
+ * ═══════════════════════════════════════════════════════════════════════════════
+ *
+ * - Une modification n'est enregistrée que par save / saveAll (jamais par
+ *   simple modification d'un objet lu, même si JPA le permettrait)
+ * - Les services rendus par findById / findAllById / findByName / findByNameIn
+ *   peuvent être modifiés puis passés à save
+ * - Ceux de findAll / streamAll sont en lecture seule
+ * - save renseigne id, createdAt et lastUpdated sur l'objet passé
+ * - Un nom déjà pris par un autre service → DataIntegrityViolationException
+ */
+public interface ServiceStore {
+
+    List<ApplicationService> findAll();
+
+    Optional<ApplicationService> findById(Long id);
+
+    List<ApplicationService> findAllById(Collection<Long> ids);
+
+    Optional<ApplicationService> findByName(String name);
+
+    List<ApplicationService> findByNameIn(Collection<String> names);
+
+    boolean existsById(Long id);
+
+    boolean existsByName(String name);
+
+    ApplicationService save(ApplicationService service);
+
+    /**
+     * Enregistre un lot: tout ou rien
+     */
+    List<ApplicationService> saveAll(Collection<ApplicationService> services);
+
+    /**
+     * Sans effet si le service n'existe pas
+     */
+    void deleteById(Long id);
+
+    /**
+     * Nombre de services par statut (statuts absents = aucun service)
+     */
+    Map<ServiceStatus, Long> countByStatus();
+
+    List<Long> findIdsByStatusNot(ServiceStatus status);
+
+    /**
+     * Page de résumés triés, après le curseur (voir ServiceSummaryRepository)
+     */
+    List<ServiceSummary> findSummaries(ServiceStatus status, ServiceSort sort, ServiceCursor after, int limit);
+
+    /**
+     * Tous les services par id croissant, lus au fil de l'eau (export).
+     * À utiliser dans une transaction, et à fermer (try-with-resources).
+     */
+    Stream<ApplicationService> streamAll();
+
+}
@@ -0,0 +1,31 @@
+package com.servicepulse.repository;
+
+import com.servicepulse.dto.ServiceSummary;
+import com.servicepulse.model.ServiceStatus;
+
+import java.util.List;
+
+/**
+ * 🎓 FRAGMENT DE REPOSITORY - Requêtes écrites à la main
+ * 
+ * Spring Data ne sait pas générer une requête dont les filtres et le tri
+ * changent selon les paramètres. On déclare donc une interface "fragment"
+ * que ApplicationServiceRepository étend, et Spring branche automatiquement
+ * l'implémentation ServiceSummaryRepositoryImpl (même nom + "Impl").
+ */
+public interface ServiceSummaryRepository {
+
+    /**
+     * Une page de résumés, triée et filtrée, qui commence après le curseur
+     * 
+     * @param status filtre de statut (null = tous)
+     * @param sort   ordre de tri
+     * @param after  curseur de la page précédente (null = première page)
+     * @param limit  nombre maximal de lignes
+     */
+    List<ServiceSummary> findSummaries(ServiceStatus status,
+                                       ServiceSort sort,
+                                       ServiceCursor after,
+                                       int limit);
+
+}
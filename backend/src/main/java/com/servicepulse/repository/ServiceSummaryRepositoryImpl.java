@@ -0,0 +1,88 @@
+package com.servicepulse.repository;
+
+import com.servicepulse.dto.ServiceSummary;
+import com.servicepulse.model.ApplicationService;
+import com.servicepulse.model.ServiceStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+import org.hibernate.Session;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 🎓 IMPLÉMENTATION - Pagination par curseur avec projection DTO
+ * 
+ * Utilise l'API Criteria de JPA (un "query builder", comme Knex en JS):
+ *   knex('application_services')
+ *       .select('id', 'name', 'status', 'last_updated')
+ *       .where(...).orderBy('name').limit(50)
+ * 
+ * "cb.construct(ServiceSummary.class, ...)" remplit directement le DTO:
+ * les colonnes description / maintenance_message ne sont jamais lues.
+ */
+public class ServiceSummaryRepositoryImpl implements ServiceSummaryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ServiceSummary> findSummaries(ServiceStatus status,
+                                              ServiceSort sort,
+                                              ServiceCursor after,
+                                              int limit) {
+        // Criteria Hibernate: "DESC NULLS LAST" explicite (l'ordre des NULL varie selon la base)
+        HibernateCriteriaBuilder cb = entityManager.unwrap(Session.class).getCriteriaBuilder();
+        CriteriaQuery<ServiceSummary> query = cb.createQuery(ServiceSummary.class);
+        Root<ApplicationService> service = query.from(ApplicationService.class);
+
+        Path<Long> id = service.get("id");
+        Path<String> name = service.get("name");
+        Path<LocalDateTime> lastUpdated = service.get("lastUpdated");
+
+        List<Predicate> where = new ArrayList<>();
+        if (status != null) {
+            where.add(cb.equal(service.get("status"), status));
+        }
+
+        switch (sort) {
+            case ID -> {
+                if (after != null) {
+                    where.add(cb.greaterThan(id, after.getId()));
+                }
+                query.orderBy(cb.asc(id));
+            }
+            case NAME -> {
+                if (after != null) {
+                    where.add(cb.or(
+                            cb.greaterThan(name, after.getName()),
+                            cb.and(cb.equal(name, after.getName()), cb.greaterThan(id, after.getId()))));
+                }
+                query.orderBy(cb.asc(name), cb.asc(id));
+            }
+            case LAST_UPDATED -> {
+                // NULL = jamais mis à jour: en fin de liste (même ordre que ServiceSort.comparator)
+                if (after != null && after.getLastUpdated() == null) {
+                    where.add(cb.and(cb.isNull(lastUpdated), cb.lessThan(id, after.getId())));
+                } else if (after != null) {
+                    where.add(cb.or(
+                            cb.lessThan(lastUpdated, after.getLastUpdated()),
+                            cb.and(cb.equal(lastUpdated, after.getLastUpdated()), cb.lessThan(id, after.getId())),
+                            cb.isNull(lastUpdated)));
+                }
+                query.orderBy(cb.desc(lastUpdated, false), cb.desc(id));
+            }
+        }
+
+        query.select(cb.construct(ServiceSummary.class, id, name, service.get("status"), lastUpdated))
+                .where(where.toArray(Predicate[]::new));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+}
@@ -0,0 +1,446 @@
+package com.servicepulse.search;
+
+import com.servicepulse.event.ServiceChangeEvent.ServiceChange;
+import com.servicepulse.event.ServiceSnapshotUpdatedEvent;
+import com.servicepulse.model.ApplicationService;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 🎓 INDEX DE RECHERCHE EN MÉMOIRE - Trigrammes sur le nom et la description
+ * 
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 INDEX INVERSÉ DE TRIGRAMMES
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 
+ * Chaque texte est découpé en morceaux de 3 caractères:
+ *   "cache" → "cac", "ach", "che"
+ * et pour chaque trigramme on retient la liste triée des IDs qui le contiennent.
+ * 
+ * Pour chercher "cach", on prend les listes de "cac" et "ach", on les croise
+ * (intersection), puis on vérifie le texte des quelques candidats restants.
+ * C'est un "LIKE '%cach%'" sans parcourir tout le catalogue.
+ * 
+ * Analogie JavaScript:
+ *   const index = new Map();                 // "cac" → [3, 12, 40]
+ *   const candidates = intersect(index.get('cac'), index.get('ach'));
+ *   return candidates.filter(id => docs.get(id).text.includes('cach'));
+ * 
+ * Les requêtes de 1 ou 2 caractères n'ont pas de trigramme: elles cherchent
+ * les mots qui COMMENCENT par ce texte (autocomplétion).
+ * 
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 MÉMOIRE ET CONCURRENCE
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 
+ * - Les listes d'IDs sont des int[] triés (pas de Long "boxés"): compact.
+ * - Un événement remplace uniquement les listes des trigrammes ajoutés ou
+ *   retirés, une seule fois par liste (copy-on-write). Lectures sans verrou.
+ * - L'index suit le ServiceSnapshotUpdatedEvent: il voit les mêmes données
+ *   que les lectures REST. Un rechargement complet reconstruit un nouvel index.
+ */
+@Component
+public class ServiceSearchIndex {
+
+    private static final int[] EMPTY = new int[0];
+
+    private volatile Index index = new Index();
+    private volatile long version;
+
+    @EventListener
+    public void onSnapshotUpdated(ServiceSnapshotUpdatedEvent event) {
+        if (event.isFullReload()) {
+            Index rebuilt = new Index();
+            rebuilt.apply(event.getCurrent().getServices(), List.of());
+            index = rebuilt;
+            version = event.getCurrent().getVersion();
+            return;
+        }
+        Set<Long> changedIds = new LinkedHashSet<>();
+        for (ServiceChange change : event.getChanges()) {
+            changedIds.add(change.getServiceId());
+        }
+        List<ApplicationService> upserts = new ArrayList<>();
+        List<Long> removals = new ArrayList<>();
+        for (Long id : changedIds) {
+            Optional<ApplicationService> service = event.getCurrent().findById(id);
+            if (service.isPresent()) {
+                upserts.add(service.get());
+            } else {
+                removals.add(id);
+            }
+        }
+        index.apply(upserts, removals);
+        version = event.getCurrent().getVersion();
+    }
+
+    /**
+     * Recherche par sous-chaîne (nom ou description), résultats classés:
+     * nom identique > nom commençant par > mot du nom commençant par >
+     * nom contenant > mot de la description commençant par > description contenant
+     * (à score égal: ordre alphabétique)
+     * 
+     * @return IDs des services trouvés, du plus pertinent au moins pertinent
+     */
+    public List<Long> search(String query, int limit) {
+        return rank(index, TextNormalizer.normalize(query).trim(), limit, 0);
+    }
+
+    /**
+     * Autocomplétion: uniquement les services dont le NOM correspond
+     */
+    public List<Long> suggest(String prefix, int limit) {
+        return rank(index, TextNormalizer.normalize(prefix).trim(), limit, Score.NAME_CONTAINS);
+    }
+
+    /**
+     * Tous les services correspondants, sans classement (par ID croissant),
+     * pour la pagination par curseur qui impose son propre tri
+     */
+    public List<Long> matches(String query) {
+        Index current = index;
+        String normalized = TextNormalizer.normalize(query).trim();
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>();
+        for (int id : current.candidates(normalized)) {
+            Doc doc = current.docs.get(id);
+            if (doc != null && Score.of(doc, normalized) > 0) {
+                ids.add((long) id);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Version du snapshot que reflète l'index (il est mis à jour juste après
+     * la publication du snapshot: les deux peuvent brièvement différer)
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return index.docs.size();
+    }
+
+    private static List<Long> rank(Index index, String query, int limit, int minimumScore) {
+        if (query.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        // Tas borné: on ne garde que les "limit" meilleurs résultats
+        Comparator<Hit> worstFirst = Comparator.comparingInt(Hit::score)
+                .thenComparing((Hit hit) -> hit.doc().name(), Comparator.reverseOrder())
+                .thenComparing((Hit hit) -> hit.doc().id(), Comparator.reverseOrder());
+        PriorityQueue<Hit> top = new PriorityQueue<>(worstFirst);
+        for (int id : index.candidates(query)) {
+            Doc doc = index.docs.get(id);
+            if (doc == null) {
+                continue;
+            }
+            int score = Score.of(doc, query);
+            if (score == 0 || score < minimumScore) {
+                continue;
+            }
+            top.add(new Hit(doc, score));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<Long> ids = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            ids.add((long) top.poll().doc().id());
+        }
+        Collections.reverse(ids);
+        return ids;
+    }
+
+    private record Hit(Doc doc, int score) {
+    }
+
+    /**
+     * Texte indexé d'un service
+     */
+    private record Doc(int id, String name, String description) {
+
+        static Doc of(int id, ApplicationService service) {
+            String name = TextNormalizer.normalize(service.getName());
+            return new Doc(id, name, TextNormalizer.normalize(service.getDescription()));
+        }
+
+        Set<Long> trigrams() {
+            Set<Long> trigrams = new HashSet<>();
+            for (long trigram : TextNormalizer.trigrams(name)) {
+                trigrams.add(trigram);
+            }
+            for (long trigram : TextNormalizer.trigrams(description)) {
+                trigrams.add(trigram);
+            }
+            return trigrams;
+        }
+
+        Set<String> words() {
+            Set<String> words = new HashSet<>(TextNormalizer.words(name));
+            words.addAll(TextNormalizer.words(description));
+            return words;
+        }
+    }
+
+    /**
+     * Pertinence d'un document pour une requête normalisée (0 = ne correspond pas)
+     */
+    private static final class Score {
+
+        static final int NAME_EQUALS = 100;
+        static final int NAME_STARTS_WITH = 80;
+        static final int NAME_WORD_STARTS_WITH = 60;
+        static final int NAME_CONTAINS = 40;
+        static final int DESCRIPTION_WORD_STARTS_WITH = 20;
+        static final int DESCRIPTION_CONTAINS = 10;
+
+        static int of(Doc doc, String query) {
+            if (doc.name().equals(query)) {
+                return NAME_EQUALS;
+            }
+            if (doc.name().startsWith(query)) {
+                return NAME_STARTS_WITH;
+            }
+            if (wordStartsWith(doc.name(), query)) {
+                return NAME_WORD_STARTS_WITH;
+            }
+            if (doc.name().contains(query)) {
+                return NAME_CONTAINS;
+            }
+            if (wordStartsWith(doc.description(), query)) {
+                return DESCRIPTION_WORD_STARTS_WITH;
+            }
+            if (doc.description().contains(query)) {
+                return DESCRIPTION_CONTAINS;
+            }
+            return 0;
+        }
+
+        private static boolean wordStartsWith(String text, String query) {
+            int from = 0;
+            int index;
+            while ((index = text.indexOf(query, from)) >= 0) {
+                if (index == 0 || !Character.isLetterOrDigit(text.charAt(index - 1))) {
+                    return true;
+                }
+                from = index + 1;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Structures de l'index. Un seul écrivain (l'écouteur d'événements),
+     * lecteurs concurrents sans verrou.
+     */
+    private static final class Index {
+
+        private final Map<Integer, Doc> docs = new ConcurrentHashMap<>();
+        private final Map<Long, int[]> trigrams = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListMap<String, int[]> words = new ConcurrentSkipListMap<>();
+
+        /**
+         * Applique tout un événement en une passe: les changements sont d'abord
+         * regroupés par trigramme/mot, puis chaque liste d'IDs est recopiée UNE
+         * seule fois. Insérer N services un par un recopierait N fois les listes
+         * des trigrammes courants ("svc", "api"...): O(N²) sur un import massif.
+         */
+        void apply(Collection<ApplicationService> upserts, Collection<Long> removals) {
+            Map<Long, PostingChange> trigramChanges = new HashMap<>();
+            Map<String, PostingChange> wordChanges = new HashMap<>();
+
+            for (ApplicationService service : upserts) {
+                int id = Math.toIntExact(service.getId());
+                Doc next = Doc.of(id, service);
+                Doc previous = docs.put(id, next);
+                diff(previous == null ? Set.of() : previous.trigrams(), next.trigrams(), id, trigramChanges);
+                diff(previous == null ? Set.of() : previous.words(), next.words(), id, wordChanges);
+            }
+            for (Long serviceId : removals) {
+                int id = Math.toIntExact(serviceId);
+                Doc previous = docs.remove(id);
+                if (previous != null) {
+                    diff(previous.trigrams(), Set.of(), id, trigramChanges);
+                    diff(previous.words(), Set.of(), id, wordChanges);
+                }
+            }
+
+            trigramChanges.forEach((trigram, change) -> trigrams.compute(trigram, (key, ids) -> change.applyTo(ids)));
+            wordChanges.forEach((word, change) -> words.compute(word, (key, ids) -> change.applyTo(ids)));
+        }
+
+        private static <K> void diff(Set<K> before, Set<K> after, int id, Map<K, PostingChange> changes) {
+            for (K key : after) {
+                if (!before.contains(key)) {
+                    changes.computeIfAbsent(key, k -> new PostingChange()).added.add(id);
+                }
+            }
+            for (K key : before) {
+                if (!after.contains(key)) {
+                    changes.computeIfAbsent(key, k -> new PostingChange()).removed.add(id);
+                }
+            }
+        }
+
+        /**
+         * Candidats avant vérification du texte: trigrammes à partir de 3 caractères,
+         * préfixe de mot en dessous
+         */
+        int[] candidates(String query) {
+            return query.length() >= 3 ? trigramCandidates(query) : wordPrefixCandidates(query);
+        }
+
+        /**
+         * IDs contenant TOUS les trigrammes de la requête (en commençant par la liste la plus courte)
+         */
+        int[] trigramCandidates(String query) {
+            long[] queryTrigrams = Arrays.stream(TextNormalizer.trigrams(query)).distinct().toArray();
+            int[][] postings = new int[queryTrigrams.length][];
+            for (int i = 0; i < queryTrigrams.length; i++) {
+                postings[i] = trigrams.get(queryTrigrams[i]);
+                if (postings[i] == null) {
+                    return EMPTY;
+                }
+            }
+            Arrays.sort(postings, Comparator.comparingInt(ids -> ids.length));
+            int[] candidates = postings[0];
+            for (int i = 1; i < postings.length && candidates.length > 0; i++) {
+                candidates = intersect(candidates, postings[i]);
+            }
+            return candidates;
+        }
+
+        /**
+         * IDs ayant au moins un mot qui commence par la requête
+         */
+        int[] wordPrefixCandidates(String prefix) {
+            Collection<int[]> matches = words.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+            BitSet ids = new BitSet();
+            for (int[] posting : matches) {
+                for (int id : posting) {
+                    ids.set(id);
+                }
+            }
+            return ids.stream().toArray();
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Listes triées d'IDs (int[] immuables, remplacées à chaque événement)
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /**
+     * IDs ajoutés et retirés d'une liste pendant un événement
+     */
+    private static final class PostingChange {
+
+        private final IntBuffer added = new IntBuffer();
+        private final IntBuffer removed = new IntBuffer();
+
+        /**
+         * Fusion linéaire: (liste actuelle - retirés) ∪ ajoutés
+         *
+         * @return la nouvelle liste, ou null si elle devient vide (l'entrée est alors supprimée)
+         */
+        int[] applyTo(int[] ids) {
+            int[] current = ids == null ? EMPTY : ids;
+            int[] adds = added.sorted();
+            int[] removes = removed.sorted();
+            int[] result = new int[current.length + adds.length];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            int r = 0;
+            while (i < current.length || j < adds.length) {
+                int next;
+                if (j >= adds.length || (i < current.length && current[i] < adds[j])) {
+                    next = current[i++];
+                    while (r < removes.length && removes[r] < next) {
+                        r++;
+                    }
+                    if (r < removes.length && removes[r] == next) {
+                        continue;
+                    }
+                } else {
+                    next = adds[j++];
+                }
+                if (count == 0 || result[count - 1] != next) {
+                    result[count++] = next;
+                }
+            }
+            if (count == 0) {
+                return null;
+            }
+            return count == result.length ? result : Arrays.copyOf(result, count);
+        }
+    }
+
+    /**
+     * Liste d'int extensible (sans "boxing" en Integer)
+     */
+    private static final class IntBuffer {
+
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] sorted() {
+            int[] result = Arrays.copyOf(values, size);
+            Arrays.sort(result);
+            return result;
+        }
+    }
+
+    /**
+     * Intersection de deux listes triées: recherche dichotomique si l'une est
+     * beaucoup plus courte, sinon fusion linéaire
+     */
+    private static int[] intersect(int[] small, int[] large) {
+        int[] result = new int[Math.min(small.length, large.length)];
+        int count = 0;
+        if (small.length * 16 < large.length) {
+            int from = 0;
+            for (int id : small) {
+                int position = Arrays.binarySearch(large, from, large.length, id);
+                if (position >= 0) {
+                    result[count++] = id;
+                    from = position + 1;
+                } else {
+                    from = -position - 1;
+                }
+            }
+        } else {
+            int i = 0;
+            int j = 0;
+            while (i < small.length && j < large.length) {
+                if (small[i] < large[j]) {
+                    i++;
+                } else if (small[i] > large[j]) {
+                    j++;
+                } else {
+                    result[count++] = small[i];
+                    i++;
+                    j++;
+                }
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+}
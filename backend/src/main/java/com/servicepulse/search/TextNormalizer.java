@@ -0,0 +1,66 @@
+package com.servicepulse.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * 🎓 NORMALISATION DU TEXTE - Recherche insensible à la casse et aux accents
+ * 
+ * "Base de Données" → "base de donnees"
+ * 
+ * Analogie JavaScript:
+ *   text.normalize('NFD').replace(/\p{M}/gu, '').toLowerCase()
+ * 
+ * NFD sépare chaque lettre accentuée en "lettre + accent", puis on supprime
+ * les accents (catégorie Unicode "Mark").
+ */
+final class TextNormalizer {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private TextNormalizer() {
+    }
+
+    static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Mots d'un texte déjà normalisé (pour l'autocomplétion par préfixe)
+     */
+    static List<String> words(String normalized) {
+        List<String> words = new ArrayList<>();
+        for (String word : NON_WORD.split(normalized)) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Trigrammes d'un texte normalisé, chacun codé dans un long (3 × 16 bits)
+     * "cache" → "cac", "ach", "che"
+     */
+    static long[] trigrams(String normalized) {
+        int count = Math.max(0, normalized.length() - 2);
+        long[] trigrams = new long[count];
+        for (int i = 0; i < count; i++) {
+            trigrams[i] = trigram(normalized.charAt(i), normalized.charAt(i + 1), normalized.charAt(i + 2));
+        }
+        return trigrams;
+    }
+
+    private static long trigram(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+
+}
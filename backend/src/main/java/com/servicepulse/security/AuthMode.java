@@ -0,0 +1,15 @@
+package com.servicepulse.security;
+
+/**
+ * 🎓 MODE D'AUTHENTIFICATION DES REQUÊTES (application.security.auth-mode)
+ * 
+ * - DATABASE: l'utilisateur et ses rôles sont relus en base (une fois par token,
+ *   grâce à VerifiedTokenCache).
+ * - CLAIMS: l'Authentication est construite uniquement à partir des claims signées
+ *   du token (roles, fullName). La base n'est plus consultée par requête; la
+ *   révocation passe par l'"époque" de token de l'utilisateur (TokenEpochs).
+ */
+public enum AuthMode {
+    DATABASE,
+    CLAIMS
+}
@@ -1,11 +1,15 @@
 package com.servicepulse.security;
 
 import com.servicepulse.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -17,6 +21,9 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -34,13 +41,63 @@ import java.util.stream.Collectors;
  *       }
  *       next();
  *   });
+ * 
+ * Un token déjà vu est servi par VerifiedTokenCache: la signature n'est vérifiée
+ * et l'utilisateur chargé qu'une fois par token.
+ * 
+ * Métrique jwt.filter (hors requêtes sans token), tag outcome:
+ *   cached   = servi par le cache
+ *   verified = signature vérifiée puis mis en cache
+ *   rejected = token valide mais utilisateur absent, désactivé ou révoqué
+ *   invalid  = signature / expiration / format refusés
  */
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserRepository userRepository;
+    private final VerifiedTokenCache tokenCache;
+    private final TokenEpochs tokenEpochs;
+
+    /*
+     * Timers créés une fois: le chemin d'une requête ne fait qu'un record()
+     */
+    private final Timer cachedTimer;
+    private final Timer verifiedTimer;
+    private final Timer rejectedTimer;
+    private final Timer invalidTimer;
+    private final Timer userLookupTimer;
+
+    public JwtAuthenticationFilter(JwtService jwtService, UserRepository userRepository,
+                                   VerifiedTokenCache tokenCache, TokenEpochs tokenEpochs,
+                                   MeterRegistry meterRegistry) {
+        this.jwtService = jwtService;
+        this.userRepository = userRepository;
+        this.tokenCache = tokenCache;
+        this.tokenEpochs = tokenEpochs;
+        this.cachedTimer = filterTimer(meterRegistry, "cached");
+        this.verifiedTimer = filterTimer(meterRegistry, "verified");
+        this.rejectedTimer = filterTimer(meterRegistry, "rejected");
+        this.invalidTimer = filterTimer(meterRegistry, "invalid");
+        this.userLookupTimer = Timer.builder("jwt.filter.user.lookup")
+                .description("Chargement de l'utilisateur en base (auth-mode=database, cache manqué)")
+                .register(meterRegistry);
+    }
+
+    private static Timer filterTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("jwt.filter")
+                .description("Authentification d'une requête portant un token")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Attribut de requête contenant les claims du token authentifié
+     */
+    public static final String CLAIMS_ATTRIBUTE = "com.servicepulse.security.JwtAuthenticationFilter.claims";
+
+    @Value("${application.security.auth-mode}")
+    private AuthMode authMode;
 
     @Override
     protected void doFilterInternal(
@@ -60,45 +117,125 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         // Extraire le token (enlever "Bearer ")
         final String jwt = authHeader.substring(7);
-        final String username = jwtService.extractUsername(jwt);
-
-        // Si username extrait et utilisateur pas déjà authentifié
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            
-            // Charger l'utilisateur depuis la base
-            userRepository.findByUsername(username).ifPresent(user -> {
-                
-                // Vérifier si le token est valide
-                if (jwtService.isTokenValid(jwt, username)) {
-                    
+
+        long start = System.nanoTime();
+
+        // Token déjà vérifié: ni HMAC ni base de données
+        VerifiedTokenCache.Key key = tokenCache.keyOf(jwt);
+        VerifiedTokenCache.CachedPrincipal principal = tokenCache.get(key);
+        Timer outcome = cachedTimer;
+        if (principal == null) {
+            try {
+                principal = loadPrincipal(jwt, key);
+            } catch (JwtException | IllegalArgumentException e) {
+                invalidTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                throw e;
+            }
+            outcome = verifiedTimer;
+        }
+
+        // Mode claims: révocation contrôlée à chaque requête (simple lecture d'une Map)
+        if (principal != null && authMode == AuthMode.CLAIMS && !isEpochCurrent(principal.claims())) {
+            principal = null;
+        }
+        (principal != null ? outcome : rejectedTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        // Si utilisateur trouvé et pas déjà authentifié
+        if (principal != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = principal.userDetails();
+
+            // Créer le token d'authentification
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    userDetails,
+                    null,
+                    userDetails.getAuthorities()
+            );
+
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+            // Définir l'authentification dans le contexte
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+            request.setAttribute(CLAIMS_ATTRIBUTE, principal.claims());
+        }
+        
+        // Continuer la chaîne de filtres
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Vérifie le token (une seule fois), charge l'utilisateur et met le résultat en cache
+     * 
+     * @return null si l'utilisateur n'existe pas ou est désactivé
+     */
+    private VerifiedTokenCache.CachedPrincipal loadPrincipal(String jwt, VerifiedTokenCache.Key key) {
+        // Lue AVANT la base: une modification de l'utilisateur pendant le chargement annule la mise en cache
+        long generation = tokenCache.generation();
+        Claims claims = jwtService.parseClaims(jwt);
+        String username = claims.getSubject();
+        if (username == null || !jwtService.isTokenValid(claims, username)) {
+            return null;
+        }
+
+        if (authMode == AuthMode.CLAIMS) {
+            return principalFromClaims(claims, key, generation);
+        }
+
+        // Charger l'utilisateur depuis la base
+        long lookupStart = System.nanoTime();
+        Optional<com.servicepulse.model.User> found = userRepository.findByUsername(username);
+        userLookupTimer.record(System.nanoTime() - lookupStart, TimeUnit.NANOSECONDS);
+        return found
+                .filter(com.servicepulse.model.User::isEnabled)
+                .map(user -> {
                     // Créer les autorités (rôles)
                     var authorities = user.getRoles().stream()
                             .map(SimpleGrantedAuthority::new)
                             .collect(Collectors.toList());
-                    
-                    // Créer UserDetails
+
+                    // Créer UserDetails (sans le hash du mot de passe: inutile ici et gardé en cache)
                     UserDetails userDetails = User.builder()
                             .username(user.getUsername())
-                            .password(user.getPassword())
+                            .password("")
                             .authorities(authorities)
                             .build();
-                    
-                    // Créer le token d'authentification
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
-                    );
-                    
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    
-                    // Définir l'authentification dans le contexte
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
-            });
+
+                    var principal = new VerifiedTokenCache.CachedPrincipal(
+                            user.getId(), userDetails, claims, claims.getExpiration().getTime());
+                    tokenCache.put(key, principal, generation);
+                    return principal;
+                })
+                .orElse(null);
+    }
+
+    /**
+     * Mode claims: l'utilisateur est décrit par le token signé, sans base de données
+     */
+    private VerifiedTokenCache.CachedPrincipal principalFromClaims(
+            Claims claims, VerifiedTokenCache.Key key, long generation) {
+        if (!isEpochCurrent(claims)) {
+            return null;
         }
-        
-        // Continuer la chaîne de filtres
-        filterChain.doFilter(request, response);
+        List<?> roles = claims.get(JwtService.CLAIM_ROLES, List.class);
+        var authorities = roles == null ? List.<SimpleGrantedAuthority>of() : roles.stream()
+                .map(role -> new SimpleGrantedAuthority(String.valueOf(role)))
+                .collect(Collectors.toList());
+
+        UserDetails userDetails = User.builder()
+                .username(claims.getSubject())
+                .password("")
+                .authorities(authorities)
+                .build();
+
+        var principal = new VerifiedTokenCache.CachedPrincipal(
+                claims.get(JwtService.CLAIM_USER_ID, Long.class), userDetails, claims,
+                claims.getExpiration().getTime());
+        tokenCache.put(key, principal, generation);
+        return principal;
+    }
+
+    private boolean isEpochCurrent(Claims claims) {
+        return tokenEpochs.isCurrent(
+                claims.get(JwtService.CLAIM_USER_ID, Long.class),
+                claims.get(JwtService.CLAIM_TOKEN_EPOCH, Long.class));
     }
 }
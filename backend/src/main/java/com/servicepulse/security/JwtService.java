@@ -1,10 +1,16 @@
 package com.servicepulse.security;
 
+import com.servicepulse.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -12,6 +18,7 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 /**
@@ -27,12 +34,58 @@ import java.util.function.Function;
 @Service
 public class JwtService {
 
+    /*
+     * Claims ajoutées à la connexion (lues par le filtre en mode auth-mode=claims)
+     */
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_TOKEN_EPOCH = "epoch";
+    public static final String CLAIM_ROLES = "roles";
+    public static final String CLAIM_FULL_NAME = "fullName";
+
     @Value("${application.security.jwt.secret-key}")
     private String secretKey;
 
     @Value("${application.security.jwt.expiration}")
     private long jwtExpiration;
 
+    /*
+     * Clé et parser construits UNE fois: décoder la clé Base64 et reconstruire
+     * le parser à chaque extraction coûtait plus cher que la vérification HMAC.
+     * Le parser construit est immuable et thread-safe.
+     */
+    private Key signInKey;
+    private JwtParser parser;
+
+    /*
+     * Timers créés une fois (jwt.parse / jwt.sign): un appel ne fait qu'un record()
+     */
+    private final Timer parseValidTimer;
+    private final Timer parseInvalidTimer;
+    private final Timer signTimer;
+
+    public JwtService(MeterRegistry meterRegistry) {
+        this.parseValidTimer = Timer.builder("jwt.parse")
+                .description("Vérification de signature et lecture des claims")
+                .tag("outcome", "valid")
+                .register(meterRegistry);
+        this.parseInvalidTimer = Timer.builder("jwt.parse")
+                .description("Vérification de signature et lecture des claims")
+                .tag("outcome", "invalid")
+                .register(meterRegistry);
+        this.signTimer = Timer.builder("jwt.sign")
+                .description("Création et signature d'un token")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void init() {
+        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
+        signInKey = Keys.hmacShaKeyFor(keyBytes);
+        parser = Jwts.parser()
+                .setSigningKey(signInKey)
+                .build();
+    }
+
     /**
      * Extrait le username du token JWT
      */
@@ -44,10 +97,28 @@ public class JwtService {
      * Extrait une claim spécifique du token
      */
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parseClaims(token);
         return claimsResolver.apply(claims);
     }
 
+    /**
+     * Vérifie la signature et l'expiration, puis retourne toutes les claims
+     * (une seule vérification HMAC, à réutiliser plutôt que d'extraire claim par claim)
+     * 
+     * @throws io.jsonwebtoken.JwtException si le token est invalide ou expiré
+     */
+    public Claims parseClaims(String token) {
+        long start = System.nanoTime();
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            parseValidTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return claims;
+        } catch (JwtException | IllegalArgumentException e) {
+            parseInvalidTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
     /**
      * Génère un token JWT pour un utilisateur
      */
@@ -55,6 +126,19 @@ public class JwtService {
         return buildToken(extraClaims, username, jwtExpiration);
     }
 
+    /**
+     * Génère le token de session d'un utilisateur: rôles, époque de révocation et
+     * nom complet inclus (le mode claims n'a plus besoin de relire l'utilisateur)
+     */
+    public String generateToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USER_ID, user.getId());
+        claims.put(CLAIM_TOKEN_EPOCH, user.getTokenEpoch());
+        claims.put(CLAIM_ROLES, user.getRoles());
+        claims.put(CLAIM_FULL_NAME, user.getFullName());
+        return generateToken(user.getUsername(), claims);
+    }
+
     /**
      * Génère un token sans claims supplémentaires
      */
@@ -70,54 +154,37 @@ public class JwtService {
             String username,
             long expiration
     ) {
-        return Jwts
+        long start = System.nanoTime();
+        String token = Jwts
                 .builder()
                 .setClaims(extraClaims)
                 .setSubject(username)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
+        signTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return token;
     }
 
     /**
      * Vérifie si le token est valide
      */
     public boolean isTokenValid(String token, String username) {
-        final String tokenUsername = extractUsername(token);
-        return (tokenUsername.equals(username)) && !isTokenExpired(token);
+        return isTokenValid(parseClaims(token), username);
     }
 
     /**
-     * Vérifie si le token est expiré
+     * Vérifie des claims déjà extraites (signature déjà contrôlée par parseClaims)
      */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean isTokenValid(Claims claims, String username) {
+        return username.equals(claims.getSubject()) && !isTokenExpired(claims);
     }
 
     /**
-     * Extrait la date d'expiration
-     */
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    /**
-     * Extrait toutes les claims du token
-     */
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    /**
-     * Obtient la clé de signature
+     * Vérifie si le token est expiré
      */
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 }
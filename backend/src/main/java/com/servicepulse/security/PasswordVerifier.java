@@ -0,0 +1,162 @@
+package com.servicepulse.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 🎓 VÉRIFICATION DES MOTS DE PASSE SUR UN POOL DÉDIÉ
+ *
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 POURQUOI ?
+ * ═══════════════════════════════════════════════════════════════════════════════
+ *
+ * BCrypt est VOLONTAIREMENT lent (dizaines de ms de calcul pur par vérification).
+ * Exécuté sur les threads Tomcat, un afflux de connexions (changement d'équipe,
+ * attaque par "credential stuffing") occupait tous les threads: les pages de
+ * statut publiques ne répondaient plus.
+ *
+ * Ici les hashs tournent sur quelques threads à part, devant une file bornée:
+ *   - les autres endpoints gardent leurs threads;
+ *   - attente prévue trop longue → RejectedExecutionException immédiate
+ *     (le contrôleur répond 429) au lieu d'une attente sans fin.
+ *
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 DIMENSIONNEMENT
+ * ═══════════════════════════════════════════════════════════════════════════════
+ *
+ * - Threads: par défaut la moitié des cœurs (au moins 1). Un nombre fixe (2)
+ *   occupait TOUS les cœurs d'une petite machine pendant une rafale de
+ *   connexions: les lectures attendaient le CPU.
+ * - File: bornée par l'attente prévue, pas par un nombre fixe de places.
+ *   attente ≈ (vérifications en cours + en file) × durée moyenne d'un hash / threads
+ *   Au-delà de "max-queue-wait" → 429. La durée moyenne est mesurée en continu
+ *   (moyenne glissante): la borne suit le coût réel de BCrypt sur la machine.
+ *
+ * Analogie JavaScript (Node):
+ *   const pool = new Piscina({ maxThreads: Math.max(1, os.cpus().length / 2) });
+ *   if (pool.queueSize * avgHashMs / pool.threads > maxWaitMs) return res.status(429);
+ *   const ok = await pool.run({ password, hash });               // hors event loop
+ *
+ * Métriques (/actuator/metrics): auth.password.queue.wait, auth.password.hash,
+ * auth.password.rejected, auth.password.queue.depth
+ */
+@Component
+public class PasswordVerifier {
+
+    /** Estimation avant la première mesure: BCrypt coût 10 ≈ 50 à 100 ms */
+    private static final long INITIAL_HASH_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    /** Poids d'une nouvelle mesure dans la moyenne glissante (1/8) */
+    private static final int AVERAGE_SHIFT = 3;
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final int threads;
+    private final long maxQueueWaitNanos;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong averageHashNanos = new AtomicLong(INITIAL_HASH_NANOS);
+
+    private final Timer queueWait;
+    private final Timer hashTime;
+    private final Counter rejected;
+
+    public PasswordVerifier(PasswordEncoder passwordEncoder,
+                            MeterRegistry meterRegistry,
+                            @Value("${application.security.password-hashing.threads}") int threads,
+                            @Value("${application.security.password-hashing.max-queue-wait}") long maxQueueWaitMillis) {
+        this.passwordEncoder = passwordEncoder;
+        this.threads = threads > 0 ? threads : defaultThreads(Runtime.getRuntime().availableProcessors());
+        this.maxQueueWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxQueueWaitMillis);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        // File non bornée: c'est l'admission (attente prévue) qui la borne
+        this.executor = new ThreadPoolExecutor(this.threads, this.threads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.queueWait = Timer.builder("auth.password.queue.wait")
+                .description("Attente dans la file avant le calcul du hash")
+                .register(meterRegistry);
+        this.hashTime = Timer.builder("auth.password.hash")
+                .description("Durée d'une vérification BCrypt")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("auth.password.rejected")
+                .description("Vérifications refusées car l'attente prévue dépassait max-queue-wait")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Vérifications en attente")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Threads par défaut: la moitié des cœurs, au moins 1
+     */
+    static int defaultThreads(int processors) {
+        return Math.max(1, processors / 2);
+    }
+
+    /**
+     * Compare le mot de passe au hash sur le pool dédié
+     *
+     * @throws RejectedExecutionException immédiatement si l'attente prévue dépasse "max-queue-wait"
+     */
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        long submittedAt = System.nanoTime();
+        int ahead = pending.getAndIncrement();
+        // Vérifications devant celle-ci, réparties sur les threads
+        if (ahead >= threads && (ahead / threads) * averageHashNanos.get() > maxQueueWaitNanos) {
+            pending.decrementAndGet();
+            rejected.increment();
+            throw new RejectedExecutionException("Attente prévue supérieure à "
+                    + TimeUnit.NANOSECONDS.toMillis(maxQueueWaitNanos) + " ms");
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long startedAt = System.nanoTime();
+                queueWait.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return passwordEncoder.matches(rawPassword, encodedPassword);
+                } finally {
+                    long hashNanos = System.nanoTime() - startedAt;
+                    hashTime.record(hashNanos, TimeUnit.NANOSECONDS);
+                    averageHashNanos.accumulateAndGet(hashNanos,
+                            (average, sample) -> average + ((sample - average) >> AVERAGE_SHIFT));
+                    pending.decrementAndGet();
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            // Arrêt en cours
+            pending.decrementAndGet();
+            rejected.increment();
+            throw e;
+        }
+    }
+
+    int getThreads() {
+        return threads;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+}
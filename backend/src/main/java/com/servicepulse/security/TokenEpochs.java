@@ -0,0 +1,74 @@
+package com.servicepulse.security;
+
+import com.servicepulse.event.UserChangeEvent;
+import com.servicepulse.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 🎓 ÉPOQUES DE TOKENS - Révocation sans relire l'utilisateur à chaque requête
+ *
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 PRINCIPE
+ * ═══════════════════════════════════════════════════════════════════════════════
+ *
+ * Un JWT est valide jusqu'à son "exp", même si l'utilisateur est désactivé entre-temps.
+ * Chaque utilisateur a donc un compteur (User.tokenEpoch) recopié dans ses tokens
+ * à la connexion. Toute modification de l'utilisateur l'incrémente: les anciens
+ * tokens ne correspondent plus et sont refusés.
+ *
+ * Analogie JavaScript:
+ *   const epochs = new Map();                  // userId → époque courante
+ *   const valid = (claims) => epochs.get(claims.uid) === claims.epoch;
+ *
+ * La Map ne contient que les utilisateurs vus depuis le démarrage: chacun est lu
+ * en base UNE fois, puis tenu à jour par le UserChangeEvent (après le commit).
+ * Le compteur étant persistant, un redémarrage ne réactive aucun token révoqué.
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenEpochs {
+
+    /**
+     * Époque d'un utilisateur désactivé ou inconnu: aucun token ne correspond
+     */
+    private static final long REVOKED = -1;
+
+    private final UserRepository userRepository;
+
+    private final Map<Long, Long> epochs = new ConcurrentHashMap<>();
+
+    /**
+     * @return true si le token (uid, epoch) a été émis depuis la dernière modification de l'utilisateur
+     */
+    public boolean isCurrent(Long userId, Long tokenEpoch) {
+        if (userId == null || tokenEpoch == null) {
+            return false;
+        }
+        Long current = epochs.get(userId);
+        if (current == null) {
+            current = load(userId);
+        }
+        return current != REVOKED && current.equals(tokenEpoch);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangeEvent event) {
+        epochs.put(event.getUserId(), event.isActive() ? event.getTokenEpoch() : REVOKED);
+    }
+
+    private long load(Long userId) {
+        long epoch = userRepository.findById(userId)
+                .map(user -> user.isEnabled() ? user.getTokenEpoch() : REVOKED)
+                .orElse(REVOKED);
+        // Un événement arrivé pendant la lecture est plus récent: il garde la priorité
+        Long previous = epochs.putIfAbsent(userId, epoch);
+        return previous != null ? previous : epoch;
+    }
+
+}
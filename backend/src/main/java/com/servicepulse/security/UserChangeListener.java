@@ -0,0 +1,38 @@
+package com.servicepulse.security;
+
+import com.servicepulse.event.UserChangeEvent;
+import com.servicepulse.model.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * 🎓 ENTITY LISTENER JPA - Signale toute modification d'un User
+ * 
+ * Déclaré sur l'entité avec @EntityListeners: Hibernate l'appelle après chaque
+ * UPDATE (désactivation, changement de rôles...) ou DELETE, quel que soit le
+ * code qui a modifié l'utilisateur. Spring Boot fournit ses beans à Hibernate,
+ * d'où l'injection par constructeur.
+ * 
+ * Analogie JavaScript (Mongoose):
+ *   userSchema.post('save', (user) => emitter.emit('user:changed', user.id));
+ */
+@Component
+@RequiredArgsConstructor
+public class UserChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostUpdate
+    void onUserUpdated(User user) {
+        eventPublisher.publishEvent(new UserChangeEvent(user.getId(), user.getTokenEpoch(), user.isEnabled()));
+    }
+
+    @PostRemove
+    void onUserRemoved(User user) {
+        eventPublisher.publishEvent(new UserChangeEvent(user.getId(), user.getTokenEpoch(), false));
+    }
+
+}
@@ -0,0 +1,155 @@
+package com.servicepulse.security;
+
+import com.servicepulse.event.UserChangeEvent;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 🎓 CACHE DES TOKENS DÉJÀ VÉRIFIÉS
+ *
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 POURQUOI ?
+ * ═══════════════════════════════════════════════════════════════════════════════
+ *
+ * Un client envoie le MÊME token à chaque requête pendant 24 h. Sans cache, chaque
+ * requête revérifiait la signature HMAC et rechargeait l'utilisateur (et ses rôles)
+ * depuis la base. Ici: une vérification et une requête SQL par token, puis
+ * uniquement une recherche dans une Map.
+ *
+ * Analogie JavaScript:
+ *   const verified = new Map();              // sha256(token) → { user, claims, exp }
+ *   let entry = verified.get(sha256(token));
+ *   if (!entry || entry.exp <= Date.now()) {
+ *       entry = { claims: jwt.verify(token, secret), user: await User.findOne(...) };
+ *       verified.set(sha256(token), entry);
+ *   }
+ *
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 RÈGLES
+ * ═══════════════════════════════════════════════════════════════════════════════
+ *
+ * - Clé = SHA-256 du token: taille fixe, et le token lui-même ne reste pas en mémoire.
+ * - Une entrée expire à la date "exp" du token: ensuite le filtre refait la
+ *   vérification complète (qui rejette le token expiré).
+ * - Taille bornée: une fois plein, on retire les entrées expirées puis des entrées
+ *   arbitraires (éviction aléatoire, sans verrou global).
+ * - Un UserChangeEvent (désactivation, rôles modifiés, suppression) retire après
+ *   le commit toutes les entrées de l'utilisateur. Un compteur de "génération"
+ *   empêche une requête concurrente de réinsérer l'utilisateur lu AVANT le commit.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    @Value("${application.security.token-cache.max-size}")
+    private int maxSize;
+
+    private final Map<Key, CachedPrincipal> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Utilisateur authentifié par un token, avec les claims déjà vérifiées
+     *
+     * @param expiresAt date "exp" du token (epoch millis)
+     */
+    public record CachedPrincipal(Long userId, UserDetails userDetails, Claims claims, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return expiresAt <= now;
+        }
+    }
+
+    /**
+     * SHA-256 du token découpé en 4 long (equals/hashCode sans tableau)
+     */
+    public record Key(long h0, long h1, long h2, long h3) {
+    }
+
+    public Key keyOf(String token) {
+        ByteBuffer digest = ByteBuffer.wrap(sha256().digest(token.getBytes(StandardCharsets.US_ASCII)));
+        return new Key(digest.getLong(), digest.getLong(), digest.getLong(), digest.getLong());
+    }
+
+    /**
+     * @return l'entrée encore valide, ou null (absente ou expirée)
+     */
+    public CachedPrincipal get(Key key) {
+        CachedPrincipal cached = entries.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.isExpired(System.currentTimeMillis())) {
+            entries.remove(key, cached);
+            return null;
+        }
+        return cached;
+    }
+
+    /**
+     * Génération courante, à lire AVANT de charger l'utilisateur puis à passer à put()
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Ajoute une entrée, sauf si un utilisateur a été modifié depuis observedGeneration
+     */
+    public void put(Key key, CachedPrincipal principal, long observedGeneration) {
+        if (maxSize <= 0) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            makeRoom();
+        }
+        entries.put(key, principal);
+        // Éviction passée entre le chargement et l'insertion: la donnée est peut-être périmée
+        if (generation.get() != observedGeneration) {
+            entries.remove(key, principal);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangeEvent event) {
+        generation.incrementAndGet();
+        entries.values().removeIf(cached -> cached.userId().equals(event.getUserId()));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void makeRoom() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(cached -> cached.isExpired(now));
+        // 10 % de marge: le balayage ne se répète pas à chaque insertion
+        int target = maxSize - Math.max(1, maxSize / 10);
+        // Ordre d'itération d'une ConcurrentHashMap = ordre des hash: éviction aléatoire
+        Iterator<CachedPrincipal> iterator = entries.values().iterator();
+        while (entries.size() > target && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+
+}
@@ -1,14 +1,38 @@
 package com.servicepulse.service;
 
+import com.servicepulse.dto.BulkStatusUpdateResponse;
+import com.servicepulse.dto.ServiceChangesResponse;
+import com.servicepulse.dto.ServicePage;
+import com.servicepulse.dto.ServiceSummary;
+import com.servicepulse.dto.ServiceUptime;
+import com.servicepulse.dto.SlaReport;
+import com.servicepulse.dto.StatusTransition;
+import com.servicepulse.dto.StatusUpdateItem;
+import com.servicepulse.dto.StatusUpdateResult;
+import com.servicepulse.dto.StatusUpdateResult.Outcome;
+import com.servicepulse.event.ServiceChangeEvent;
+import com.servicepulse.event.ServiceChangeEvent.ServiceChange;
+import com.servicepulse.history.StatusHistory;
+import com.servicepulse.history.UptimeRollups;
+import com.servicepulse.metrics.TimedComponent;
 import com.servicepulse.model.ApplicationService;
+import com.servicepulse.model.ProbeDefinition;
 import com.servicepulse.model.ServiceStatus;
-import com.servicepulse.repository.ApplicationServiceRepository;
+import com.servicepulse.repository.ServiceStore;
+import com.servicepulse.repository.ServiceCursor;
+import com.servicepulse.repository.ServiceSort;
+import com.servicepulse.search.ServiceSearchIndex;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.Optional;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * 🎓 SERVICE - Couche de logique métier
@@ -43,31 +67,125 @@ import java.util.Optional;
  * 
  * @Transactional = Gère les transactions de base de données
  *                  Si une erreur survient, toutes les modifications sont annulées (rollback)
+ * 
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 LECTURES EN MÉMOIRE / ÉCRITURES EN BASE
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 
+ * Les lectures publiques sont servies par le ServiceSnapshotStore (aucune
+ * requête SQL). Chaque écriture publie un ServiceChangeEvent: le snapshot
+ * est remplacé une fois la transaction validée.
  */
 @Service
+@TimedComponent("servicepulse.service")
 @RequiredArgsConstructor
 public class ApplicationServiceService {
 
+    /** Taille de page par défaut et maximale pour la pagination par curseur */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    /** Nombre maximal d'éléments dans une mise à jour de statut groupée */
+    public static final int MAX_BULK_STATUS_UPDATES = 1000;
+
+    /** Nombre de suggestions par défaut et maximal pour l'autocomplétion */
+    public static final int DEFAULT_SUGGESTIONS = 10;
+    public static final int MAX_SUGGESTIONS = 50;
+
     /*
      * 🎓 INJECTION DE DÉPENDANCES
      * 
      * En JavaScript, tu ferais :
-     *   const repository = require('./repository');
+     *   const store = require('./store');
      * 
      * En Spring, on utilise l'injection de dépendances.
      * Le mot-clé "final" + @RequiredArgsConstructor fait que Spring
-     * injecte automatiquement le repository au démarrage.
+     * injecte automatiquement le moteur de stockage au démarrage
+     * (JPA ou journalisé, voir ServiceStore).
      * 
      * C'est comme si Spring faisait automatiquement :
-     *   new ApplicationServiceService(applicationServiceRepository)
+     *   new ApplicationServiceService(serviceStore, ...)
+     */
+    private final ServiceStore store;
+    private final ServiceSnapshotStore snapshotStore;
+    private final ServiceSearchIndex searchIndex;
+    private final StatusHistory statusHistory;
+    private final UptimeRollups uptimeRollups;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Snapshot courant du catalogue (lecture sans verrou, sans base de données)
      */
-    private final ApplicationServiceRepository repository;
+    public ServiceSnapshot getSnapshot() {
+        return snapshotStore.current();
+    }
 
     /**
      * Récupère tous les services applicatifs
      */
     public List<ApplicationService> getAllServices() {
-        return repository.findAll();
+        return snapshotStore.current().getServices();
+    }
+
+    /**
+     * Changements depuis une version (synchronisation incrémentale)
+     * 
+     * Si "since" est absent, trop ancien (antérieur au dernier chargement
+     * complet ou aux suppressions retenues) ou inconnu, on renvoie la liste
+     * complète avec resync = true.
+     */
+    public ServiceChangesResponse getChangesSince(Long since) {
+        ServiceSnapshot snapshot = snapshotStore.current();
+        if (since == null || !snapshot.coversChangesSince(since)) {
+            return ServiceChangesResponse.builder()
+                    .version(snapshot.getVersion())
+                    .resync(true)
+                    .upserts(snapshot.getServices())
+                    .deletes(List.of())
+                    .build();
+        }
+        return ServiceChangesResponse.builder()
+                .version(snapshot.getVersion())
+                .resync(false)
+                .upserts(snapshot.upsertedSince(since))
+                .deletes(snapshot.deletedSince(since))
+                .build();
+    }
+
+    /**
+     * Chronologie des changements de statut d'un service
+     * 
+     * @throws IllegalArgumentException si la période est inversée
+     */
+    public List<StatusTransition> getStatusHistory(Long id, LocalDateTime from, LocalDateTime to) {
+        return statusHistory.timeline(id, from, to);
+    }
+
+    /**
+     * Statut de tous les services à un instant passé
+     */
+    public List<StatusTransition> getStatusAt(LocalDateTime instant) {
+        return statusHistory.statusAt(instant);
+    }
+
+    /**
+     * Disponibilité d'un service sur une fenêtre ("30d", "24h"...)
+     * 
+     * @return vide si le service n'existe pas
+     * @throws IllegalArgumentException si la fenêtre est invalide
+     */
+    public Optional<ServiceUptime> getUptime(Long id, String window) {
+        return snapshotStore.current().findById(id)
+                .flatMap(service -> uptimeRollups.uptime(service, window));
+    }
+
+    /**
+     * Rapport SLA de tous les services
+     * 
+     * @throws IllegalArgumentException si la fenêtre ou l'objectif sont invalides
+     */
+    public SlaReport getSlaReport(String window, Double target) {
+        return uptimeRollups.sla(snapshotStore.current(), window, target);
     }
 
     /**
@@ -77,21 +195,21 @@ public class ApplicationServiceService {
      * @return Optional contenant le service ou vide si non trouvé
      */
     public Optional<ApplicationService> getServiceById(Long id) {
-        return repository.findById(id);
+        return snapshotStore.current().findById(id);
     }
 
     /**
      * Récupère un service par son nom
      */
     public Optional<ApplicationService> getServiceByName(String name) {
-        return repository.findByName(name);
+        return store.findByName(name);
     }
 
     /**
      * Récupère les services filtrés par statut
      */
     public List<ApplicationService> getServicesByStatus(ServiceStatus status) {
-        return repository.findByStatus(status);
+        return snapshotStore.current().getByStatus(status);
     }
 
     /**
@@ -99,7 +217,7 @@ public class ApplicationServiceService {
      * (utile pour le dashboard d'alertes)
      */
     public List<ApplicationService> getNonOperationalServices() {
-        return repository.findByStatusNot(ServiceStatus.OPERATIONAL);
+        return snapshotStore.current().getNonOperational();
     }
 
     /**
@@ -110,10 +228,13 @@ public class ApplicationServiceService {
     @Transactional
     public ApplicationService createService(ApplicationService service) {
         // Vérifier si un service avec ce nom existe déjà
-        if (repository.existsByName(service.getName())) {
+        if (store.existsByName(service.getName())) {
             throw new IllegalArgumentException("Un service avec ce nom existe déjà: " + service.getName());
         }
-        return repository.save(service);
+        validateProbe(service.getProbe());
+        ApplicationService created = store.save(service);
+        eventPublisher.publishEvent(ServiceChangeEvent.upserted(created));
+        return created;
     }
 
     /**
@@ -121,14 +242,18 @@ public class ApplicationServiceService {
      */
     @Transactional
     public ApplicationService updateService(Long id, ApplicationService updatedService) {
-        return repository.findById(id)
+        validateProbe(updatedService.getProbe());
+        return store.findById(id)
                 .map(existingService -> {
                     // Mettre à jour les champs
                     existingService.setName(updatedService.getName());
                     existingService.setDescription(updatedService.getDescription());
                     existingService.setStatus(updatedService.getStatus());
                     existingService.setMaintenanceMessage(updatedService.getMaintenanceMessage());
-                    return repository.save(existingService);
+                    existingService.setProbe(updatedService.getProbe());
+                    ApplicationService saved = store.save(existingService);
+                    eventPublisher.publishEvent(ServiceChangeEvent.upserted(saved));
+                    return saved;
                 })
                 .orElseThrow(() -> new IllegalArgumentException("Service non trouvé avec l'ID: " + id));
     }
@@ -139,45 +264,258 @@ public class ApplicationServiceService {
      */
     @Transactional
     public ApplicationService updateServiceStatus(Long id, ServiceStatus status, String maintenanceMessage) {
-        return repository.findById(id)
+        return store.findById(id)
                 .map(service -> {
                     service.setStatus(status);
                     service.setMaintenanceMessage(maintenanceMessage);
-                    return repository.save(service);
+                    ApplicationService saved = store.save(service);
+                    eventPublisher.publishEvent(ServiceChangeEvent.upserted(saved));
+                    return saved;
                 })
                 .orElseThrow(() -> new IllegalArgumentException("Service non trouvé avec l'ID: " + id));
     }
 
+    /**
+     * Met à jour le statut de plusieurs services en UNE transaction
+     * 
+     * - Un seul SELECT ... WHERE id IN (...) pour charger les services
+     * - Les UPDATE partent par lots JDBC au commit (hibernate.jdbc.batch_size)
+     * - Un seul ServiceChangeEvent: snapshot, caches, SSE et historique
+     *   sont mis à jour une fois pour tout le lot
+     * 
+     * Un élément invalide (ID inconnu, statut absent, ID en double) est
+     * signalé dans son résultat sans empêcher les autres.
+     * 
+     * @throws IllegalArgumentException si la liste est vide ou trop longue
+     */
+    @Transactional
+    public BulkStatusUpdateResponse updateServiceStatuses(List<StatusUpdateItem> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("La liste des mises à jour est vide");
+        }
+        if (items.size() > MAX_BULK_STATUS_UPDATES) {
+            throw new IllegalArgumentException("Au plus " + MAX_BULK_STATUS_UPDATES + " mises à jour par requête");
+        }
+
+        Set<Long> ids = new HashSet<>();
+        Set<Long> duplicates = new HashSet<>();
+        for (StatusUpdateItem item : items) {
+            if (item.getId() != null && !ids.add(item.getId())) {
+                duplicates.add(item.getId());
+            }
+        }
+        Map<Long, ApplicationService> services = store.findAllById(ids).stream()
+                .collect(Collectors.toMap(ApplicationService::getId, Function.identity()));
+
+        List<StatusUpdateResult> results = new ArrayList<>(items.size());
+        List<ApplicationService> updated = new ArrayList<>();
+        for (StatusUpdateItem item : items) {
+            Long id = item.getId();
+            if (id == null || item.getStatus() == null) {
+                results.add(StatusUpdateResult.failed(id, Outcome.INVALID, "id et status sont obligatoires"));
+            } else if (duplicates.contains(id)) {
+                results.add(StatusUpdateResult.failed(id, Outcome.INVALID, "ID présent plusieurs fois dans la requête"));
+            } else if (!services.containsKey(id)) {
+                results.add(StatusUpdateResult.failed(id, Outcome.NOT_FOUND, "Service non trouvé avec l'ID: " + id));
+            } else {
+                ApplicationService service = services.get(id);
+                service.setStatus(item.getStatus());
+                service.setMaintenanceMessage(item.getMessage());
+                updated.add(service);
+                results.add(StatusUpdateResult.updated(id));
+            }
+        }
+
+        if (!updated.isEmpty()) {
+            // Un seul enregistrement pour tout le lot (JPA: UPDATE par lots au commit)
+            List<ServiceChange> changes = new ArrayList<>(updated.size());
+            for (ApplicationService service : store.saveAll(updated)) {
+                changes.add(ServiceChange.upsert(service));
+            }
+            eventPublisher.publishEvent(new ServiceChangeEvent(changes));
+        }
+        return new BulkStatusUpdateResponse(updated.size(), items.size() - updated.size(), results);
+    }
+
+    /**
+     * Vérifie la cohérence d'une sonde (les bornes sont vérifiées par @Valid)
+     * 
+     * @throws IllegalArgumentException si la sonde n'est ni HTTP ni TCP, ou les deux
+     */
+    private void validateProbe(ProbeDefinition probe) {
+        if (probe == null) {
+            return;
+        }
+        boolean http = probe.getHttpUrl() != null && !probe.getHttpUrl().isBlank();
+        boolean tcp = (probe.getTcpHost() != null && !probe.getTcpHost().isBlank()) || probe.getTcpPort() != null;
+        if (http == tcp) {
+            throw new IllegalArgumentException("Une sonde doit définir soit httpUrl, soit tcpHost + tcpPort");
+        }
+        if (http) {
+            try {
+                URI uri = new URI(probe.getHttpUrl());
+                if (!"http".equalsIgnoreCase(uri.getScheme()) && !"https".equalsIgnoreCase(uri.getScheme())
+                        || uri.getHost() == null) {
+                    throw new IllegalArgumentException("httpUrl doit être une URL http(s) absolue: " + probe.getHttpUrl());
+                }
+            } catch (URISyntaxException e) {
+                throw new IllegalArgumentException("httpUrl invalide: " + probe.getHttpUrl());
+            }
+        } else if (probe.getTcpHost() == null || probe.getTcpHost().isBlank() || probe.getTcpPort() == null) {
+            throw new IllegalArgumentException("Une sonde TCP doit définir tcpHost et tcpPort");
+        }
+        int interval = probe.getIntervalSeconds() == null
+                ? ProbeDefinition.DEFAULT_INTERVAL_SECONDS : probe.getIntervalSeconds();
+        int timeout = probe.getTimeoutMillis() == null
+                ? ProbeDefinition.DEFAULT_TIMEOUT_MILLIS : probe.getTimeoutMillis();
+        if (timeout > interval * 1000) {
+            throw new IllegalArgumentException("Le délai d'une sonde ne peut pas dépasser son intervalle");
+        }
+    }
+
     /**
      * Supprime un service
      */
     @Transactional
     public void deleteService(Long id) {
-        if (!repository.existsById(id)) {
+        if (!store.existsById(id)) {
             throw new IllegalArgumentException("Service non trouvé avec l'ID: " + id);
         }
-        repository.deleteById(id);
+        store.deleteById(id);
+        eventPublisher.publishEvent(ServiceChangeEvent.deleted(id));
     }
 
     /**
-     * Recherche des services par nom (partiel)
+     * Recherche des services par nom ou description (partiel, sans accents ni casse),
+     * du plus pertinent au moins pertinent. Servie par l'index en mémoire.
      */
     public List<ApplicationService> searchServices(String query) {
-        return repository.findByNameContainingIgnoreCase(query);
+        return toServices(searchIndex.search(query, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Suggestions d'autocomplétion sur le nom (résumés légers)
+     * 
+     * @throws IllegalArgumentException si la limite est invalide
+     */
+    public List<ServiceSummary> suggestServices(String prefix, Integer limit) {
+        int size = limit == null ? DEFAULT_SUGGESTIONS : limit;
+        if (size < 1 || size > MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException("limit doit être compris entre 1 et " + MAX_SUGGESTIONS);
+        }
+        return toServices(searchIndex.suggest(prefix, size)).stream()
+                .map(ApplicationServiceService::toSummary)
+                .toList();
+    }
+
+    /**
+     * Vrai si l'index de recherche reflète déjà ce snapshot
+     * (sinon la réponse ne doit pas être mise en cache avec son ETag)
+     */
+    public boolean isSearchIndexCurrent(ServiceSnapshot snapshot) {
+        return searchIndex.getVersion() == snapshot.getVersion();
+    }
+
+    /**
+     * Page de résumés légers (id, nom, statut, date), par curseur
+     * 
+     * On demande une ligne de plus que la taille de page: si elle existe,
+     * il y a une page suivante et son curseur pointe sur la dernière ligne rendue.
+     * 
+     * @param status filtre de statut (null = tous)
+     * @param query  texte recherché via l'index (null = tous)
+     * @param sort   "id" (défaut), "name" ou "lastUpdated"
+     * @param after  curseur opaque renvoyé par la page précédente
+     * @param limit  taille de page (défaut 50, max 500)
+     * @throws IllegalArgumentException si le tri, le curseur ou la taille sont invalides
+     */
+    @Transactional(readOnly = true)
+    public ServicePage<ServiceSummary> getServiceSummaries(ServiceStatus status,
+                                                           String query,
+                                                           String sort,
+                                                           String after,
+                                                           Integer limit) {
+        ServiceSort order = ServiceSort.fromParameter(sort);
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit doit être compris entre 1 et " + MAX_PAGE_SIZE);
+        }
+        ServiceCursor cursor = (after == null || after.isBlank()) ? null : ServiceCursor.decode(order, after);
+
+        List<ServiceSummary> rows = (query == null || query.isBlank())
+                ? store.findSummaries(status, order, cursor, pageSize + 1)
+                : searchSummaries(status, query, order, cursor, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<ServiceSummary> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? ServiceCursor.after(order, items.get(items.size() - 1)).encode() : null;
+        return new ServicePage<>(List.copyOf(items), nextCursor, pageSize);
+    }
+
+    /**
+     * Même pagination, appliquée en mémoire aux résultats de l'index de recherche
+     */
+    private List<ServiceSummary> searchSummaries(ServiceStatus status,
+                                                 String query,
+                                                 ServiceSort order,
+                                                 ServiceCursor cursor,
+                                                 int limit) {
+        List<ServiceSummary> rows = new ArrayList<>();
+        for (ApplicationService service : toServices(searchIndex.matches(query))) {
+            if (status != null && service.getStatus() != status) {
+                continue;
+            }
+            ServiceSummary row = toSummary(service);
+            if (cursor == null || cursor.precedes(row)) {
+                rows.add(row);
+            }
+        }
+        rows.sort(order.comparator());
+        return rows.size() > limit ? rows.subList(0, limit) : rows;
+    }
+
+    /**
+     * IDs de l'index → services du snapshot courant (un service supprimé entre-temps est ignoré)
+     */
+    private List<ApplicationService> toServices(List<Long> ids) {
+        ServiceSnapshot snapshot = snapshotStore.current();
+        List<ApplicationService> services = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            snapshot.findById(id).ifPresent(services::add);
+        }
+        return services;
+    }
+
+    private static ServiceSummary toSummary(ApplicationService service) {
+        return new ServiceSummary(service.getId(), service.getName(), service.getStatus(), service.getLastUpdated());
     }
 
     /**
      * Compte le nombre total de services
      */
     public long countServices() {
-        return repository.count();
+        return snapshotStore.current().getStatusCounts().getTotal();
     }
 
     /**
      * Vérifie si tous les services sont opérationnels
      */
     public boolean areAllServicesOperational() {
-        return repository.findByStatusNot(ServiceStatus.OPERATIONAL).isEmpty();
+        return snapshotStore.current().getStatusCounts().getNonOperationalIds().isEmpty();
+    }
+
+    /**
+     * Résumé de santé d'un snapshot: lecture des compteurs incrémentaux, O(1)
+     * (hors liste des alertes, déjà précalculée dans le snapshot)
+     */
+    public Map<String, Object> getHealthSummary(ServiceSnapshot snapshot) {
+        ServiceStatusCounts counts = snapshot.getStatusCounts();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("totalServices", (long) counts.getTotal());
+        summary.put("allOperational", counts.getNonOperationalIds().isEmpty());
+        summary.put("alertCount", counts.getNonOperationalIds().size());
+        summary.put("countsByStatus", counts.asMap());
+        summary.put("alerts", snapshot.getNonOperational());
+        return summary;
     }
 
 }
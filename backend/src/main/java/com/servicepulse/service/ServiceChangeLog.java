@@ -0,0 +1,138 @@
+package com.servicepulse.service;
+
+import com.servicepulse.event.ServiceChangeEvent.ServiceChange;
+
+import java.util.*;
+
+/**
+ * 🎓 JOURNAL DES CHANGEMENTS - Qui a changé depuis la version N ?
+ * 
+ * Associé à chaque snapshot, il retient pour chaque service la version
+ * de sa dernière modification, ainsi que les suppressions ("tombstones").
+ * 
+ * Analogie JavaScript:
+ *   const changes = new Map();       // version → [ids modifiés]
+ *   const tombstones = new Map();    // version → [ids supprimés]
+ *   // "quoi de neuf depuis 42 ?" = toutes les entrées dont la version > 42
+ * 
+ * Les maps sont triées par version: la question "depuis N" ne parcourt que
+ * les changements postérieurs à N, jamais tout le catalogue.
+ * 
+ * Comme le snapshot, le journal est immuable (chaque apply() crée une copie).
+ * Il démarre à la version du dernier chargement complet: un client plus
+ * ancien, ou dont les suppressions ont été oubliées (tombstones limités),
+ * doit se resynchroniser avec la liste complète.
+ */
+final class ServiceChangeLog {
+
+    /** Nombre maximal de suppressions retenues */
+    static final int MAX_TOMBSTONES = 10_000;
+
+    private final long baseVersion;
+    private final long horizon;
+    private final NavigableMap<Long, List<Long>> upsertsByVersion;
+    private final Map<Long, Long> versionById;
+    private final NavigableMap<Long, List<Long>> deletesByVersion;
+    private final int tombstoneCount;
+
+    private ServiceChangeLog(long baseVersion,
+                             long horizon,
+                             NavigableMap<Long, List<Long>> upsertsByVersion,
+                             Map<Long, Long> versionById,
+                             NavigableMap<Long, List<Long>> deletesByVersion,
+                             int tombstoneCount) {
+        this.baseVersion = baseVersion;
+        this.horizon = horizon;
+        this.upsertsByVersion = upsertsByVersion;
+        this.versionById = versionById;
+        this.deletesByVersion = deletesByVersion;
+        this.tombstoneCount = tombstoneCount;
+    }
+
+    /**
+     * Journal vide, pour un snapshot chargé intégralement à cette version
+     */
+    static ServiceChangeLog startingAt(long version) {
+        return new ServiceChangeLog(version, version, new TreeMap<>(), new HashMap<>(), new TreeMap<>(), 0);
+    }
+
+    /**
+     * Nouveau journal avec les changements enregistrés à newVersion
+     */
+    ServiceChangeLog apply(long newVersion, List<ServiceChange> changes) {
+        NavigableMap<Long, List<Long>> upserts = new TreeMap<>(upsertsByVersion);
+        Map<Long, Long> versions = new HashMap<>(versionById);
+        NavigableMap<Long, List<Long>> deletes = new TreeMap<>(deletesByVersion);
+        long newHorizon = horizon;
+        int tombstones = tombstoneCount;
+
+        Set<Long> upsertedNow = new LinkedHashSet<>();
+        Set<Long> deletedNow = new LinkedHashSet<>();
+        for (ServiceChange change : changes) {
+            Long id = change.getServiceId();
+            Long previousVersion = versions.remove(id);
+            if (previousVersion != null) {
+                removeFromBucket(upserts, previousVersion, id);
+            }
+            if (change.getType() == ServiceChange.Type.DELETE) {
+                upsertedNow.remove(id);
+                deletedNow.add(id);
+            } else {
+                upsertedNow.add(id);
+                versions.put(id, newVersion);
+            }
+        }
+        if (!upsertedNow.isEmpty()) {
+            upserts.put(newVersion, List.copyOf(upsertedNow));
+        }
+        if (!deletedNow.isEmpty()) {
+            deletes.put(newVersion, List.copyOf(deletedNow));
+            tombstones += deletedNow.size();
+            // Oublier les plus anciennes suppressions: les clients antérieurs devront se resynchroniser
+            while (tombstones > MAX_TOMBSTONES && deletes.size() > 1) {
+                Map.Entry<Long, List<Long>> oldest = deletes.pollFirstEntry();
+                tombstones -= oldest.getValue().size();
+                newHorizon = oldest.getKey();
+            }
+        }
+        return new ServiceChangeLog(baseVersion, newHorizon, upserts, versions, deletes, tombstones);
+    }
+
+    /**
+     * Le journal couvre-t-il tous les changements postérieurs à "since" ?
+     */
+    boolean covers(long since) {
+        return since >= baseVersion && since >= horizon;
+    }
+
+    /** IDs créés ou modifiés après "since", dans l'ordre des versions */
+    List<Long> upsertedSince(long since) {
+        return flatten(upsertsByVersion.tailMap(since, false));
+    }
+
+    /** IDs supprimés après "since", dans l'ordre des versions */
+    List<Long> deletedSince(long since) {
+        return flatten(deletesByVersion.tailMap(since, false));
+    }
+
+    private static void removeFromBucket(NavigableMap<Long, List<Long>> buckets, Long version, Long id) {
+        List<Long> bucket = buckets.get(version);
+        if (bucket == null) {
+            return;
+        }
+        List<Long> remaining = new ArrayList<>(bucket);
+        remaining.remove(id);
+        if (remaining.isEmpty()) {
+            buckets.remove(version);
+        } else {
+            buckets.put(version, List.copyOf(remaining));
+        }
+    }
+
+    private static List<Long> flatten(Map<Long, List<Long>> buckets) {
+        List<Long> ids = new ArrayList<>();
+        buckets.values().forEach(ids::addAll);
+        return ids;
+    }
+
+}
@@ -0,0 +1,182 @@
+package com.servicepulse.service;
+
+import com.servicepulse.event.ServiceChangeEvent.ServiceChange;
+import com.servicepulse.model.ApplicationService;
+import com.servicepulse.model.ServiceStatus;
+
+import java.util.*;
+
+/**
+ * 🎓 SNAPSHOT IMMUABLE - Vue en mémoire de tous les services
+ * 
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 COPY-ON-WRITE
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 
+ * Un snapshot n'est JAMAIS modifié après sa construction. Chaque modification
+ * du catalogue produit un NOUVEAU snapshot (avec un numéro de version
+ * supérieur) qui remplace l'ancien d'un seul coup.
+ * 
+ * Analogie JavaScript (Redux):
+ *   const nextState = { ...state, services: [...] };   // jamais state.x = y
+ * 
+ * Avantage: les lectures n'ont besoin d'aucun verrou ni d'aucune session JPA,
+ * elles lisent simplement la référence courante.
+ * 
+ * Les vues par ID, par statut et "alertes" sont précalculées à la construction.
+ * Les compteurs par statut (ServiceStatusCounts) sont mis à jour de façon
+ * incrémentale à chaque modification.
+ * Le journal des changements (ServiceChangeLog) permet de répondre à
+ * "qu'est-ce qui a changé depuis la version N ?" sans parcourir le catalogue.
+ * ⚠️ Les entités exposées sont partagées entre toutes les requêtes:
+ *    elles ne doivent jamais être modifiées.
+ */
+public final class ServiceSnapshot {
+
+    private static final ServiceSnapshot EMPTY = new ServiceSnapshot(
+            0L, new TreeMap<>(), ServiceStatusCounts.of(List.of()), ServiceChangeLog.startingAt(0L));
+
+    private final long version;
+    private final ServiceStatusCounts statusCounts;
+    private final ServiceChangeLog changeLog;
+    private final SortedMap<Long, ApplicationService> byId;
+    private final List<ApplicationService> services;
+    private final Map<ServiceStatus, List<ApplicationService>> byStatus;
+    private final List<ApplicationService> nonOperational;
+
+    private ServiceSnapshot(long version,
+                            SortedMap<Long, ApplicationService> servicesById,
+                            ServiceStatusCounts statusCounts,
+                            ServiceChangeLog changeLog) {
+        this.version = version;
+        this.statusCounts = statusCounts;
+        this.changeLog = changeLog;
+        this.byId = Collections.unmodifiableSortedMap(servicesById);
+        this.services = List.copyOf(servicesById.values());
+
+        Map<ServiceStatus, List<ApplicationService>> grouped = new EnumMap<>(ServiceStatus.class);
+        for (ServiceStatus status : ServiceStatus.values()) {
+            grouped.put(status, new ArrayList<>(statusCounts.get(status)));
+        }
+        for (ApplicationService service : services) {
+            grouped.get(service.getStatus()).add(service);
+        }
+        grouped.replaceAll((status, list) -> List.copyOf(list));
+        this.byStatus = Collections.unmodifiableMap(grouped);
+
+        List<ApplicationService> alerts = new ArrayList<>(statusCounts.getNonOperationalIds().size());
+        for (Long id : statusCounts.getNonOperationalIds()) {
+            alerts.add(byId.get(id));
+        }
+        this.nonOperational = List.copyOf(alerts);
+    }
+
+    public static ServiceSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Construit un snapshot complet à partir d'une liste d'entités (ex: findAll()).
+     */
+    public static ServiceSnapshot of(long version, Collection<ApplicationService> services) {
+        SortedMap<Long, ApplicationService> servicesById = new TreeMap<>();
+        for (ApplicationService service : services) {
+            servicesById.put(service.getId(), copyOf(service));
+        }
+        return new ServiceSnapshot(version, servicesById,
+                ServiceStatusCounts.of(servicesById.values()), ServiceChangeLog.startingAt(version));
+    }
+
+    /**
+     * Retourne un nouveau snapshot avec les changements appliqués.
+     * Le snapshot courant reste inchangé (copy-on-write).
+     */
+    public ServiceSnapshot apply(long newVersion, List<ServiceChange> changes) {
+        SortedMap<Long, ApplicationService> servicesById = new TreeMap<>(byId);
+        List<Long> changedIds = new ArrayList<>(changes.size());
+        for (ServiceChange change : changes) {
+            changedIds.add(change.getServiceId());
+            if (change.getType() == ServiceChange.Type.DELETE) {
+                servicesById.remove(change.getServiceId());
+            } else {
+                servicesById.put(change.getServiceId(), copyOf(change.getService()));
+            }
+        }
+        return new ServiceSnapshot(newVersion, servicesById,
+                statusCounts.apply(changedIds, byId, servicesById), changeLog.apply(newVersion, changes));
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /** Tous les services, triés par ID */
+    public List<ApplicationService> getServices() {
+        return services;
+    }
+
+    public Optional<ApplicationService> findById(Long id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    public List<ApplicationService> getByStatus(ServiceStatus status) {
+        return byStatus.get(status);
+    }
+
+    /** Services qui ne sont pas OPERATIONAL (alertes) */
+    public List<ApplicationService> getNonOperational() {
+        return nonOperational;
+    }
+
+    public int size() {
+        return services.size();
+    }
+
+    /** Compteurs par statut et IDs en alerte */
+    public ServiceStatusCounts getStatusCounts() {
+        return statusCounts;
+    }
+
+    /**
+     * Le snapshot connaît-il tous les changements postérieurs à "since" ?
+     * Sinon le client doit repartir de la liste complète.
+     */
+    public boolean coversChangesSince(long since) {
+        return since <= version && changeLog.covers(since);
+    }
+
+    /** Services créés ou modifiés après la version "since" */
+    public List<ApplicationService> upsertedSince(long since) {
+        List<ApplicationService> upserted = new ArrayList<>();
+        for (Long id : changeLog.upsertedSince(since)) {
+            ApplicationService service = byId.get(id);
+            if (service != null) {
+                upserted.add(service);
+            }
+        }
+        return upserted;
+    }
+
+    /** IDs des services supprimés après la version "since" */
+    public List<Long> deletedSince(long since) {
+        return changeLog.deletedSince(since);
+    }
+
+    /**
+     * Copie détachée d'une entité: le snapshot ne doit jamais partager
+     * d'objet avec la session JPA (qui pourrait encore le modifier).
+     */
+    private static ApplicationService copyOf(ApplicationService source) {
+        return ApplicationService.builder()
+                .id(source.getId())
+                .name(source.getName())
+                .description(source.getDescription())
+                .status(source.getStatus())
+                .maintenanceMessage(source.getMaintenanceMessage())
+                .lastUpdated(source.getLastUpdated())
+                .createdAt(source.getCreatedAt())
+                .probe(source.getProbe() == null ? null : source.getProbe().toBuilder().build())
+                .build();
+    }
+
+}
@@ -0,0 +1,160 @@
+package com.servicepulse.service;
+
+import com.servicepulse.event.ServiceChangeEvent;
+import com.servicepulse.event.ServiceChangeEvent.ServiceChange;
+import com.servicepulse.event.ServiceSnapshotUpdatedEvent;
+import com.servicepulse.model.ServiceStatus;
+import com.servicepulse.repository.ServiceStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 🎓 STORE DU SNAPSHOT - Détient la version courante du catalogue en mémoire
+ * 
+ * - Au démarrage: charge tous les services depuis la base (une seule requête)
+ * - Après chaque commit: applique les changements et publie un nouveau snapshot
+ * - Lectures: simple lecture d'un champ volatile, sans verrou ni base de données
+ * 
+ * Analogie JavaScript:
+ *   let current = Object.freeze(await Service.find());
+ *   emitter.on('services:changed', changes => { current = apply(current, changes); });
+ * 
+ * Les écritures sont sérialisées par un verrou pour que les versions restent
+ * strictement croissantes; les lectures ne le prennent jamais.
+ * 
+ * Une vérification périodique compare les compteurs par statut à la base:
+ * en cas d'écart (écriture hors de ApplicationServiceService, script SQL...),
+ * le snapshot est rechargé intégralement.
+ * 
+ * La version d'un rechargement complet part de l'horloge (millisecondes):
+ * après un redémarrage, les versions (et donc les ETag) ne repartent pas de 1
+ * et ne peuvent pas coïncider avec celles vues par les clients avant.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ServiceSnapshotStore implements SmartInitializingSingleton {
+
+    private final ServiceStore store;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile ServiceSnapshot current = ServiceSnapshot.empty();
+
+    /**
+     * Appelé une fois que tous les beans sont créés (data.sql a donc été exécuté),
+     * avant que le serveur HTTP n'accepte des requêtes.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        reload();
+    }
+
+    /**
+     * Snapshot courant (lecture sans verrou)
+     */
+    public ServiceSnapshot current() {
+        return current;
+    }
+
+    /**
+     * Exécute une action sur le snapshot courant en garantissant qu'aucune
+     * nouvelle version n'est publiée pendant son exécution.
+     * 
+     * Sert aux abonnés qui ont besoin d'un point de départ exact avant de
+     * recevoir les ServiceSnapshotUpdatedEvent suivants (ex: flux SSE).
+     */
+    public void withCurrent(Consumer<ServiceSnapshot> action) {
+        writeLock.lock();
+        try {
+            action.accept(current);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Recharge intégralement le snapshot depuis la base de données
+     */
+    public ServiceSnapshot reload() {
+        writeLock.lock();
+        try {
+            long version = Math.max(current.getVersion() + 1, System.currentTimeMillis());
+            publish(ServiceSnapshot.of(version, store.findAll()), List.of());
+            log.debug("Snapshot des services rechargé: version {}, {} services", current.getVersion(), current.size());
+            return current;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Réconciliation périodique avec la base de données.
+     * 
+     * Deux requêtes légères (GROUP BY + liste d'IDs) au lieu d'un findAll().
+     * Si une écriture a été publiée pendant la vérification, on ne conclut
+     * rien: la prochaine exécution refera la comparaison.
+     */
+    @Scheduled(
+            initialDelayString = "${application.snapshot.reconcile-interval}",
+            fixedDelayString = "${application.snapshot.reconcile-interval}")
+    public void reconcile() {
+        ServiceSnapshot before = current;
+
+        Map<ServiceStatus, Integer> databaseCounts = new EnumMap<>(ServiceStatus.class);
+        for (ServiceStatus status : ServiceStatus.values()) {
+            databaseCounts.put(status, 0);
+        }
+        store.countByStatus().forEach((status, total) -> databaseCounts.put(status, total.intValue()));
+        List<Long> databaseAlerts = store.findIdsByStatusNot(ServiceStatus.OPERATIONAL);
+
+        if (current != before) {
+            return;
+        }
+        ServiceStatusCounts counts = before.getStatusCounts();
+        if (!counts.asMap().equals(databaseCounts)
+                || !counts.getNonOperationalIds().equals(new HashSet<>(databaseAlerts))) {
+            log.warn("Écart entre le snapshot (v{}: {}) et la base ({}): rechargement",
+                    before.getVersion(), counts.asMap(), databaseCounts);
+            reload();
+        }
+    }
+
+    /**
+     * Applique les changements une fois la transaction validée.
+     * En cas de rollback, rien n'est appliqué: le snapshot reste cohérent avec la base.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onServiceChange(ServiceChangeEvent event) {
+        writeLock.lock();
+        try {
+            publish(current.apply(current.getVersion() + 1, event.getChanges()), event.getChanges());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Remplace le snapshot puis notifie les vues dérivées (verrou d'écriture tenu)
+     */
+    private void publish(ServiceSnapshot next, List<ServiceChange> changes) {
+        ServiceSnapshot previous = current;
+        current = next;
+        eventPublisher.publishEvent(new ServiceSnapshotUpdatedEvent(previous, next, changes));
+    }
+
+}
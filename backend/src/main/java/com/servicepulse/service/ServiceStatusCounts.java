@@ -0,0 +1,103 @@
+package com.servicepulse.service;
+
+import com.servicepulse.model.ApplicationService;
+import com.servicepulse.model.ServiceStatus;
+
+import java.util.*;
+
+/**
+ * 🎓 AGRÉGAT - Nombre de services par statut
+ * 
+ * Tenu à jour de façon INCRÉMENTALE: une modification ne recompte pas tout
+ * le catalogue, elle fait juste -1 sur l'ancien statut et +1 sur le nouveau.
+ * 
+ * Analogie JavaScript:
+ *   counts[previous.status]--;
+ *   counts[next.status]++;
+ * 
+ * Contient aussi les IDs des services non opérationnels (les alertes):
+ * le résumé de santé se lit donc en O(1), sans requête SQL.
+ * Immuable, comme le snapshot qui le porte.
+ */
+public final class ServiceStatusCounts {
+
+    private final Map<ServiceStatus, Integer> counts;
+    private final SortedSet<Long> nonOperationalIds;
+    private final int total;
+
+    private ServiceStatusCounts(EnumMap<ServiceStatus, Integer> counts, SortedSet<Long> nonOperationalIds) {
+        this.counts = Collections.unmodifiableMap(counts);
+        this.nonOperationalIds = Collections.unmodifiableSortedSet(nonOperationalIds);
+        this.total = counts.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /**
+     * Comptage complet (chargement initial)
+     */
+    static ServiceStatusCounts of(Collection<ApplicationService> services) {
+        EnumMap<ServiceStatus, Integer> counts = zeroCounts();
+        SortedSet<Long> nonOperational = new TreeSet<>();
+        for (ApplicationService service : services) {
+            counts.merge(service.getStatus(), 1, Integer::sum);
+            if (service.getStatus() != ServiceStatus.OPERATIONAL) {
+                nonOperational.add(service.getId());
+            }
+        }
+        return new ServiceStatusCounts(counts, nonOperational);
+    }
+
+    /**
+     * Mise à jour incrémentale pour les services modifiés
+     * 
+     * @param changedIds IDs touchés par la modification
+     * @param before     services avant la modification (par ID)
+     * @param after      services après la modification (par ID)
+     */
+    ServiceStatusCounts apply(Collection<Long> changedIds,
+                              Map<Long, ApplicationService> before,
+                              Map<Long, ApplicationService> after) {
+        EnumMap<ServiceStatus, Integer> next = new EnumMap<>(counts);
+        SortedSet<Long> nonOperational = new TreeSet<>(nonOperationalIds);
+        for (Long id : new LinkedHashSet<>(changedIds)) {
+            ApplicationService previous = before.get(id);
+            ApplicationService current = after.get(id);
+            if (previous != null) {
+                next.merge(previous.getStatus(), -1, Integer::sum);
+                nonOperational.remove(id);
+            }
+            if (current != null) {
+                next.merge(current.getStatus(), 1, Integer::sum);
+                if (current.getStatus() != ServiceStatus.OPERATIONAL) {
+                    nonOperational.add(id);
+                }
+            }
+        }
+        return new ServiceStatusCounts(next, nonOperational);
+    }
+
+    public int get(ServiceStatus status) {
+        return counts.get(status);
+    }
+
+    /** Nombre de services par statut (toutes les valeurs de l'enum sont présentes) */
+    public Map<ServiceStatus, Integer> asMap() {
+        return counts;
+    }
+
+    public SortedSet<Long> getNonOperationalIds() {
+        return nonOperationalIds;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    private static EnumMap<ServiceStatus, Integer> zeroCounts() {
+        EnumMap<ServiceStatus, Integer> counts = new EnumMap<>(ServiceStatus.class);
+        for (ServiceStatus status : ServiceStatus.values()) {
+            counts.put(status, 0);
+        }
+        return counts;
+    }
+
+}
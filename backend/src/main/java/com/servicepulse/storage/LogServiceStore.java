@@ -0,0 +1,459 @@
+package com.servicepulse.storage;
+
+import com.servicepulse.dto.ServiceSummary;
+import com.servicepulse.model.ApplicationService;
+import com.servicepulse.model.ServiceStatus;
+import com.servicepulse.repository.ServiceCursor;
+import com.servicepulse.repository.ServiceSort;
+import com.servicepulse.repository.ServiceStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * 🎓 MOTEUR JOURNALISÉ - Services en mémoire, durables sur disque, sans SQL
+ *
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 POURQUOI ?
+ * ═══════════════════════════════════════════════════════════════════════════════
+ *
+ * Les services sont peu nombreux à l'échelle d'une base, très lus et rarement
+ * modifiés. Avec application.storage.engine=log, ils ne passent plus par
+ * Hibernate: tout le catalogue vit en mémoire, et le disque ne sert qu'à le
+ * retrouver après un redémarrage.
+ *
+ *   lecture  = accès à une ConcurrentSkipListMap (copie de l'objet)
+ *   écriture = une trame ajoutée au journal (WriteAheadLog), puis la Map
+ *   démarrage = dernier snapshot projeté en mémoire (SnapshotFile) + trames suivantes
+ *   compaction = quand le segment de journal dépasse compact-after-bytes,
+ *                nouvel état complet écrit en arrière-plan, anciens segments supprimés
+ *
+ * Analogie JavaScript:
+ *   const services = new Map();          // lu au démarrage depuis snapshot + wal
+ *   function save(s) { wal.append(s); services.set(s.id, s); }
+ *
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 DIFFÉRENCES AVEC LE MOTEUR JPA
+ * ═══════════════════════════════════════════════════════════════════════════════
+ *
+ * - Une écriture est durable dès le retour de save (fsync si activé), sans
+ *   attendre le commit: un rollback de la transaction Spring ne l'annule pas.
+ *   Les méthodes appelantes écrivent en dernière étape, juste avant de publier
+ *   leur ServiceChangeEvent.
+ * - La table application_services (et donc data.sql) n'est pas utilisée.
+ * - Avec fsync=false, une écriture ne coûte que quelques microsecondes et
+ *   survit à un crash du processus, mais pas à une coupure de courant.
+ *
+ * Les écritures sont sérialisées par un verrou; les lectures n'en prennent aucun.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "application.storage.engine", havingValue = "log")
+public class LogServiceStore implements ServiceStore {
+
+    private final Path directory;
+    private final boolean fsync;
+    private final long compactAfterBytes;
+
+    private final ConcurrentSkipListMap<Long, ApplicationService> services = new ConcurrentSkipListMap<>();
+    private final Map<String, Long> idsByName = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "service-store-compaction");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private WriteAheadLog wal;
+    private long nextId = 1;
+
+    public LogServiceStore(@Value("${application.storage.log.directory}") Path directory,
+                           @Value("${application.storage.log.fsync}") boolean fsync,
+                           @Value("${application.storage.log.compact-after-bytes}") long compactAfterBytes) {
+        this.directory = directory;
+        this.fsync = fsync;
+        this.compactAfterBytes = compactAfterBytes;
+    }
+
+    /**
+     * Reprise: snapshot le plus récent, puis trames postérieures du journal
+     */
+    @PostConstruct
+    void open() {
+        long start = System.nanoTime();
+        try {
+            Files.createDirectories(directory);
+            SnapshotFile.deleteTemporaryFiles(directory);
+
+            Optional<SnapshotFile.Header> snapshot = SnapshotFile.loadLatest(directory, this::apply);
+            long snapshotSequence = snapshot.map(SnapshotFile.Header::lastSequence).orElse(0L);
+            nextId = Math.max(nextId, snapshot.map(SnapshotFile.Header::nextId).orElse(1L));
+
+            WriteAheadLog.Replay replay = WriteAheadLog.replay(directory, snapshotSequence, this::apply);
+            wal = WriteAheadLog.open(directory, replay, fsync);
+
+            log.info("Stockage journalisé {}: {} services en {} ms (snapshot: {}, {} trames rejouées, {} octets coupés)",
+                    directory.toAbsolutePath(), services.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                    snapshot.map(header -> header.file().getFileName().toString()).orElse("aucun"),
+                    replay.frames(), replay.truncatedBytes());
+
+            // Beaucoup de journal à rejouer: le prochain démarrage partira d'un snapshot récent
+            if (replay.segments() > 1 || replay.bytes() >= compactAfterBytes) {
+                scheduleCompaction();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Ouverture du stockage " + directory + " impossible", e);
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException, InterruptedException {
+        compactor.shutdown();
+        compactor.awaitTermination(30, TimeUnit.SECONDS);
+        writeLock.lock();
+        try {
+            if (wal != null) {  // open() a échoué: rien à fermer
+                wal.close();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────────
+    // Lectures (sans verrou)
+    // ─────────────────────────────────────────────────────────────────────────────
+
+    @Override
+    public List<ApplicationService> findAll() {
+        List<ApplicationService> found = new ArrayList<>(services.size());
+        for (ApplicationService service : services.values()) {
+            found.add(ServiceRecordCodec.copy(service));
+        }
+        return found;
+    }
+
+    @Override
+    public Optional<ApplicationService> findById(Long id) {
+        return Optional.ofNullable(services.get(id)).map(ServiceRecordCodec::copy);
+    }
+
+    @Override
+    public List<ApplicationService> findAllById(Collection<Long> ids) {
+        List<ApplicationService> found = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ApplicationService service = services.get(id);
+            if (service != null) {
+                found.add(ServiceRecordCodec.copy(service));
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public Optional<ApplicationService> findByName(String name) {
+        Long id = idsByName.get(name);
+        return id == null ? Optional.empty() : findById(id);
+    }
+
+    @Override
+    public List<ApplicationService> findByNameIn(Collection<String> names) {
+        List<ApplicationService> found = new ArrayList<>(names.size());
+        for (String name : names) {
+            findByName(name).ifPresent(found::add);
+        }
+        return found;
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return services.containsKey(id);
+    }
+
+    @Override
+    public boolean existsByName(String name) {
+        return idsByName.containsKey(name);
+    }
+
+    @Override
+    public Map<ServiceStatus, Long> countByStatus() {
+        Map<ServiceStatus, Long> counts = new EnumMap<>(ServiceStatus.class);
+        for (ApplicationService service : services.values()) {
+            counts.merge(service.getStatus(), 1L, Long::sum);
+        }
+        return counts;
+    }
+
+    @Override
+    public List<Long> findIdsByStatusNot(ServiceStatus status) {
+        List<Long> ids = new ArrayList<>();
+        for (ApplicationService service : services.values()) {
+            if (service.getStatus() != status) {
+                ids.add(service.getId());
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Tri par id: parcours de la Map (déjà triée) à partir du curseur, arrêt à limit.
+     * Autres tris: les "limit" premiers gardés dans un tas borné, O(n log limit).
+     */
+    @Override
+    public List<ServiceSummary> findSummaries(ServiceStatus status, ServiceSort sort, ServiceCursor after, int limit) {
+        if (sort == ServiceSort.ID) {
+            Collection<ApplicationService> range = after == null
+                    ? services.values()
+                    : services.tailMap(after.getId(), false).values();
+            List<ServiceSummary> rows = new ArrayList<>(Math.min(limit, 1024));
+            for (ApplicationService service : range) {
+                if (status == null || service.getStatus() == status) {
+                    rows.add(toSummary(service));
+                    if (rows.size() == limit) {
+                        break;
+                    }
+                }
+            }
+            return rows;
+        }
+
+        Comparator<ServiceSummary> order = sort.comparator();
+        PriorityQueue<ServiceSummary> best = new PriorityQueue<>(order.reversed());
+        for (ApplicationService service : services.values()) {
+            if (status != null && service.getStatus() != status) {
+                continue;
+            }
+            ServiceSummary row = toSummary(service);
+            if (after != null && !after.precedes(row)) {
+                continue;
+            }
+            if (best.size() < limit) {
+                best.add(row);
+            } else if (order.compare(row, best.peek()) < 0) {
+                best.poll();
+                best.add(row);
+            }
+        }
+        List<ServiceSummary> rows = new ArrayList<>(best);
+        rows.sort(order);
+        return rows;
+    }
+
+    @Override
+    public Stream<ApplicationService> streamAll() {
+        return services.values().stream().map(ServiceRecordCodec::copy);
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────────
+    // Écritures (journal d'abord, mémoire ensuite)
+    // ─────────────────────────────────────────────────────────────────────────────
+
+    @Override
+    public ApplicationService save(ApplicationService service) {
+        saveAll(List.of(service));
+        return service;
+    }
+
+    @Override
+    public List<ApplicationService> saveAll(Collection<ApplicationService> batch) {
+        if (batch.isEmpty()) {
+            return List.of();
+        }
+        writeLock.lock();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            long assignedId = nextId;
+            Map<String, Long> batchNames = new HashMap<>();
+            List<ApplicationService> records = new ArrayList<>(batch.size());
+            List<WriteAheadLog.Operation> operations = new ArrayList<>(batch.size());
+
+            for (ApplicationService service : batch) {
+                ApplicationService existing = service.getId() == null ? null : services.get(service.getId());
+                long id = existing != null ? existing.getId() : assignedId++;
+                Long owner = batchNames.put(service.getName(), id);
+                if (owner == null) {
+                    owner = idsByName.get(service.getName());
+                }
+                if (owner != null && owner != id) {
+                    throw new DataIntegrityViolationException("Nom de service déjà utilisé: " + service.getName());
+                }
+
+                ApplicationService record = ServiceRecordCodec.copy(service);
+                record.setId(id);
+                record.setCreatedAt(existing != null ? existing.getCreatedAt() : now);
+                record.setLastUpdated(now);
+                records.add(record);
+                operations.add(new WriteAheadLog.Upsert(record));
+            }
+
+            append(operations);
+            for (ApplicationService record : records) {
+                apply(record);
+            }
+            nextId = assignedId;
+
+            // Comme JPA: l'objet passé reçoit son id et ses dates
+            Iterator<ApplicationService> saved = records.iterator();
+            for (ApplicationService service : batch) {
+                ApplicationService record = saved.next();
+                service.setId(record.getId());
+                service.setCreatedAt(record.getCreatedAt());
+                service.setLastUpdated(record.getLastUpdated());
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        compactIfNeeded();
+        return new ArrayList<>(batch);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        writeLock.lock();
+        try {
+            if (!services.containsKey(id)) {
+                return;
+            }
+            append(List.of(new WriteAheadLog.Delete(id)));
+            delete(id);
+        } finally {
+            writeLock.unlock();
+        }
+        compactIfNeeded();
+    }
+
+    private void append(List<WriteAheadLog.Operation> operations) {
+        try {
+            wal.append(operations);
+        } catch (IOException e) {
+            throw new DataAccessResourceFailureException("Écriture dans le journal impossible: " + e.getMessage(), e);
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────────
+    // État en mémoire (écritures, reprise)
+    // ─────────────────────────────────────────────────────────────────────────────
+
+    private void apply(WriteAheadLog.Frame frame) {
+        for (WriteAheadLog.Operation operation : frame.operations()) {
+            if (operation instanceof WriteAheadLog.Upsert upsert) {
+                apply(upsert.service());
+            } else if (operation instanceof WriteAheadLog.Delete deletion) {
+                delete(deletion.id());
+            }
+        }
+    }
+
+    private void apply(ApplicationService record) {
+        ApplicationService previous = services.put(record.getId(), record);
+        if (previous != null && !previous.getName().equals(record.getName())) {
+            idsByName.remove(previous.getName(), previous.getId());
+        }
+        idsByName.put(record.getName(), record.getId());
+        nextId = Math.max(nextId, record.getId() + 1);
+    }
+
+    private void delete(long id) {
+        ApplicationService previous = services.remove(id);
+        if (previous != null) {
+            idsByName.remove(previous.getName(), id);
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────────
+    // Compaction
+    // ─────────────────────────────────────────────────────────────────────────────
+
+    private void compactIfNeeded() {
+        try {
+            if (!compacting.get() && wal.segmentSize() >= compactAfterBytes) {
+                scheduleCompaction();
+            }
+        } catch (IOException e) {
+            log.warn("Taille du journal illisible: {}", e.getMessage());
+        }
+    }
+
+    private void scheduleCompaction() {
+        if (compacting.compareAndSet(false, true)) {
+            compactor.execute(this::compact);
+        }
+    }
+
+    /**
+     * Snapshot de l'état au numéro de séquence courant. Seule la copie de la
+     * liste et le changement de segment se font sous verrou: les objets gardés
+     * en mémoire ne sont jamais modifiés (remplacés à chaque écriture), ils
+     * peuvent donc être sérialisés pendant que les écritures continuent.
+     */
+    void compact() {
+        try {
+            long start = System.nanoTime();
+            List<ApplicationService> state;
+            long sequence;
+            long snapshotNextId;
+            writeLock.lock();
+            try {
+                state = new ArrayList<>(services.values());
+                sequence = wal.lastSequence();
+                snapshotNextId = nextId;
+                wal.rotate();
+            } finally {
+                writeLock.unlock();
+            }
+
+            Path snapshot = SnapshotFile.write(directory, sequence, snapshotNextId, state);
+
+            writeLock.lock();
+            try {
+                wal.deleteSegmentsUpTo(sequence);
+            } finally {
+                writeLock.unlock();
+            }
+            SnapshotFile.deleteOlderThan(directory, snapshot);
+            log.info("Compaction du stockage: {} services jusqu'à la trame {} en {} ms",
+                    state.size(), sequence, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (IOException | RuntimeException e) {
+            // Rien n'est perdu: le journal est conservé tant qu'un snapshot ne le couvre pas
+            log.error("Compaction du stockage impossible", e);
+        } finally {
+            compacting.set(false);
+        }
+    }
+
+    private static ServiceSummary toSummary(ApplicationService service) {
+        return new ServiceSummary(service.getId(), service.getName(), service.getStatus(), service.getLastUpdated());
+    }
+
+}
@@ -0,0 +1,155 @@
+package com.servicepulse.storage;
+
+import com.servicepulse.model.ApplicationService;
+import com.servicepulse.model.ProbeDefinition;
+import com.servicepulse.model.ServiceStatus;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 🎓 FORMAT BINAIRE D'UN SERVICE - Partagé par le journal et le snapshot
+ *
+ * Écriture vers un DataOutput (flux bufferisé), lecture depuis un ByteBuffer
+ * (fichier mappé en mémoire): pas de réflexion ni de JSON, quelques centaines
+ * d'octets par service.
+ *
+ *   long    id
+ *   string  name, description
+ *   string  status (nom de l'enum: insensible à l'ordre des constantes)
+ *   string  maintenanceMessage
+ *   date    lastUpdated, createdAt
+ *   byte    1 si sonde, puis ses champs
+ *
+ *   string = int longueur en octets UTF-8 (-1 = null) + octets
+ *   date   = long secondes UTC (Long.MIN_VALUE = null) + int nanosecondes
+ *   entier nullable = byte 0/1 + int
+ *
+ * Analogie JavaScript: un Buffer écrit à la main avec writeInt32BE / write(str, 'utf8')
+ */
+final class ServiceRecordCodec {
+
+    private static final long NULL_DATE = Long.MIN_VALUE;
+
+    private ServiceRecordCodec() {
+    }
+
+    static void write(DataOutput out, ApplicationService service) throws IOException {
+        out.writeLong(service.getId());
+        writeString(out, service.getName());
+        writeString(out, service.getDescription());
+        writeString(out, service.getStatus().name());
+        writeString(out, service.getMaintenanceMessage());
+        writeDate(out, service.getLastUpdated());
+        writeDate(out, service.getCreatedAt());
+
+        ProbeDefinition probe = service.getProbe();
+        out.writeBoolean(probe != null);
+        if (probe != null) {
+            writeString(out, probe.getHttpUrl());
+            writeString(out, probe.getTcpHost());
+            writeInteger(out, probe.getTcpPort());
+            writeInteger(out, probe.getIntervalSeconds());
+            writeInteger(out, probe.getTimeoutMillis());
+            writeInteger(out, probe.getFailureThreshold());
+            writeInteger(out, probe.getSuccessThreshold());
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException si les octets ne décrivent pas un service valide
+     * @throws java.nio.BufferUnderflowException si l'enregistrement est tronqué
+     */
+    static ApplicationService read(ByteBuffer in) {
+        ApplicationService service = new ApplicationService();
+        service.setId(in.getLong());
+        service.setName(readString(in));
+        service.setDescription(readString(in));
+        service.setStatus(ServiceStatus.valueOf(readString(in)));
+        service.setMaintenanceMessage(readString(in));
+        service.setLastUpdated(readDate(in));
+        service.setCreatedAt(readDate(in));
+
+        if (in.get() != 0) {
+            service.setProbe(ProbeDefinition.builder()
+                    .httpUrl(readString(in))
+                    .tcpHost(readString(in))
+                    .tcpPort(readInteger(in))
+                    .intervalSeconds(readInteger(in))
+                    .timeoutMillis(readInteger(in))
+                    .failureThreshold(readInteger(in))
+                    .successThreshold(readInteger(in))
+                    .build());
+        } else {
+            service.setProbe(null);
+        }
+        return service;
+    }
+
+    /**
+     * Copie indépendante (l'objet gardé en mémoire par le moteur n'est jamais
+     * celui qu'un appelant peut modifier)
+     */
+    static ApplicationService copy(ApplicationService service) {
+        ApplicationService copy = new ApplicationService();
+        copy.setId(service.getId());
+        copy.setName(service.getName());
+        copy.setDescription(service.getDescription());
+        copy.setStatus(service.getStatus());
+        copy.setMaintenanceMessage(service.getMaintenanceMessage());
+        copy.setLastUpdated(service.getLastUpdated());
+        copy.setCreatedAt(service.getCreatedAt());
+        copy.setProbe(service.getProbe() == null ? null : service.getProbe().toBuilder().build());
+        return copy;
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length == -1) {
+            return null;
+        }
+        if (length < 0 || length > in.remaining()) {
+            throw new IllegalArgumentException("Longueur de chaîne invalide: " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeDate(DataOutput out, LocalDateTime value) throws IOException {
+        out.writeLong(value == null ? NULL_DATE : value.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(value == null ? 0 : value.getNano());
+    }
+
+    private static LocalDateTime readDate(ByteBuffer in) {
+        long seconds = in.getLong();
+        int nanos = in.getInt();
+        return seconds == NULL_DATE ? null : LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+
+    private static void writeInteger(DataOutput out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readInteger(ByteBuffer in) {
+        return in.get() != 0 ? in.getInt() : null;
+    }
+
+}
@@ -0,0 +1,213 @@
+package com.servicepulse.storage;
+
+import com.servicepulse.model.ApplicationService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * 🎓 SNAPSHOT SUR DISQUE - Tous les services à un numéro de séquence donné
+ *
+ * Le journal ne fait que grandir; la compaction écrit l'état complet dans un
+ * snapshot, après quoi les segments de journal qu'il couvre sont supprimés.
+ * Au démarrage: snapshot + trames postérieures du journal = état exact.
+ *
+ * Fichier snapshot-<séquence>.snap:
+ *   int magic "SPSN", int version
+ *   long séquence (dernière trame incluse), long prochain id
+ *   int nombre de services, long taille du corps, int CRC32C du corps
+ *   corps: les services à la suite (ServiceRecordCodec)
+ *
+ * Écrit sous un nom temporaire, forcé sur disque puis renommé: un snapshot
+ * portant son nom final est toujours complet.
+ *
+ * Lecture par projection en mémoire (mmap): le fichier est lu par le système
+ * directement dans le cache de pages, sans copie dans un tampon Java.
+ *
+ * Analogie JavaScript: la "RDB" de Redis à côté de son "AOF"
+ */
+@Slf4j
+final class SnapshotFile {
+
+    private static final int MAGIC = 0x5350534E;  // "SPSN"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 40;
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".snap";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    /**
+     * En-tête d'un snapshot relu
+     */
+    record Header(Path file, long lastSequence, long nextId, int count) {
+    }
+
+    private SnapshotFile() {
+    }
+
+    /**
+     * Charge le snapshot le plus récent (s'il existe) en passant chaque service au consommateur
+     *
+     * @throws IllegalStateException si le snapshot est corrompu
+     */
+    static Optional<Header> loadLatest(Path directory, Consumer<ApplicationService> sink) throws IOException {
+        Optional<Path> latest = snapshots(directory).stream().reduce((first, second) -> second);
+        if (latest.isEmpty()) {
+            return Optional.empty();
+        }
+        Path file = latest.get();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                throw corrupt(file, "fichier tronqué");
+            }
+            if (size > Integer.MAX_VALUE) {
+                throw corrupt(file, "plus de 2 Go, non projetable en un seul bloc");
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (mapped.getInt() != MAGIC || mapped.getInt() != VERSION) {
+                throw corrupt(file, "en-tête invalide");
+            }
+            long lastSequence = mapped.getLong();
+            long nextId = mapped.getLong();
+            int count = mapped.getInt();
+            long bodySize = mapped.getLong();
+            int checksum = mapped.getInt();
+            if (bodySize != size - HEADER_SIZE) {
+                throw corrupt(file, "taille du corps incohérente");
+            }
+
+            ByteBuffer body = mapped.slice(HEADER_SIZE, (int) bodySize);
+            CRC32C crc = new CRC32C();
+            crc.update(body.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                throw corrupt(file, "CRC invalide");
+            }
+            for (int i = 0; i < count; i++) {
+                sink.accept(ServiceRecordCodec.read(body));
+            }
+            return Optional.of(new Header(file, lastSequence, nextId, count));
+        }
+    }
+
+    /**
+     * Écrit un snapshot complet et le rend visible par un renommage atomique
+     *
+     * @return le fichier écrit
+     */
+    static Path write(Path directory, long lastSequence, long nextId,
+                      Collection<ApplicationService> services) throws IOException {
+        Path file = directory.resolve(String.format("%s%020d%s", PREFIX, lastSequence, SUFFIX));
+        Path temporary = directory.resolve(file.getFileName() + TEMPORARY_SUFFIX);
+
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            channel.position(HEADER_SIZE);
+            CRC32C crc = new CRC32C();
+            // Pas de close(): il fermerait le canal avant l'écriture de l'en-tête
+            DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16), crc));
+            for (ApplicationService service : services) {
+                ServiceRecordCodec.write(out, service);
+            }
+            out.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                    .putInt(MAGIC).putInt(VERSION)
+                    .putLong(lastSequence).putLong(nextId)
+                    .putInt(services.size())
+                    .putLong(channel.size() - HEADER_SIZE)
+                    .putInt((int) crc.getValue())
+                    .flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+        forceDirectory(directory);
+        return file;
+    }
+
+    /**
+     * Supprime les snapshots antérieurs à celui donné, et les fichiers temporaires
+     * laissés par une compaction interrompue
+     */
+    static void deleteOlderThan(Path directory, Path kept) throws IOException {
+        for (Path file : snapshots(directory)) {
+            if (!file.equals(kept)) {
+                deleteQuietly(file);
+            }
+        }
+        deleteTemporaryFiles(directory);
+    }
+
+    static void deleteTemporaryFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(path -> path.getFileName().toString().endsWith(TEMPORARY_SUFFIX))
+                    .forEach(SnapshotFile::deleteQuietly);
+        }
+    }
+
+    /**
+     * fsync du répertoire: rend durables la création et le renommage des fichiers
+     * (sans effet sur les systèmes qui ne le permettent pas)
+     */
+    static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.trace("fsync du répertoire {} non supporté", directory);
+        }
+    }
+
+    private static List<Path> snapshots(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> path.getFileName().toString().startsWith(PREFIX)
+                            && path.getFileName().toString().endsWith(SUFFIX))
+                    .sorted(Comparator.comparingLong(SnapshotFile::sequenceOf))
+                    .toList();
+        }
+    }
+
+    private static long sequenceOf(Path snapshot) {
+        String name = snapshot.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    /**
+     * Un ancien snapshot encore projeté en mémoire ne peut pas être supprimé sous
+     * Windows: il le sera à la compaction suivante
+     */
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Suppression de {} reportée: {}", file.getFileName(), e.getMessage());
+        }
+    }
+
+    private static IllegalStateException corrupt(Path file, String reason) {
+        return new IllegalStateException("Snapshot corrompu (" + reason + "): " + file);
+    }
+
+}
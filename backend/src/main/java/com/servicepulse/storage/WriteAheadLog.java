@@ -0,0 +1,460 @@
+package com.servicepulse.storage;
+
+import com.servicepulse.model.ApplicationService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 🎓 JOURNAL D'ÉCRITURES ("write-ahead log") - Ajout seul, par segments
+ *
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 PRINCIPE
+ * ═══════════════════════════════════════════════════════════════════════════════
+ *
+ * Chaque modification est AJOUTÉE en fin de fichier avant d'être appliquée en
+ * mémoire: jamais de réécriture au milieu du fichier, une seule écriture
+ * séquentielle (et un fsync optionnel) par save / saveAll.
+ *
+ * Analogie JavaScript:
+ *   fs.appendFileSync('wal.log', JSON.stringify(change) + '\n');
+ *   memory.apply(change);
+ *
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 FORMAT
+ * ═══════════════════════════════════════════════════════════════════════════════
+ *
+ * Segment wal-<premier numéro>.log:
+ *   int magic "SPWL", int version, long numéro de la première trame
+ *   puis des trames:
+ *     int longueur, int CRC32C   (du contenu qui suit)
+ *     int CRC32C de l'en-tête    (des 8 octets précédents)
+ *     long numéro de séquence    (+1 à chaque trame, sans trou)
+ *     int nombre d'opérations, puis chaque opération:
+ *       byte 1 = UPSERT + service complet (ServiceRecordCodec)
+ *       byte 2 = DELETE + long id
+ *
+ * Une trame = un save ou un saveAll entier: rejouée en entier ou pas du tout.
+ *
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 REPRISE APRÈS CRASH
+ * ═══════════════════════════════════════════════════════════════════════════════
+ *
+ * Un arrêt brutal pendant une écriture laisse une trame incomplète en fin du
+ * DERNIER segment. Elle est coupée (truncate) et les trames précédentes sont
+ * conservées, seulement si:
+ *   - l'en-tête est coupé, ou ne contient que des zéros jusqu'à la fin du fichier
+ *     (pages non écrites lors du crash);
+ *   - ou l'en-tête est intact (son propre CRC est bon) et la trame qu'il annonce
+ *     atteint ou dépasse la fin du fichier: c'est la toute dernière trame.
+ * Tout le reste est une corruption, y compris une longueur altérée qui
+ * "pointerait" au-delà du fichier (détectée par le CRC de l'en-tête): refus de
+ * démarrer plutôt que de perdre des trames valides en silence. Même règle sans
+ * exception pour les segments plus anciens.
+ *
+ * Non thread-safe: appelé sous le verrou d'écriture de LogServiceStore.
+ */
+@Slf4j
+final class WriteAheadLog implements Closeable {
+
+    private static final int MAGIC = 0x5350574C;  // "SPWL"
+    private static final int VERSION = 2;
+    private static final int SEGMENT_HEADER_SIZE = 16;
+    private static final int FRAME_HEADER_SIZE = 12;
+    private static final int MIN_FRAME_SIZE = 12;
+    private static final int MAX_FRAME_SIZE = 256 * 1024 * 1024;
+    private static final byte UPSERT = 1;
+    private static final byte DELETE = 2;
+    private static final String PREFIX = "wal-";
+    private static final String SUFFIX = ".log";
+    private static final byte[] EMPTY_HEADER = new byte[FRAME_HEADER_SIZE];
+
+    /**
+     * Opération d'une trame
+     */
+    sealed interface Operation permits Upsert, Delete {
+    }
+
+    record Upsert(ApplicationService service) implements Operation {
+    }
+
+    record Delete(long id) implements Operation {
+    }
+
+    /**
+     * @param size taille de la trame dans le fichier (en-tête compris)
+     */
+    record Frame(long sequence, List<Operation> operations, int size) {
+    }
+
+    /**
+     * Résultat de la relecture au démarrage
+     */
+    record Replay(long lastSequence, long frames, int segments, long bytes, long truncatedBytes, Path lastSegment) {
+    }
+
+    private final Path directory;
+    private final boolean fsync;
+    private final FrameBuffer buffer = new FrameBuffer();
+    private final DataOutputStream out = new DataOutputStream(buffer);
+    private final CRC32C crc = new CRC32C();
+
+    private Path segment;
+    private FileChannel channel;
+    private long sequence;
+    private boolean failed;
+
+    private WriteAheadLog(Path directory, boolean fsync, long sequence) {
+        this.directory = directory;
+        this.fsync = fsync;
+        this.sequence = sequence;
+    }
+
+    /**
+     * Rejoue les trames postérieures au snapshot (numéro > afterSequence),
+     * coupe une éventuelle trame incomplète en fin de journal
+     *
+     * @throws IllegalStateException si un segment autre que le dernier est corrompu,
+     *                               ou s'il manque des trames
+     */
+    static Replay replay(Path directory, long afterSequence, Consumer<Frame> apply) throws IOException {
+        List<Path> segments = segments(directory);
+        long last = afterSequence;
+        long frames = 0;
+        long bytes = 0;
+        long truncated = 0;
+        Path lastSegment = null;
+
+        for (int i = 0; i < segments.size(); i++) {
+            Path path = segments.get(i);
+            boolean isLast = i == segments.size() - 1;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long size = channel.size();
+                ByteBuffer header = readFully(channel, 0, SEGMENT_HEADER_SIZE);
+                if (header == null || isZeroFilled(channel, 0, size)) {
+                    if (!isLast) {
+                        throw new IllegalStateException("En-tête de segment invalide: " + path);
+                    }
+                    // Crash pendant la création du segment: il ne contient aucune trame
+                    log.warn("Segment {} incomplet ({} octets): supprimé", path.getFileName(), size);
+                    channel.close();
+                    Files.delete(path);
+                    truncated += size;
+                    continue;
+                }
+                if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                    throw new IllegalStateException("En-tête de segment invalide ou version non supportée: " + path);
+                }
+                bytes += size;
+
+                long position = SEGMENT_HEADER_SIZE;
+                while (position < size) {
+                    Frame frame = readFrame(channel, position, size);
+                    if (frame == null) {
+                        // Seule la toute dernière trame peut avoir été interrompue par un crash
+                        if (!isLast || !isTornTail(channel, position, size)) {
+                            throw new IllegalStateException("Trame invalide à l'octet " + position + " de " + path);
+                        }
+                        log.warn("Trame incomplète en fin de journal ({} à l'octet {}): {} octets coupés",
+                                path.getFileName(), position, size - position);
+                        channel.truncate(position);
+                        channel.force(true);
+                        truncated += size - position;
+                        bytes -= size - position;
+                        break;
+                    }
+                    position += frame.size();
+                    if (frame.sequence() <= afterSequence) {
+                        continue;
+                    }
+                    if (frame.sequence() != last + 1) {
+                        throw new IllegalStateException("Trames manquantes dans le journal: attendu "
+                                + (last + 1) + ", lu " + frame.sequence() + " (" + path + ")");
+                    }
+                    apply.accept(frame);
+                    last = frame.sequence();
+                    frames++;
+                }
+                lastSegment = path;
+            }
+        }
+        return new Replay(last, frames, segments.size(), bytes, truncated, lastSegment);
+    }
+
+    /**
+     * Ouvre le journal en écriture après la relecture: ajout à la fin du
+     * dernier segment, ou nouveau segment s'il n'y en a pas
+     */
+    static WriteAheadLog open(Path directory, Replay replay, boolean fsync) throws IOException {
+        WriteAheadLog wal = new WriteAheadLog(directory, fsync, replay.lastSequence());
+        if (replay.lastSegment() != null) {
+            wal.segment = replay.lastSegment();
+            wal.channel = FileChannel.open(wal.segment, StandardOpenOption.WRITE);
+            wal.channel.position(wal.channel.size());
+        } else {
+            wal.startSegment();
+        }
+        return wal;
+    }
+
+    /**
+     * Ajoute une trame (écriture séquentielle, puis fsync si activé)
+     *
+     * @return numéro de séquence de la trame
+     * @throws IOException si l'écriture échoue: la trame n'est pas enregistrée
+     */
+    long append(List<Operation> operations) throws IOException {
+        if (failed) {
+            throw new IOException("Journal inutilisable après une erreur d'écriture: redémarrage nécessaire");
+        }
+        buffer.reset();
+        out.write(EMPTY_HEADER);  // longueur + CRC, renseignés ensuite
+        out.writeLong(sequence + 1);
+        out.writeInt(operations.size());
+        for (Operation operation : operations) {
+            if (operation instanceof Upsert upsert) {
+                out.writeByte(UPSERT);
+                ServiceRecordCodec.write(out, upsert.service());
+            } else if (operation instanceof Delete delete) {
+                out.writeByte(DELETE);
+                out.writeLong(delete.id());
+            }
+        }
+        ByteBuffer frame = buffer.frame(crc);
+
+        long start = channel.position();
+        try {
+            while (frame.hasRemaining()) {
+                channel.write(frame);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            // Retirer la trame partielle: sinon les trames suivantes seraient perdues à la relecture
+            try {
+                channel.truncate(start);
+                channel.position(start);
+            } catch (IOException truncateError) {
+                failed = true;
+                e.addSuppressed(truncateError);
+            }
+            throw e;
+        }
+        return ++sequence;
+    }
+
+    /**
+     * Numéro de la dernière trame écrite
+     */
+    long lastSequence() {
+        return sequence;
+    }
+
+    /**
+     * Taille du segment en cours (déclenche la compaction)
+     */
+    long segmentSize() throws IOException {
+        return channel.size();
+    }
+
+    /**
+     * Les trames suivantes vont dans un nouveau segment (avant un snapshot)
+     *
+     * Segment courant encore sans trame (ex: crash entre une rotation et le
+     * snapshot, puis redémarrage): il sert déjà de suite, rien à changer.
+     * Un nouveau segment porterait d'ailleurs le même nom.
+     */
+    void rotate() throws IOException {
+        if (firstSequence(segment) > sequence) {
+            return;
+        }
+        Path previousSegment = segment;
+        FileChannel previous = channel;
+        startSegment();
+        previous.force(true);
+        previous.close();
+        log.debug("Journal: segment {} fermé, suite dans {}", previousSegment.getFileName(), segment.getFileName());
+    }
+
+    /**
+     * Supprime les segments entièrement couverts par un snapshot
+     * (toutes leurs trames ont un numéro ≤ sequence)
+     */
+    void deleteSegmentsUpTo(long sequence) throws IOException {
+        for (Path path : segments(directory)) {
+            if (!path.equals(segment) && firstSequence(path) <= sequence) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null && channel.isOpen()) {
+            channel.force(true);
+            channel.close();
+        }
+    }
+
+    private void startSegment() throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", PREFIX, sequence + 1, SUFFIX));
+        FileChannel created = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_SIZE)
+                .putInt(MAGIC).putInt(VERSION).putLong(sequence + 1)
+                .flip();
+        while (header.hasRemaining()) {
+            created.write(header);
+        }
+        created.force(true);
+        SnapshotFile.forceDirectory(directory);
+        segment = path;
+        channel = created;
+    }
+
+    /**
+     * Trame invalide en position: fin de journal interrompue par un crash (true)
+     * ou corruption (false)? Voir "REPRISE APRÈS CRASH"
+     */
+    private static boolean isTornTail(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer header = readFully(channel, position, FRAME_HEADER_SIZE);
+        if (header == null) {
+            return true;
+        }
+        if (!isHeaderValid(header)) {
+            return isZeroFilled(channel, position, size);
+        }
+        long declaredEnd = position + FRAME_HEADER_SIZE + header.getInt(0);
+        return declaredEnd >= size;
+    }
+
+    private static boolean isHeaderValid(ByteBuffer header) {
+        CRC32C crc = new CRC32C();
+        crc.update(header.array(), 0, 8);
+        return (int) crc.getValue() == header.getInt(8);
+    }
+
+    /**
+     * Que des zéros de position jusqu'à la fin du fichier?
+     */
+    private static boolean isZeroFilled(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocate(64 * 1024);
+        for (long offset = position; offset < size; ) {
+            chunk.clear();
+            int read = channel.read(chunk, offset);
+            if (read < 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (chunk.get(i) != 0) {
+                    return false;
+                }
+            }
+            offset += read;
+        }
+        return true;
+    }
+
+    /**
+     * @return la trame, ou null si elle est incomplète ou corrompue
+     */
+    private static Frame readFrame(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer header = readFully(channel, position, FRAME_HEADER_SIZE);
+        if (header == null || !isHeaderValid(header)) {
+            return null;
+        }
+        int length = header.getInt();
+        int checksum = header.getInt();
+        if (length < MIN_FRAME_SIZE || length > MAX_FRAME_SIZE || position + FRAME_HEADER_SIZE + length > size) {
+            return null;
+        }
+        ByteBuffer content = readFully(channel, position + FRAME_HEADER_SIZE, length);
+        CRC32C crc = new CRC32C();
+        crc.update(content.duplicate());
+        if ((int) crc.getValue() != checksum) {
+            return null;
+        }
+        try {
+            long sequence = content.getLong();
+            int count = content.getInt();
+            List<Operation> operations = new ArrayList<>(Math.min(count, 1024));
+            for (int i = 0; i < count; i++) {
+                byte type = content.get();
+                if (type == UPSERT) {
+                    operations.add(new Upsert(ServiceRecordCodec.read(content)));
+                } else if (type == DELETE) {
+                    operations.add(new Delete(content.getLong()));
+                } else {
+                    return null;
+                }
+            }
+            return new Frame(sequence, operations, FRAME_HEADER_SIZE + length);
+        } catch (RuntimeException e) {
+            // CRC correct mais contenu illisible: traité comme une trame corrompue
+            return null;
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                return null;
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static List<Path> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> path.getFileName().toString().startsWith(PREFIX)
+                            && path.getFileName().toString().endsWith(SUFFIX))
+                    .sorted(Comparator.comparingLong(WriteAheadLog::firstSequence))
+                    .toList();
+        }
+    }
+
+    private static long firstSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    /**
+     * Tampon réutilisé d'une trame à l'autre, sans copie vers le canal
+     */
+    private static final class FrameBuffer extends ByteArrayOutputStream {
+
+        FrameBuffer() {
+            super(4096);
+        }
+
+        ByteBuffer frame(CRC32C crc) {
+            crc.reset();
+            crc.update(buf, FRAME_HEADER_SIZE, count - FRAME_HEADER_SIZE);
+            ByteBuffer frame = ByteBuffer.wrap(buf, 0, count);
+            frame.putInt(0, count - FRAME_HEADER_SIZE);
+            frame.putInt(4, (int) crc.getValue());
+            crc.reset();
+            crc.update(buf, 0, 8);
+            frame.putInt(8, (int) crc.getValue());
+            return frame;
+        }
+    }
+
+}
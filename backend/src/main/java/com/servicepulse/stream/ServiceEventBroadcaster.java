@@ -0,0 +1,374 @@
+package com.servicepulse.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.servicepulse.event.ServiceChangeEvent.ServiceChange;
+import com.servicepulse.event.ServiceSnapshotUpdatedEvent;
+import com.servicepulse.model.ApplicationService;
+import com.servicepulse.service.ServiceSnapshot;
+import com.servicepulse.service.ServiceSnapshotStore;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 🎓 DIFFUSION SSE - Pousse les changements de statut aux navigateurs
+ * 
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 SERVER-SENT EVENTS
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 
+ * Au lieu que chaque navigateur interroge l'API toutes les 30 secondes,
+ * le serveur garde la connexion ouverte et envoie un message à chaque changement.
+ * 
+ * Analogie JavaScript (côté navigateur):
+ *   const source = new EventSource('/api/services/stream');
+ *   source.addEventListener('change', e => apply(JSON.parse(e.data)));
+ * 
+ * Messages envoyés:
+ * - "snapshot": liste complète (à la connexion, ou pour rattraper un client lent)
+ * - "change":   services créés/modifiés ("upserts") et IDs supprimés ("deletes")
+ * 
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 COÛT INDÉPENDANT DU NOMBRE DE CLIENTS
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 
+ * - Chaque message est sérialisé UNE fois en octets, puis les mêmes octets
+ *   sont écrits sur chaque connexion.
+ * - Chaque abonné a une file bornée. Si elle déborde (client lent), elle est
+ *   remplacée par un unique "snapshot" à jour; si le client n'a toujours pas
+ *   consommé ce snapshot au débordement suivant, il est déconnecté
+ *   (EventSource se reconnecte automatiquement).
+ */
+@Slf4j
+@Component
+public class ServiceEventBroadcaster {
+
+    private static final Frame HEARTBEAT = new Frame(": ping\n\n".getBytes(StandardCharsets.UTF_8), false);
+
+    private final ServiceSnapshotStore snapshotStore;
+    private final ObjectMapper objectMapper;
+    private final int maxSubscribers;
+    private final int maxPendingFrames;
+    private final long emitterTimeoutMillis;
+    private final long stallTimeoutMillis;
+    private final ExecutorService senders;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    /** Dernier message "snapshot" sérialisé (un seul par version) */
+    private volatile Frame snapshotFrame;
+    private volatile long snapshotFrameVersion = -1;
+
+    public ServiceEventBroadcaster(
+            ServiceSnapshotStore snapshotStore,
+            ObjectMapper objectMapper,
+            @Value("${application.stream.max-subscribers}") int maxSubscribers,
+            @Value("${application.stream.max-pending-events}") int maxPendingFrames,
+            @Value("${application.stream.timeout}") long emitterTimeoutMillis,
+            @Value("${application.stream.stall-timeout}") long stallTimeoutMillis,
+            @Value("${application.stream.sender-threads}") int senderThreads) {
+        this.snapshotStore = snapshotStore;
+        this.objectMapper = objectMapper;
+        this.maxSubscribers = maxSubscribers;
+        this.maxPendingFrames = maxPendingFrames;
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        this.stallTimeoutMillis = stallTimeoutMillis;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "sse-sender-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Ouvre un flux pour un nouveau client.
+     * Le snapshot initial et les changements suivants se suivent sans trou ni doublon.
+     */
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Trop de flux ouverts");
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+
+        snapshotStore.withCurrent(snapshot -> {
+            subscribers.add(subscriber);
+            subscriber.offer(snapshotFrame(snapshot));
+        });
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Nouveau snapshot publié: sérialisation unique puis mise en file pour chaque abonné
+     */
+    @EventListener
+    public void onSnapshotUpdated(ServiceSnapshotUpdatedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Frame frame = event.isFullReload()
+                ? snapshotFrame(event.getCurrent())
+                : changeFrame(event.getCurrent(), event.getChanges());
+        if (frame == null) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(frame);
+        }
+    }
+
+    /**
+     * Garde les connexions ouvertes à travers les proxys et détecte les clients
+     * bloqués: un envoi en cours depuis trop longtemps ferme la connexion.
+     */
+    @Scheduled(fixedDelayString = "${application.stream.heartbeat-interval}")
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.isStalled(now)) {
+                log.debug("Client SSE bloqué depuis plus de {} ms, déconnexion", stallTimeoutMillis);
+                subscriber.close();
+            } else {
+                subscriber.offerHeartbeat();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(Subscriber::close);
+        senders.shutdownNow();
+    }
+
+    private Frame snapshotFrame(ServiceSnapshot snapshot) {
+        if (snapshotFrameVersion == snapshot.getVersion()) {
+            return snapshotFrame;
+        }
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("version", snapshot.getVersion());
+        payload.put("services", snapshot.getServices());
+        Frame frame = encode("snapshot", snapshot.getVersion(), payload, true);
+        if (frame != null) {
+            snapshotFrame = frame;
+            snapshotFrameVersion = snapshot.getVersion();
+        }
+        return frame;
+    }
+
+    private Frame changeFrame(ServiceSnapshot snapshot, List<ServiceChange> changes) {
+        Map<Long, ApplicationService> upserts = new LinkedHashMap<>();
+        Set<Long> deletes = new LinkedHashSet<>();
+        for (ServiceChange change : changes) {
+            // On envoie l'état publié dans le snapshot (et non l'entité JPA)
+            Optional<ApplicationService> published = snapshot.findById(change.getServiceId());
+            if (published.isPresent()) {
+                upserts.put(change.getServiceId(), published.get());
+                deletes.remove(change.getServiceId());
+            } else {
+                upserts.remove(change.getServiceId());
+                deletes.add(change.getServiceId());
+            }
+        }
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("version", snapshot.getVersion());
+        payload.put("upserts", upserts.values());
+        payload.put("deletes", deletes);
+        return encode("change", snapshot.getVersion(), payload, false);
+    }
+
+    /**
+     * Construit un message SSE complet en octets:
+     *   id: 42
+     *   event: change
+     *   data: {...}
+     * (le JSON compact de Jackson ne contient pas de saut de ligne)
+     */
+    private Frame encode(String eventName, long version, Object payload, boolean snapshot) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(payload);
+            byte[] header = ("id: " + version + "\nevent: " + eventName + "\ndata: ").getBytes(StandardCharsets.UTF_8);
+            byte[] bytes = Arrays.copyOf(header, header.length + json.length + 2);
+            System.arraycopy(json, 0, bytes, header.length, json.length);
+            bytes[bytes.length - 2] = '\n';
+            bytes[bytes.length - 1] = '\n';
+            return new Frame(bytes, snapshot);
+        } catch (JsonProcessingException e) {
+            log.error("Impossible de sérialiser le message SSE '{}'", eventName, e);
+            return null;
+        }
+    }
+
+    private record Frame(byte[] bytes, boolean snapshot) {
+    }
+
+    /**
+     * Un client connecté: file bornée + envoi séquentiel sur le pool d'envoi
+     */
+    private final class Subscriber implements Runnable {
+
+        private final SseEmitter emitter;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Deque<Frame> pending = new ArrayDeque<>();
+        private boolean scheduled;
+        private boolean resyncPending;
+        private boolean closed;
+        private volatile long sendStartedAt;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(Frame frame) {
+            boolean completeNow = false;
+            lock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                if (pending.size() >= maxPendingFrames) {
+                    if (resyncPending) {
+                        // Le client n'a même pas consommé le dernier rattrapage: on abandonne
+                        completeNow = closeLocked();
+                        return;
+                    }
+                    // Fusion: toute la file est remplacée par l'état courant complet
+                    pending.clear();
+                    frame = snapshotFrame(snapshotStore.current());
+                    if (frame == null) {
+                        return;
+                    }
+                    resyncPending = true;
+                }
+                pending.add(frame);
+                if (!scheduled) {
+                    scheduled = true;
+                    senders.execute(this);
+                }
+            } finally {
+                lock.unlock();
+                if (completeNow) {
+                    emitter.complete();
+                }
+            }
+        }
+
+        void offerHeartbeat() {
+            lock.lock();
+            try {
+                if (pending.isEmpty()) {
+                    offer(HEARTBEAT);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean isStalled(long now) {
+            long startedAt = sendStartedAt;
+            return startedAt != 0 && now - startedAt > stallTimeoutMillis;
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Frame frame;
+                lock.lock();
+                try {
+                    frame = pending.poll();
+                    if (frame == null) {
+                        scheduled = false;
+                        if (!closed) {
+                            return;
+                        }
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                if (frame == null) {
+                    // Fermé pendant un envoi: c'est au thread d'envoi de terminer la réponse
+                    emitter.complete();
+                    return;
+                }
+
+                sendStartedAt = System.currentTimeMillis();
+                try {
+                    emitter.send(Set.of(new DataWithMediaType(frame.bytes(), MediaType.TEXT_EVENT_STREAM)));
+                } catch (IOException | IllegalStateException e) {
+                    // Client parti: on est le thread d'envoi, on peut terminer la réponse
+                    close();
+                    emitter.completeWithError(e);
+                    return;
+                } finally {
+                    sendStartedAt = 0;
+                }
+
+                if (frame.snapshot()) {
+                    lock.lock();
+                    try {
+                        resyncPending = false;
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            }
+        }
+
+        /**
+         * Retire l'abonné. Ne bloque jamais: si un envoi est en cours (client lent),
+         * la réponse sera terminée par le thread d'envoi lorsqu'il rendra la main.
+         */
+        void close() {
+            boolean completeNow;
+            lock.lock();
+            try {
+                completeNow = closeLocked();
+            } finally {
+                lock.unlock();
+            }
+            if (completeNow) {
+                emitter.complete();
+            }
+        }
+
+        /**
+         * @return true si l'appelant doit terminer la réponse (aucun envoi en cours)
+         */
+        private boolean closeLocked() {
+            if (closed) {
+                return false;
+            }
+            closed = true;
+            pending.clear();
+            subscribers.remove(this);
+            return !scheduled;
+        }
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.servicepulse.web;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 🎓 CORPS DE RÉPONSE PRÉ-ENCODÉ
+ * 
+ * Le JSON d'une version du snapshot, en clair et compressé gzip.
+ * Les tableaux d'octets sont partagés entre toutes les requêtes:
+ * ils ne doivent jamais être modifiés.
+ */
+@Getter
+@RequiredArgsConstructor
+public class EncodedBody {
+
+    private final long version;
+    private final byte[] identity;
+
+    /** null si la compression n'apporte rien (petits corps) */
+    private final byte[] gzip;
+
+    /**
+     * Le client accepte-t-il gzip ? (en-tête Accept-Encoding, "q=0" = refusé)
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim();
+            if (!coding.equalsIgnoreCase("gzip") && !coding.equals("*")) {
+                continue;
+            }
+            for (int i = 1; i < tokens.length; i++) {
+                String parameter = tokens[i].trim();
+                if (parameter.startsWith("q=") && isZero(parameter.substring(2))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isZero(String quality) {
+        try {
+            return Double.parseDouble(quality.trim()) == 0.0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+}
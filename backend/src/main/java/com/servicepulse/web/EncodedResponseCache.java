@@ -0,0 +1,201 @@
+package com.servicepulse.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.servicepulse.service.ServiceSnapshot;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 🎓 CACHE DE RÉPONSES PRÉ-SÉRIALISÉES
+ * 
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 POURQUOI ?
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 
+ * Même avec le snapshot en mémoire, Jackson reconvertissait toute la liste en
+ * JSON (puis gzip la compressait) à CHAQUE requête. Or le résultat est le même
+ * pour tout le monde tant que les données ne changent pas.
+ * 
+ * Analogie JavaScript:
+ *   let cached = { version: -1 };
+ *   if (cached.version !== snapshot.version) {
+ *       const json = Buffer.from(JSON.stringify(data));
+ *       cached = { version: snapshot.version, json, gzip: zlib.gzipSync(json) };
+ *   }
+ *   res.end(acceptsGzip ? cached.gzip : cached.json);
+ * 
+ * Chaque variante (JSON brut + gzip) est donc calculée UNE fois par version
+ * du snapshot, puis les mêmes octets sont écrits sur chaque socket.
+ * 
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 📚 RECONSTRUCTION EN ARRIÈRE-PLAN
+ * ═══════════════════════════════════════════════════════════════════════════════
+ * 
+ * Avec 10 000 services, la liste pèse ~2,4 Mo: la réencoder prend du temps.
+ * Si les lecteurs l'attendaient à chaque nouvelle version, un flot de
+ * changements (sondes) bloquerait toutes les lectures de la liste.
+ * 
+ * - Nouvelle version disponible → UN thread dédié ("response-encoder")
+ *   encode la ressource, toujours à partir du snapshot le plus récent
+ *   demandé (les versions intermédiaires sont sautées)
+ * - Pendant ce temps, les lecteurs reçoivent le corps précédent, avec SON
+ *   ETag (sa propre version): un client n'associe jamais d'anciens octets
+ *   à une nouvelle version
+ * - Seule la toute première requête (rien à servir) encode elle-même
+ * 
+ * Analogie JavaScript (stale-while-revalidate):
+ *   if (stale && !rebuilding) { rebuilding = true; setImmediate(rebuild); }
+ *   res.end(cached.json);
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EncodedResponseCache {
+
+    /**
+     * Réponses mises en cache
+     */
+    public enum Resource {
+        SERVICES,
+        ALERTS,
+        HEALTH_SUMMARY
+    }
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<Resource, Slot> slots = new EnumMap<>(Map.of(
+            Resource.SERVICES, new Slot(),
+            Resource.ALERTS, new Slot(),
+            Resource.HEALTH_SUMMARY, new Slot()
+    ));
+
+    private final ExecutorService encoder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "response-encoder");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Corps encodé de la ressource pour ce snapshot, ou le précédent tant
+     * que la nouvelle version est en cours d'encodage
+     * 
+     * @param body construit l'objet à sérialiser à partir du snapshot
+     */
+    public EncodedBody get(Resource resource, ServiceSnapshot snapshot, Function<ServiceSnapshot, Object> body) {
+        Slot slot = slots.get(resource);
+        EncodedBody cached = slot.body;
+        if (cached != null && cached.getVersion() >= snapshot.getVersion()) {
+            return cached;
+        }
+        if (cached == null) {
+            return encodeFirst(slot, snapshot, body);
+        }
+        slot.requested = new Request(snapshot, body);
+        if (slot.rebuilding.compareAndSet(false, true)) {
+            encoder.execute(() -> rebuild(slot));
+        }
+        return cached;
+    }
+
+    @PreDestroy
+    void close() throws InterruptedException {
+        encoder.shutdownNow();
+        encoder.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Premier appel: rien à servir, un seul thread encode et les autres l'attendent
+     */
+    private EncodedBody encodeFirst(Slot slot, ServiceSnapshot snapshot, Function<ServiceSnapshot, Object> body) {
+        slot.firstBuild.lock();
+        try {
+            EncodedBody cached = slot.body;
+            if (cached == null) {
+                cached = encode(snapshot.getVersion(), body.apply(snapshot));
+                slot.body = cached;
+            }
+            return cached;
+        } finally {
+            slot.firstBuild.unlock();
+        }
+    }
+
+    /**
+     * Thread "response-encoder": encode la dernière version demandée, puis
+     * recommence si une version plus récente est arrivée pendant l'encodage
+     */
+    private void rebuild(Slot slot) {
+        do {
+            try {
+                Request request = slot.requested;
+                if (isStale(slot, request)) {
+                    slot.body = encode(request.snapshot().getVersion(), request.body().apply(request.snapshot()));
+                }
+            } catch (RuntimeException e) {
+                // Le corps précédent reste servi; la prochaine lecture relancera l'encodage
+                log.warn("Encodage de la réponse impossible", e);
+                return;
+            } finally {
+                slot.rebuilding.set(false);
+            }
+            // Une demande arrivée juste avant la remise à zéro du drapeau n'a pas relancé d'encodage
+        } while (isStale(slot, slot.requested) && slot.rebuilding.compareAndSet(false, true));
+    }
+
+    private static boolean isStale(Slot slot, Request request) {
+        EncodedBody cached = slot.body;
+        return request != null && (cached == null || cached.getVersion() < request.snapshot().getVersion());
+    }
+
+    private EncodedBody encode(long version, Object value) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(value);
+            byte[] gzip = gzip(json);
+            // gzip n'a d'intérêt que s'il réduit effectivement la taille
+            return new EncodedBody(version, json, gzip.length < json.length ? gzip : null);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Impossible de sérialiser la réponse", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        // Niveau par défaut: BEST_COMPRESSION gagne quelques % pour un encodage bien plus lent
+        try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Snapshot demandé par un lecteur, et comment en construire le corps
+     */
+    private record Request(ServiceSnapshot snapshot, Function<ServiceSnapshot, Object> body) {
+    }
+
+    private static final class Slot {
+        private final ReentrantLock firstBuild = new ReentrantLock();
+        private final AtomicBoolean rebuilding = new AtomicBoolean();
+        private volatile EncodedBody body;
+        private volatile Request requested;
+    }
+
+}
@@ -0,0 +1,67 @@
+-- ═══════════════════════════════════════════════════════════════════════════════
+-- V1 - SCHÉMA INITIAL (profil prod, appliqué par Flyway)
+-- Analogie JS: une migration Knex / Sequelize "up", jouée une seule fois par base
+--
+-- Ne jamais modifier un fichier déjà appliqué: ajouter un V2__..., V3__...
+-- (Flyway vérifie la somme de contrôle de chaque migration au démarrage)
+-- Hibernate vérifie ensuite que les entités correspondent (ddl-auto: validate)
+-- ═══════════════════════════════════════════════════════════════════════════════
+
+CREATE TABLE application_services (
+    id                      BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name                    VARCHAR(100)  NOT NULL,
+    description             VARCHAR(500),
+    status                  VARCHAR(255)  NOT NULL
+        CHECK (status IN ('OPERATIONAL', 'DEGRADED', 'MAINTENANCE', 'OUTAGE')),
+    maintenance_message     VARCHAR(1000),
+    last_updated            TIMESTAMP(6),
+    created_at              TIMESTAMP(6),
+    -- Sonde active (ProbeDefinition, colonnes nulles = pas de sonde)
+    probe_http_url          VARCHAR(500),
+    probe_tcp_host          VARCHAR(255),
+    probe_tcp_port          INTEGER CHECK (probe_tcp_port BETWEEN 1 AND 65535),
+    probe_interval_seconds  INTEGER CHECK (probe_interval_seconds BETWEEN 1 AND 3600),
+    probe_timeout_millis    INTEGER CHECK (probe_timeout_millis BETWEEN 100 AND 60000),
+    probe_failure_threshold INTEGER CHECK (probe_failure_threshold BETWEEN 1 AND 100),
+    probe_success_threshold INTEGER CHECK (probe_success_threshold BETWEEN 1 AND 100),
+    CONSTRAINT uk_services_name UNIQUE (name)
+);
+
+-- Filtre par statut et pagination par curseur (statut + ordre de tri + id):
+-- la première colonne de chaque index sert aussi aux recherches sur status / last_updated seuls
+CREATE INDEX idx_services_status_id              ON application_services (status, id);
+CREATE INDEX idx_services_status_name            ON application_services (status, name);
+CREATE INDEX idx_services_last_updated_id        ON application_services (last_updated, id);
+CREATE INDEX idx_services_status_last_updated_id ON application_services (status, last_updated, id);
+
+CREATE TABLE users (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username    VARCHAR(255) NOT NULL,
+    password    VARCHAR(255) NOT NULL,
+    full_name   VARCHAR(255) NOT NULL,
+    enabled     BOOLEAN      NOT NULL,
+    token_epoch BIGINT       NOT NULL DEFAULT 0,
+    -- Index unique: recherche par username à chaque connexion
+    CONSTRAINT uk_users_username UNIQUE (username)
+);
+
+CREATE TABLE user_roles (
+    user_id BIGINT       NOT NULL,
+    role    VARCHAR(255),
+    CONSTRAINT fk_user_roles_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+-- Chargement des rôles d'un utilisateur (collection EAGER)
+CREATE INDEX idx_user_roles_user_id ON user_roles (user_id);
+
+CREATE TABLE probe_results (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    service_id  BIGINT       NOT NULL,
+    checked_at  TIMESTAMP(6) NOT NULL,
+    success     BOOLEAN      NOT NULL,
+    latency_ms  BIGINT       NOT NULL,
+    detail      VARCHAR(255)
+);
+
+CREATE INDEX idx_probe_results_service_checked ON probe_results (service_id, checked_at);
+CREATE INDEX idx_probe_results_checked         ON probe_results (checked_at);
@@ -0,0 +1,93 @@
+package com.servicepulse.catalog;
+
+import com.servicepulse.dto.ImportReport;
+import com.servicepulse.model.ApplicationService;
+import com.servicepulse.model.ServiceStatus;
+import com.servicepulse.service.ApplicationServiceService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 🎓 IMPORT CMDB - Le statut en direct n'est pas écrasé par défaut
+ *
+ * Une synchronisation sans colonne "status" (ou sans champ "status") met à
+ * jour la description mais laisse le statut et le message des services
+ * existants intacts; les nouveaux services démarrent en OPERATIONAL.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "application.probes.enabled=false")
+class CatalogImporterTest {
+
+    @Autowired
+    private CatalogImporter catalogImporter;
+
+    @Autowired
+    private ApplicationServiceService serviceService;
+
+    @Test
+    void csvWithoutStatusColumnKeepsLiveStatus() throws IOException {
+        ApplicationService down = outage("csv-panne");
+        String created = "csv-nouveau-" + System.nanoTime();
+
+        ImportReport report = importCatalog(CatalogFormat.CSV, """
+                name,description
+                %s,Décrit par la CMDB
+                %s,Nouveau service
+                """.formatted(down.getName(), created));
+
+        assertThat(report.getFailed()).isZero();
+        ApplicationService updated = serviceService.getServiceById(down.getId()).orElseThrow();
+        assertThat(updated.getDescription()).isEqualTo("Décrit par la CMDB");
+        assertThat(updated.getStatus()).isEqualTo(ServiceStatus.OUTAGE);
+        assertThat(updated.getMaintenanceMessage()).isEqualTo("[Sonde] HTTP 503");
+        assertThat(serviceService.getServiceByName(created).orElseThrow().getStatus())
+                .isEqualTo(ServiceStatus.OPERATIONAL);
+    }
+
+    @Test
+    void ndjsonWithoutStatusFieldKeepsLiveStatus() throws IOException {
+        ApplicationService down = outage("ndjson-panne");
+
+        importCatalog(CatalogFormat.NDJSON,
+                "{\"name\":\"%s\",\"description\":\"Décrit par la CMDB\"}\n".formatted(down.getName()));
+
+        ApplicationService updated = serviceService.getServiceById(down.getId()).orElseThrow();
+        assertThat(updated.getStatus()).isEqualTo(ServiceStatus.OUTAGE);
+        assertThat(updated.getMaintenanceMessage()).isEqualTo("[Sonde] HTTP 503");
+    }
+
+    @Test
+    void explicitStatusAndEmptyMessageAreApplied() throws IOException {
+        ApplicationService down = outage("csv-retour");
+
+        importCatalog(CatalogFormat.CSV, """
+                name,status,maintenanceMessage
+                %s,OPERATIONAL,
+                """.formatted(down.getName()));
+
+        ApplicationService updated = serviceService.getServiceById(down.getId()).orElseThrow();
+        assertThat(updated.getStatus()).isEqualTo(ServiceStatus.OPERATIONAL);
+        assertThat(updated.getMaintenanceMessage()).isNull();
+    }
+
+    private ApplicationService outage(String prefix) {
+        ApplicationService service = serviceService.createService(ApplicationService.builder()
+                .name(prefix + "-" + System.nanoTime())
+                .status(ServiceStatus.OPERATIONAL)
+                .build());
+        return serviceService.updateServiceStatus(service.getId(), ServiceStatus.OUTAGE, "[Sonde] HTTP 503");
+    }
+
+    private ImportReport importCatalog(CatalogFormat format, String body) throws IOException {
+        return catalogImporter.importCatalog(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format);
+    }
+
+}
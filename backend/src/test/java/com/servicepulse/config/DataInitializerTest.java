@@ -0,0 +1,78 @@
+package com.servicepulse.config;
+
+import com.servicepulse.model.User;
+import com.servicepulse.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 🎓 COMPTES INITIAUX EN PROFIL PROD - Jamais "admin / password"
+ */
+class DataInitializerTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+
+    @Test
+    void refusesToCreateAdminWithoutPassword() {
+        when(userRepository.existsByUsername("admin")).thenReturn(false);
+
+        assertThatThrownBy(() -> production("").init())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("ADMIN_PASSWORD");
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void createsOnlyAdminWithConfiguredPassword() {
+        when(userRepository.existsByUsername("admin")).thenReturn(false);
+        ArgumentCaptor<User> saved = ArgumentCaptor.forClass(User.class);
+
+        production("s3cret-admin").init();
+
+        verify(userRepository).save(saved.capture());
+        assertThat(saved.getValue().getUsername()).isEqualTo("admin");
+        assertThat(passwordEncoder.matches("s3cret-admin", saved.getValue().getPassword())).isTrue();
+        verify(userRepository, never()).existsByUsername("lecteur");
+    }
+
+    @Test
+    void refusesStoredAdminWithDefaultPassword() {
+        User admin = User.builder().username("admin").password(DataInitializer.DEFAULT_PASSWORD_HASH).build();
+        when(userRepository.existsByUsername("admin")).thenReturn(true);
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
+
+        assertThatThrownBy(() -> production("").init())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("mot de passe par défaut");
+    }
+
+    @Test
+    void refusesAnyHashOfDefaultPassword() {
+        User admin = User.builder().username("admin").password(passwordEncoder.encode("password")).build();
+        when(userRepository.existsByUsername("admin")).thenReturn(true);
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
+
+        assertThatThrownBy(() -> production("").init()).isInstanceOf(IllegalStateException.class);
+    }
+
+    private DataInitializer production(String adminPassword) {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles("prod");
+        return new DataInitializer(userRepository, passwordEncoder, environment, adminPassword);
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.servicepulse.history;
+
+import com.servicepulse.dto.StatusTransition;
+import com.servicepulse.event.ServiceChangeEvent.ServiceChange;
+import com.servicepulse.event.ServiceSnapshotUpdatedEvent;
+import com.servicepulse.model.ApplicationService;
+import com.servicepulse.model.ServiceStatus;
+import com.servicepulse.service.ServiceSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 🎓 HISTORIQUE - Statuts constatés vs changements datés, recyclage des messages
+ */
+class StatusHistoryTest {
+
+    @Test
+    void fullReloadOnlyObservesStatesThatDiffer() {
+        StatusHistory history = new StatusHistory(90);
+        ServiceSnapshot boot = ServiceSnapshot.of(1, List.of(
+                service(1L, ServiceStatus.OPERATIONAL, null),
+                service(2L, ServiceStatus.OUTAGE, "panne")));
+        history.onSnapshotUpdated(new ServiceSnapshotUpdatedEvent(ServiceSnapshot.empty(), boot, List.of()));
+
+        // Réconciliation sans écart: aucune transition fabriquée
+        ServiceSnapshot reload = ServiceSnapshot.of(2, boot.getServices());
+        history.onSnapshotUpdated(new ServiceSnapshotUpdatedEvent(boot, reload, List.of()));
+
+        List<StatusTransition> timeline = history.timeline(2L, null, null);
+        assertThat(timeline).hasSize(1);
+        assertThat(timeline.get(0).isObserved()).isTrue();
+        assertThat(timeline.get(0).getMaintenanceMessage()).isEqualTo("panne");
+
+        // Écriture de l'application: changement daté
+        ApplicationService repaired = service(2L, ServiceStatus.OPERATIONAL, null);
+        ServiceSnapshot updated = reload.apply(3, List.of(ServiceChange.upsert(repaired)));
+        history.onSnapshotUpdated(new ServiceSnapshotUpdatedEvent(reload, updated, List.of(ServiceChange.upsert(repaired))));
+
+        // Écart détecté par la réconciliation: constaté, pas daté
+        ServiceSnapshot drifted = ServiceSnapshot.of(4, List.of(
+                service(1L, ServiceStatus.DEGRADED, null),
+                service(2L, ServiceStatus.OPERATIONAL, null)));
+        history.onSnapshotUpdated(new ServiceSnapshotUpdatedEvent(updated, drifted, List.of()));
+
+        assertThat(history.timeline(2L, null, null)).extracting(StatusTransition::isObserved).containsExactly(true, false);
+        assertThat(history.timeline(1L, null, null)).extracting(StatusTransition::isObserved).containsExactly(true, true);
+        assertThat(history.timeline(1L, null, null)).extracting(StatusTransition::getStatus)
+                .containsExactly(ServiceStatus.OPERATIONAL, ServiceStatus.DEGRADED);
+    }
+
+    @Test
+    void releasedMessageRefsAreReused() {
+        MessageTable messages = new MessageTable();
+        int kept = messages.intern("Maintenance planifiée");
+        int dropped = messages.intern("[Sonde] connexion refusée");
+
+        BitSet used = new BitSet();
+        used.set(kept);
+        assertThat(messages.release(used)).isEqualTo(1);
+        assertThat(messages.get(dropped)).isNull();
+
+        assertThat(messages.intern("[Sonde] délai dépassé")).isEqualTo(dropped);
+        assertThat(messages.intern("Maintenance planifiée")).isEqualTo(kept);
+        assertThat(messages.size()).isEqualTo(2);
+    }
+
+    private static ApplicationService service(Long id, ServiceStatus status, String message) {
+        ApplicationService service = new ApplicationService();
+        service.setId(id);
+        service.setName("svc-" + id);
+        service.setStatus(status);
+        service.setMaintenanceMessage(message);
+        return service;
+    }
+
+}
@@ -0,0 +1,260 @@
+package com.servicepulse.history;
+
+import com.servicepulse.dto.ServiceUptime;
+import com.servicepulse.dto.SlaReport;
+import com.servicepulse.event.ServiceChangeEvent.ServiceChange;
+import com.servicepulse.event.ServiceSnapshotUpdatedEvent;
+import com.servicepulse.model.ApplicationService;
+import com.servicepulse.model.ServiceStatus;
+import com.servicepulse.service.ServiceSnapshot;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static com.servicepulse.history.ServiceRollup.DAY;
+import static com.servicepulse.history.ServiceRollup.HOUR;
+import static com.servicepulse.history.ServiceRollup.MINUTE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * 🎓 AGRÉGATS vs RECALCUL NAÏF - Séquences de transitions aléatoires
+ *
+ * Chaque séquence (créations, changements de statut, suppressions,
+ * rechargements complets sur plus d'un an) alimente UptimeRollups et,
+ * en parallèle, une simple liste de transitions. À intervalles aléatoires,
+ * /uptime et /sla sont comparés au recalcul direct sur cette liste:
+ *   transitions.filter(inWindow).reduce((totals, t) => totals[t.status] += overlap)
+ *
+ * Seules les tranches "minute" aux deux bords de la fenêtre sont comptées au
+ * prorata: au plus une minute d'écart par bord et par statut.
+ */
+class UptimeRollupsTest {
+
+    private static final int MAX_WINDOW_DAYS = 365;
+    private static final long EDGE_TOLERANCE = 2 * MINUTE;
+    private static final List<String> WINDOWS = List.of("1m", "90m", "24h", "7d", "30d", "90d", "365d");
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    /**
+     * Historique brut d'un service: instant → statut, depuis sa première observation
+     */
+    private record Timeline(long observedFrom, TreeMap<Long, ServiceStatus> transitions) {
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 2, 3, 4, 5})
+    void rollupsMatchNaiveRecomputation(long seed) {
+        Random random = new Random(seed);
+        UptimeRollups rollups = new UptimeRollups(MAX_WINDOW_DAYS);
+
+        // Instant de départ quelconque, non aligné sur la minute
+        long now = 1_700_000_000_000L + random.nextInt((int) DAY);
+        long version = 1;
+        Map<Long, ApplicationService> services = new TreeMap<>();
+        Map<Long, Timeline> timelines = new TreeMap<>();
+        long nextId = 1;
+        ServiceSnapshot previous = ServiceSnapshot.empty();
+        int queries = 0;
+
+        while (queries < 400) {
+            now += randomDelay(random);
+            List<ServiceChange> changes = new ArrayList<>();
+            int action = random.nextInt(100);
+
+            if (action < 10 || services.size() < 3) {
+                ApplicationService created = service(nextId++, randomStatus(random));
+                services.put(created.getId(), created);
+                changes.add(ServiceChange.upsert(created));
+            } else if (action < 13) {
+                Long id = randomKey(services, random);
+                services.remove(id);
+                changes.add(ServiceChange.delete(id));
+            } else if (action < 18) {
+                // Rechargement complet: statuts modifiés hors de l'application
+                for (Long id : new ArrayList<>(services.keySet())) {
+                    if (random.nextInt(4) == 0) {
+                        services.put(id, service(id, randomStatus(random)));
+                    }
+                }
+            } else {
+                Long id = randomKey(services, random);
+                ApplicationService updated = service(id, randomStatus(random));
+                services.put(id, updated);
+                changes.add(ServiceChange.upsert(updated));
+            }
+
+            ServiceSnapshot current = ServiceSnapshot.of(version++, services.values());
+            rollups.apply(new ServiceSnapshotUpdatedEvent(previous, current, changes), now);
+            previous = current;
+            recordNaive(timelines, services, now);
+
+            if (random.nextInt(4) == 0) {
+                long to = now + randomDelay(random) / 4;
+                String window = WINDOWS.get(random.nextInt(WINDOWS.size()));
+                assertUptimeMatches(rollups, services, timelines, window, to);
+                assertSlaMatches(rollups, current, timelines, window, to);
+                queries++;
+            }
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────────
+
+    private void assertUptimeMatches(UptimeRollups rollups, Map<Long, ApplicationService> services,
+                                     Map<Long, Timeline> timelines, String window, long to) {
+        long from = to - rollups.parseWindow(window).toMillis();
+        for (ApplicationService service : services.values()) {
+            ServiceUptime uptime = rollups.uptime(service, window, to).orElseThrow();
+            Timeline timeline = timelines.get(service.getId());
+            long[] expected = naiveTimeInState(timeline, from, to);
+            String scenario = "service " + service.getId() + ", fenêtre " + window + ", to=" + to;
+
+            for (ServiceStatus status : ServiceStatus.values()) {
+                assertThat(uptime.getMillisByStatus().get(status))
+                        .as(scenario + ", " + status)
+                        .isCloseTo(expected[status.ordinal()], within(EDGE_TOLERANCE));
+            }
+            long observedStart = Math.max(from, timeline.observedFrom());
+            assertThat(uptime.getObservedMillis()).as(scenario)
+                    .isCloseTo(to - observedStart, within(EDGE_TOLERANCE * ServiceStatus.values().length));
+            assertThat(uptime.getFrom()).as(scenario).isEqualTo(toDateTime(observedStart));
+            assertThat(uptime.getObservedSince()).as(scenario).isEqualTo(toDateTime(timeline.observedFrom()));
+            assertThat(uptime.isWindowClamped()).as(scenario).isEqualTo(timeline.observedFrom() > from);
+
+            long accountable = accountable(expected);
+            if (accountable >= HOUR) {
+                assertThat(uptime.getAvailability()).as(scenario)
+                        .isCloseTo(naiveAvailability(expected), within(availabilityTolerance(accountable)));
+            }
+        }
+    }
+
+    private void assertSlaMatches(UptimeRollups rollups, ServiceSnapshot snapshot,
+                                  Map<Long, Timeline> timelines, String window, long to) {
+        double target = 99.0;
+        SlaReport report = rollups.sla(snapshot, window, target, to);
+        long from = to - rollups.parseWindow(window).toMillis();
+
+        assertThat(report.getServices()).hasSize(snapshot.size());
+        double sum = 0;
+        double tolerance = 0;
+        for (ApplicationService service : snapshot.getServices()) {
+            long[] expected = naiveTimeInState(timelines.get(service.getId()), from, to);
+            double availability = naiveAvailability(expected);
+            double serviceTolerance = availabilityTolerance(accountable(expected));
+            sum += availability;
+            tolerance = Math.max(tolerance, serviceTolerance);
+
+            // Au ras de l'objectif, l'écart de bord peut faire basculer le service: on ne conclut pas
+            if (Math.abs(availability - target) > serviceTolerance) {
+                assertThat(report.getBreaches().contains(service.getId()))
+                        .as("service " + service.getId() + " sous l'objectif, fenêtre " + window)
+                        .isEqualTo(availability < target);
+            }
+        }
+        if (tolerance < 1) {
+            assertThat(report.getFleetAvailability()).isCloseTo(sum / snapshot.size(), within(tolerance));
+        }
+        boolean clamped = snapshot.getServices().stream()
+                .anyMatch(service -> timelines.get(service.getId()).observedFrom() > from);
+        assertThat(report.isWindowClamped()).isEqualTo(clamped);
+    }
+
+    /**
+     * Même modèle que l'application, sans tranche: une transition par changement
+     * de statut, l'historique d'un service supprimé est oublié
+     */
+    private static void recordNaive(Map<Long, Timeline> timelines, Map<Long, ApplicationService> services, long now) {
+        timelines.keySet().retainAll(services.keySet());
+        for (ApplicationService service : services.values()) {
+            Timeline timeline = timelines.computeIfAbsent(service.getId(),
+                    id -> new Timeline(now, new TreeMap<>(Map.of(now, service.getStatus()))));
+            if (timeline.transitions().lastEntry().getValue() != service.getStatus()) {
+                timeline.transitions().put(now, service.getStatus());
+            }
+        }
+    }
+
+    /**
+     * Recouvrement de chaque période [transition, suivante) avec [from, to)
+     */
+    private static long[] naiveTimeInState(Timeline timeline, long from, long to) {
+        long[] totals = new long[ServiceStatus.values().length];
+        List<Map.Entry<Long, ServiceStatus>> entries = new ArrayList<>(timeline.transitions().entrySet());
+        for (int i = 0; i < entries.size(); i++) {
+            long start = entries.get(i).getKey();
+            long end = i + 1 < entries.size() ? entries.get(i + 1).getKey() : to;
+            long overlap = Math.min(end, to) - Math.max(start, from);
+            if (overlap > 0) {
+                totals[entries.get(i).getValue().ordinal()] += overlap;
+            }
+        }
+        return totals;
+    }
+
+    private static long accountable(long[] totals) {
+        long observed = 0;
+        for (long value : totals) {
+            observed += value;
+        }
+        return observed - totals[ServiceStatus.MAINTENANCE.ordinal()];
+    }
+
+    private static double naiveAvailability(long[] totals) {
+        long accountable = accountable(totals);
+        return accountable <= 0
+                ? 100.0
+                : 100.0 * (accountable - totals[ServiceStatus.OUTAGE.ordinal()]) / accountable;
+    }
+
+    /**
+     * Écart de bord sur OUTAGE et sur le temps comptable (observé - MAINTENANCE)
+     */
+    private static double availabilityTolerance(long accountable) {
+        long edge = 3 * EDGE_TOLERANCE;
+        return accountable <= 2 * edge ? 100.0 : 100.0 * edge / (accountable - edge);
+    }
+
+    /**
+     * Secondes, minutes, heures ou jours: les périodes tombent dans toutes les tranches
+     */
+    private static long randomDelay(Random random) {
+        return switch (random.nextInt(4)) {
+            case 0 -> 1 + random.nextInt((int) MINUTE);
+            case 1 -> 1 + random.nextInt((int) HOUR);
+            case 2 -> 1 + random.nextInt((int) (6 * HOUR));
+            default -> 1 + (long) (random.nextDouble() * 4 * DAY);
+        };
+    }
+
+    private static ServiceStatus randomStatus(Random random) {
+        return ServiceStatus.values()[random.nextInt(ServiceStatus.values().length)];
+    }
+
+    private static Long randomKey(Map<Long, ApplicationService> services, Random random) {
+        List<Long> keys = new ArrayList<>(services.keySet());
+        return keys.get(random.nextInt(keys.size()));
+    }
+
+    private static ApplicationService service(long id, ServiceStatus status) {
+        ApplicationService service = new ApplicationService();
+        service.setId(id);
+        service.setName("svc-" + id);
+        service.setStatus(status);
+        return service;
+    }
+
+    private static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZONE);
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.servicepulse.probe;
+
+import com.servicepulse.dto.BulkStatusUpdateResponse;
+import com.servicepulse.dto.StatusUpdateItem;
+import com.servicepulse.dto.StatusUpdateResult;
+import com.servicepulse.event.ServiceSnapshotUpdatedEvent;
+import com.servicepulse.model.ApplicationService;
+import com.servicepulse.model.ProbeDefinition;
+import com.servicepulse.model.ServiceStatus;
+import com.servicepulse.service.ApplicationServiceService;
+import com.servicepulse.service.ServiceSnapshot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 🎓 MOTEUR DE SONDES - Les bascules de statut sont appliquées par lots
+ *
+ * 50 cibles tombent pendant que le thread "probe-status" est occupé par une
+ * première écriture: les suivantes partent ensemble, en un seul appel à
+ * updateServiceStatuses (un snapshot, un événement), pas une par service.
+ */
+class ProbeEngineTest {
+
+    private static final int TARGETS = 50;
+
+    private final ApplicationServiceService serviceService = mock(ApplicationServiceService.class);
+    private final ProbeExecutor executor = mock(ProbeExecutor.class);
+    private final ProbeEngine engine =
+            new ProbeEngine(serviceService, executor, mock(ProbeResultWriter.class), true, 0.1, 1000);
+
+    @AfterEach
+    void shutdown() {
+        engine.shutdown();
+    }
+
+    @Test
+    void flipsQueuedDuringAnUpdateAreAppliedTogether() throws InterruptedException {
+        List<ApplicationService> services = new ArrayList<>();
+        for (long id = 1; id <= TARGETS; id++) {
+            ApplicationService service = new ApplicationService();
+            service.setId(id);
+            service.setName("svc-" + id);
+            service.setStatus(ServiceStatus.OPERATIONAL);
+            service.setProbe(ProbeDefinition.builder()
+                    .httpUrl("http://localhost/" + id).intervalSeconds(1).failureThreshold(1).build());
+            services.add(service);
+            when(serviceService.getServiceById(id)).thenReturn(Optional.of(service));
+        }
+        when(executor.probe(anyLong(), any(), anyInt())).thenAnswer(call -> CompletableFuture.completedFuture(
+                new ProbeResult(call.getArgument(0), Instant.now(), false, 1, "HTTP 503")));
+
+        CountDownLatch firstUpdate = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<List<StatusUpdateItem>> calls = new CopyOnWriteArrayList<>();
+        when(serviceService.updateServiceStatuses(any())).thenAnswer(call -> {
+            List<StatusUpdateItem> items = call.getArgument(0);
+            calls.add(items);
+            firstUpdate.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new BulkStatusUpdateResponse(items.size(), 0,
+                    items.stream().map(item -> StatusUpdateResult.updated(item.getId())).toList());
+        });
+
+        engine.onSnapshotUpdated(new ServiceSnapshotUpdatedEvent(
+                ServiceSnapshot.empty(), ServiceSnapshot.of(1, services), List.of()));
+
+        // Premier passage de chaque cible dans la première seconde; la 1re écriture bloque le thread
+        assertThat(firstUpdate.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(1200);
+        release.countDown();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (calls.stream().mapToInt(List::size).sum() < TARGETS && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        // Une écriture pour la première bascule, UNE pour toutes celles arrivées pendant ce temps
+        List<List<StatusUpdateItem>> applied = List.copyOf(calls);
+        assertThat(applied).hasSizeGreaterThanOrEqualTo(2);
+        assertThat(applied.get(0).size() + applied.get(1).size()).isEqualTo(TARGETS);
+        assertThat(applied.get(1)).allSatisfy(item -> {
+            assertThat(item.getStatus()).isEqualTo(ServiceStatus.OUTAGE);
+            assertThat(item.getMessage()).isEqualTo(ProbeEngine.MESSAGE_PREFIX + "HTTP 503");
+        });
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.servicepulse.probe;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 🎓 ÉCRITURE PAR LOTS - File pleine sans blocage, arrêt sans interruption
+ */
+class ProbeResultWriterTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void fullQueueDropsWithoutWaiting() throws InterruptedException {
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        answerBatches(batch -> {
+            flushing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+        });
+        ProbeResultWriter writer = new ProbeResultWriter(jdbcTemplate, meterRegistry, 2, 1, 1000, 3600000);
+
+        // Le thread écrivain est bloqué sur le premier lot: la file (2 places) se remplit
+        assertThat(writer.submit(result(1))).isTrue();
+        assertThat(flushing.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(writer.submit(result(2))).isTrue();
+        assertThat(writer.submit(result(3))).isTrue();
+
+        long start = System.nanoTime();
+        assertThat(writer.submit(result(4))).isFalse();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(20);
+        assertThat(meterRegistry.counter("probe.results.dropped").count()).isEqualTo(1);
+
+        release.countDown();
+        writer.shutdown();
+    }
+
+    @Test
+    void shutdownWritesEverythingWithoutInterruptingTheBatch() throws InterruptedException {
+        AtomicInteger rows = new AtomicInteger();
+        AtomicBoolean interrupted = new AtomicBoolean();
+        answerBatches(batch -> {
+            Thread.sleep(50);  // lève InterruptedException si le thread est interrompu
+            interrupted.compareAndSet(false, Thread.currentThread().isInterrupted());
+            rows.addAndGet(batch.size());
+        });
+        ProbeResultWriter writer = new ProbeResultWriter(jdbcTemplate, meterRegistry, 1000, 10, 200, 3600000);
+        for (int i = 0; i < 95; i++) {
+            assertThat(writer.submit(result(i))).isTrue();
+        }
+
+        writer.shutdown();
+
+        assertThat(interrupted).isFalse();
+        assertThat(rows.get()).isEqualTo(95);
+        assertThat(meterRegistry.counter("probe.results.dropped").count()).isZero();
+    }
+
+    private interface BatchAnswer {
+        void write(Collection<ProbeResult> batch) throws InterruptedException;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void answerBatches(BatchAnswer answer) {
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class))).thenAnswer(call -> {
+            Collection<ProbeResult> batch = call.getArgument(1);
+            answer.write(batch);
+            return new int[][]{new int[batch.size()]};
+        });
+    }
+
+    private static ProbeResult result(long serviceId) {
+        return new ProbeResult(serviceId, Instant.now(), true, 1, "HTTP 204");
+    }
+
+}
@@ -0,0 +1,153 @@
+package com.servicepulse.repository;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.servicepulse.catalog.CatalogFormat;
+import com.servicepulse.catalog.CatalogImporter;
+import com.servicepulse.dto.StatusUpdateItem;
+import com.servicepulse.model.ApplicationService;
+import com.servicepulse.model.ServiceStatus;
+import com.servicepulse.service.ApplicationServiceService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 🎓 CACHE DE SECOND NIVEAU - Les lectures cachées voient chaque écriture
+ *
+ * Pour chaque chemin d'écriture (statut seul, statuts par lot, import), on
+ * chauffe findById / findByName / findByStatus, on écrit, puis on relit:
+ *   - les valeurs relues sont les nouvelles (pas de donnée périmée)
+ *   - les compteurs de Statistics prouvent que le cache a bien servi
+ *     (succès avant l'écriture, échec du cache de requêtes juste après)
+ *
+ * Serveur réel (port aléatoire): l'URI "classpath:hibernate-cache.conf" est
+ * résolue par le gestionnaire d'URL que Tomcat enregistre au démarrage.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "application.probes.enabled=false")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private ApplicationServiceRepository repository;
+
+    @Autowired
+    private ApplicationServiceService serviceService;
+
+    @Autowired
+    private CatalogImporter catalogImporter;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private ApplicationService service;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        service = serviceService.createService(ApplicationService.builder()
+                .name("cache-test-" + System.nanoTime())
+                .description("Service du test de cache")
+                .status(ServiceStatus.OPERATIONAL)
+                .build());
+    }
+
+    @Test
+    void updateServiceStatusIsVisibleThroughCachedReads() {
+        warmUp(ServiceStatus.OPERATIONAL);
+
+        serviceService.updateServiceStatus(service.getId(), ServiceStatus.OUTAGE, "Panne");
+
+        assertFresh(ServiceStatus.OPERATIONAL, ServiceStatus.OUTAGE, "Panne");
+    }
+
+    @Test
+    void updateServiceStatusesIsVisibleThroughCachedReads() {
+        warmUp(ServiceStatus.OPERATIONAL);
+
+        serviceService.updateServiceStatuses(List.of(
+                new StatusUpdateItem(service.getId(), ServiceStatus.DEGRADED, "Lenteurs")));
+
+        assertFresh(ServiceStatus.OPERATIONAL, ServiceStatus.DEGRADED, "Lenteurs");
+    }
+
+    @Test
+    void catalogImportIsVisibleThroughCachedReads() throws Exception {
+        warmUp(ServiceStatus.OPERATIONAL);
+
+        String line = "{\"name\":\"" + service.getName() + "\",\"description\":\"Importé\","
+                + "\"status\":\"MAINTENANCE\",\"maintenanceMessage\":\"Migration\"}\n";
+        catalogImporter.importCatalog(new ByteArrayInputStream(line.getBytes(StandardCharsets.UTF_8)), CatalogFormat.NDJSON);
+
+        assertFresh(ServiceStatus.OPERATIONAL, ServiceStatus.MAINTENANCE, "Migration");
+        assertThat(repository.findById(service.getId()).orElseThrow().getDescription()).isEqualTo("Importé");
+    }
+
+    @Test
+    void updateTimestampsRegionIsNeitherBoundedNorExpiring() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        JCacheRegionFactory regionFactory = (JCacheRegionFactory) sessionFactory.getServiceRegistry()
+                .getService(RegionFactory.class);
+        CaffeineConfiguration<?, ?> configuration = regionFactory.getCacheManager()
+                .getCache("default-update-timestamps-region")
+                .getConfiguration(CaffeineConfiguration.class);
+
+        assertThat(configuration.getMaximumSize()).isEmpty();
+        assertThat(configuration.getExpireAfterWrite()).isEmpty();
+        assertThat(configuration.getExpireAfterAccess()).isEmpty();
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Deux lectures de chaque sorte: la seconde doit venir du cache
+     */
+    private void warmUp(ServiceStatus status) {
+        for (int i = 0; i < 2; i++) {
+            repository.findById(service.getId()).orElseThrow();
+            repository.findByName(service.getName()).orElseThrow();
+            repository.findByStatus(status);
+        }
+        statistics.clear();
+        repository.findById(service.getId()).orElseThrow();
+        repository.findByName(service.getName()).orElseThrow();
+        repository.findByStatus(status);
+
+        assertThat(statistics.getSecondLevelCacheHitCount()).as("entités lues depuis le cache").isPositive();
+        assertThat(statistics.getQueryCacheHitCount()).as("findByName + findByStatus depuis le cache").isEqualTo(2);
+        assertThat(statistics.getQueryCacheMissCount()).isZero();
+        statistics.clear();
+    }
+
+    private void assertFresh(ServiceStatus before, ServiceStatus after, String message) {
+        ApplicationService byId = repository.findById(service.getId()).orElseThrow();
+        assertThat(byId.getStatus()).isEqualTo(after);
+        assertThat(byId.getMaintenanceMessage()).isEqualTo(message);
+
+        // Requêtes invalidées par l'écriture: relues en base, puis de nouveau cachées
+        ApplicationService byName = repository.findByName(service.getName()).orElseThrow();
+        assertThat(byName.getStatus()).isEqualTo(after);
+        assertThat(repository.findByStatus(after)).extracting(ApplicationService::getId).contains(service.getId());
+        assertThat(repository.findByStatus(before)).extracting(ApplicationService::getId).doesNotContain(service.getId());
+        assertThat(statistics.getQueryCacheMissCount()).as("résultats périmés écartés").isEqualTo(3);
+
+        repository.findByName(service.getName()).orElseThrow();
+        repository.findByStatus(after);
+        assertThat(statistics.getQueryCacheHitCount()).as("résultats frais remis en cache").isEqualTo(2);
+        assertThat(statistics.getSecondLevelCacheHitCount()).as("entité mise à jour servie par le cache").isPositive();
+    }
+
+}
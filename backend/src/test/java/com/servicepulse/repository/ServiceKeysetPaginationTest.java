@@ -0,0 +1,175 @@
+package com.servicepulse.repository;
+
+import com.servicepulse.dto.ServicePage;
+import com.servicepulse.dto.ServiceSummary;
+import com.servicepulse.model.ApplicationService;
+import com.servicepulse.model.ServiceStatus;
+import com.servicepulse.service.ApplicationServiceService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 🎓 PAGINATION PAR CURSEUR - Égalités de tri et lastUpdated NULL
+ *
+ * La colonne last_updated accepte NULL (lignes migrées ou écrites en SQL brut):
+ * ces lignes passent en dernier, et un curseur posé sur l'une d'elles doit
+ * s'encoder puis reprendre sans NullPointerException.
+ *
+ * Pour chaque tri, parcourir les pages une à une doit rendre exactement la
+ * même liste qu'une seule grande page: aucune ligne sautée ni répétée,
+ * même quand plusieurs lignes partagent le même nom ou la même date.
+ *
+ * Analogie JavaScript:
+ *   let after = null, seen = [];
+ *   do { const page = await list({ sort, after, limit: 2 }); seen.push(...page.items); after = page.nextCursor; }
+ *   while (after);
+ *   expect(seen).toEqual((await list({ sort, limit: 500 })).items);
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "application.probes.enabled=false")
+class ServiceKeysetPaginationTest {
+
+    private static final LocalDateTime RECENT = LocalDateTime.of(2999, 1, 1, 12, 0);
+    private static final LocalDateTime OLDER = RECENT.minusHours(1);
+
+    @Autowired
+    private ApplicationServiceService serviceService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void lastUpdatedPagesKeepTiesAndPutNullsLast() {
+        String prefix = "keyset-" + System.nanoTime() + "-";
+        List<Long> recent = create(prefix + "recent-", 3, RECENT);
+        List<Long> older = create(prefix + "older-", 2, OLDER);
+        List<Long> never = create(prefix + "never-", 3, null);
+
+        List<ServiceSummary> paged = walk("lastUpdated", 2);
+
+        assertThat(paged).isEqualTo(onePage("lastUpdated"));
+        // Plus récent d'abord, id décroissant à date égale, NULL en dernier
+        List<Long> expected = new ArrayList<>();
+        for (List<Long> group : List.of(recent, older, never)) {
+            List<Long> descending = new ArrayList<>(group);
+            Collections.reverse(descending);
+            expected.addAll(descending);
+        }
+        assertThat(idsOf(paged, expected)).isEqualTo(expected);
+        assertThat(paged.get(paged.size() - 1).getLastUpdated()).isNull();
+    }
+
+    @Test
+    void cursorOnANullLastUpdatedRoundTrips() {
+        ServiceSummary row = new ServiceSummary(7L, "jamais-mis-a-jour", ServiceStatus.DEGRADED, null);
+
+        ServiceCursor cursor = ServiceCursor.decode(ServiceSort.LAST_UPDATED,
+                ServiceCursor.after(ServiceSort.LAST_UPDATED, row).encode());
+
+        assertThat(cursor.getLastUpdated()).isNull();
+        assertThat(cursor.getId()).isEqualTo(7L);
+        assertThat(cursor.precedes(new ServiceSummary(6L, "b", ServiceStatus.DEGRADED, null))).isTrue();
+        assertThat(cursor.precedes(new ServiceSummary(8L, "c", ServiceStatus.DEGRADED, null))).isFalse();
+        assertThat(cursor.precedes(new ServiceSummary(1L, "d", ServiceStatus.DEGRADED, OLDER))).isFalse();
+    }
+
+    @Test
+    void namePagesAreStableInTheDatabase() {
+        String prefix = "keyset-" + System.nanoTime() + "-";
+        create(prefix + "b", 1, RECENT);
+        create(prefix + "a", 1, null);
+        create(prefix + "ab", 1, RECENT);
+
+        assertThat(walk("name", 2)).isEqualTo(onePage("name"));
+    }
+
+    @Test
+    void inMemoryPagesHandleTiesOnNameAndLastUpdated() {
+        // Chemin du moteur "log" et de la recherche: tri + precedes, sans SQL
+        List<ServiceSummary> rows = List.of(
+                new ServiceSummary(1L, "gateway", ServiceStatus.OPERATIONAL, RECENT),
+                new ServiceSummary(2L, "gateway", ServiceStatus.OPERATIONAL, RECENT),
+                new ServiceSummary(3L, "billing", ServiceStatus.OPERATIONAL, null),
+                new ServiceSummary(4L, "gateway", ServiceStatus.OPERATIONAL, null),
+                new ServiceSummary(5L, "billing", ServiceStatus.OPERATIONAL, OLDER),
+                new ServiceSummary(6L, "auth", ServiceStatus.OPERATIONAL, RECENT));
+
+        for (ServiceSort sort : ServiceSort.values()) {
+            List<ServiceSummary> sorted = new ArrayList<>(rows);
+            sorted.sort(sort.comparator());
+
+            List<ServiceSummary> paged = new ArrayList<>();
+            ServiceCursor cursor = null;
+            while (paged.size() < rows.size()) {
+                ServiceCursor after = cursor;
+                List<ServiceSummary> page = sorted.stream()
+                        .filter(row -> after == null || after.precedes(row))
+                        .limit(2)
+                        .toList();
+                assertThat(page).as("page vide avant la fin (tri %s)", sort).isNotEmpty();
+                paged.addAll(page);
+                cursor = ServiceCursor.decode(sort, ServiceCursor.after(sort, page.get(page.size() - 1)).encode());
+            }
+
+            assertThat(paged).as("tri %s", sort).isEqualTo(sorted);
+        }
+        List<ServiceSummary> byDate = new ArrayList<>(rows);
+        byDate.sort(ServiceSort.LAST_UPDATED.comparator());
+        assertThat(byDate).extracting(ServiceSummary::getId).containsExactly(6L, 2L, 1L, 5L, 4L, 3L);
+    }
+
+    /**
+     * Crée les services puis fixe last_updated en SQL (le @PreUpdate de l'entité l'écraserait)
+     */
+    private List<Long> create(String name, int count, LocalDateTime lastUpdated) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ApplicationService service = serviceService.createService(ApplicationService.builder()
+                    .name(count == 1 ? name : name + i)
+                    .description("Service du test de pagination")
+                    .status(ServiceStatus.DEGRADED)
+                    .build());
+            jdbcTemplate.update("UPDATE application_services SET last_updated = ? WHERE id = ?",
+                    lastUpdated == null ? null : Timestamp.valueOf(lastUpdated), service.getId());
+            ids.add(service.getId());
+        }
+        return ids;
+    }
+
+    private List<ServiceSummary> walk(String sort, int limit) {
+        List<ServiceSummary> rows = new ArrayList<>();
+        String after = null;
+        do {
+            ServicePage<ServiceSummary> page = serviceService.getServiceSummaries(
+                    ServiceStatus.DEGRADED, null, sort, after, limit);
+            rows.addAll(page.getItems());
+            after = page.getNextCursor();
+        } while (after != null);
+        return rows;
+    }
+
+    private List<ServiceSummary> onePage(String sort) {
+        ServicePage<ServiceSummary> page = serviceService.getServiceSummaries(
+                ServiceStatus.DEGRADED, null, sort, null, ApplicationServiceService.MAX_PAGE_SIZE);
+        assertThat(page.getNextCursor()).isNull();
+        return page.getItems();
+    }
+
+    /**
+     * IDs de la liste paginée qui appartiennent au test, dans l'ordre rendu
+     */
+    private static List<Long> idsOf(List<ServiceSummary> rows, List<Long> ours) {
+        return rows.stream().map(ServiceSummary::getId).filter(ours::contains).toList();
+    }
+
+}
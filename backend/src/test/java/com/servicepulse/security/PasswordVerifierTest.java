@@ -0,0 +1,78 @@
+package com.servicepulse.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 🎓 POOL BCRYPT - Taille selon les cœurs, file bornée par l'attente prévue
+ */
+class PasswordVerifierTest {
+
+    @Test
+    void defaultPoolUsesHalfTheCores() {
+        assertThat(PasswordVerifier.defaultThreads(1)).isEqualTo(1);
+        assertThat(PasswordVerifier.defaultThreads(2)).isEqualTo(1);
+        assertThat(PasswordVerifier.defaultThreads(8)).isEqualTo(4);
+
+        PasswordVerifier verifier = new PasswordVerifier(blocking(new CountDownLatch(0)),
+                new SimpleMeterRegistry(), 0, 1000);
+        assertThat(verifier.getThreads())
+                .isEqualTo(PasswordVerifier.defaultThreads(Runtime.getRuntime().availableProcessors()));
+        verifier.shutdown();
+    }
+
+    @Test
+    void rejectsWhenExpectedWaitExceedsTheBound() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        // 1 thread, 250 ms d'attente max, ~100 ms par hash (estimation initiale)
+        PasswordVerifier verifier = new PasswordVerifier(blocking(release), meterRegistry, 1, 250);
+
+        List<CompletableFuture<Boolean>> accepted = new ArrayList<>();
+        accepted.add(verifier.matches("a", "hash"));  // en cours
+        accepted.add(verifier.matches("b", "hash"));  // ~100 ms d'attente
+        accepted.add(verifier.matches("c", "hash"));  // ~200 ms d'attente
+        assertThatThrownBy(() -> verifier.matches("d", "hash"))  // ~300 ms: refusée
+                .isInstanceOf(RejectedExecutionException.class);
+        assertThat(meterRegistry.counter("auth.password.rejected").count()).isEqualTo(1);
+
+        release.countDown();
+        for (CompletableFuture<Boolean> verification : accepted) {
+            assertThat(verification.get(5, TimeUnit.SECONDS)).isTrue();
+        }
+        // File vidée: de nouveau acceptée
+        assertThat(verifier.matches("e", "hash").get(5, TimeUnit.SECONDS)).isTrue();
+        verifier.shutdown();
+    }
+
+    private static PasswordEncoder blocking(CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                try {
+                    return release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        };
+    }
+
+}
@@ -0,0 +1,144 @@
+package com.servicepulse.security;
+
+import com.servicepulse.event.UserChangeEvent;
+import com.servicepulse.model.User;
+import com.servicepulse.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 🎓 RÉVOCATION DES TOKENS - Mode claims, avec et sans cache de tokens vérifiés
+ *
+ * Un utilisateur se connecte (vrai POST /api/auth/login), son token est accepté,
+ * puis l'utilisateur est désactivé ou change de rôles: l'ancien token doit
+ * recevoir un 401, qu'il soit encore dans VerifiedTokenCache (succès du cache)
+ * ou qu'il doive être revérifié (échec du cache).
+ *
+ * Analogie JavaScript:
+ *   const token = await login(user);
+ *   await users.update(user.id, { enabled: false });
+ *   expect((await fetch("/api/auth/me", { headers: bearer(token) })).status).toBe(401);
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "application.probes.enabled=false")
+class TokenRevocationTest {
+
+    private static final String PASSWORD = "revocation-secret";
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private TokenEpochs tokenEpochs;
+
+    @Autowired
+    private VerifiedTokenCache tokenCache;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .username("revocation-" + System.nanoTime())
+                .password(passwordEncoder.encode(PASSWORD))
+                .fullName("Utilisateur révocable")
+                .roles(new HashSet<>(Set.of("ROLE_ADMIN")))
+                .enabled(true)
+                .build());
+    }
+
+    @Test
+    void disabledUserTokenIsRejectedOnCacheMiss() {
+        String token = login();
+        assertThat(me(token).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(tokenCache.get(tokenCache.keyOf(token))).isNotNull();
+
+        User stored = userRepository.findById(user.getId()).orElseThrow();
+        stored.setEnabled(false);
+        userRepository.save(stored);
+
+        // Entrée retirée par le UserChangeEvent: le token est revérifié
+        assertThat(tokenCache.get(tokenCache.keyOf(token))).isNull();
+        assertThat(me(token).getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(tokenCache.get(tokenCache.keyOf(token))).isNull();
+    }
+
+    @Test
+    void roleChangeRejectsPreviousTokenAndNewLoginSeesNewRoles() {
+        String token = login();
+        assertThat(me(token).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        User stored = userRepository.findById(user.getId()).orElseThrow();
+        stored.setRoles(new HashSet<>(Set.of("ROLE_USER")));
+        userRepository.save(stored);
+
+        assertThat(me(token).getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+
+        ResponseEntity<Map> fresh = me(login());
+        assertThat(fresh.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(fresh.getBody()).containsEntry("roles", List.of("ROLE_USER"));
+    }
+
+    @Test
+    void cachedTokenIsRejectedAsSoonAsTheEpochMoves() {
+        String token = login();
+        assertThat(me(token).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        // Époque déjà avancée mais entrée encore en cache (ordre des listeners après commit)
+        long epoch = userRepository.findById(user.getId()).orElseThrow().getTokenEpoch();
+        tokenEpochs.onUserChanged(new UserChangeEvent(user.getId(), epoch + 1, true));
+        assertThat(tokenCache.get(tokenCache.keyOf(token))).isNotNull();
+
+        assertThat(me(token).getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void tokenWithoutUserIdOrEpochIsRejected() {
+        // Signé par nous, rôles et nom présents: seuls uid et epoch manquent
+        String token = jwtService.generateToken(user.getUsername(), Map.of(
+                JwtService.CLAIM_ROLES, List.of("ROLE_ADMIN"),
+                JwtService.CLAIM_FULL_NAME, user.getFullName()));
+
+        assertThat(me(token).getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(tokenCache.get(tokenCache.keyOf(token))).isNull();
+    }
+
+    private String login() {
+        ResponseEntity<Map> response = rest.postForEntity("/api/auth/login",
+                Map.of("username", user.getUsername(), "password", PASSWORD), Map.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return (String) response.getBody().get("token");
+    }
+
+    private ResponseEntity<Map> me(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        return rest.exchange("/api/auth/me", HttpMethod.GET, new HttpEntity<>(headers), Map.class);
+    }
+
+}
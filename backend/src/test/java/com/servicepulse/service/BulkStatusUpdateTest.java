@@ -0,0 +1,195 @@
+package com.servicepulse.service;
+
+import com.servicepulse.dto.BulkStatusUpdateResponse;
+import com.servicepulse.dto.StatusUpdateItem;
+import com.servicepulse.dto.StatusUpdateResult;
+import com.servicepulse.dto.StatusUpdateResult.Outcome;
+import com.servicepulse.event.ServiceChangeEvent;
+import com.servicepulse.model.ApplicationService;
+import com.servicepulse.model.ServiceStatus;
+import com.servicepulse.repository.UserRepository;
+import com.servicepulse.security.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+
+/**
+ * 🎓 MISE À JOUR GROUPÉE DES STATUTS - updateServiceStatuses et PATCH /api/services/status
+ *
+ * - un résultat par élément, dans l'ordre de la requête (UPDATED, NOT_FOUND, INVALID)
+ * - un ID en double n'est appliqué pour aucune de ses occurrences
+ * - au plus MAX_BULK_STATUS_UPDATES éléments par lot
+ * - UN seul ServiceChangeEvent par lot, quelle que soit sa taille
+ * - l'endpoint exige un token (le GET /status/{status} reste public)
+ *
+ * Analogie JavaScript:
+ *   const res = await fetch("/api/services/status", { method: "PATCH", headers: bearer(token), body });
+ *   expect((await res.json()).results.map(r => r.outcome)).toEqual(["UPDATED", "NOT_FOUND", ...]);
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "application.probes.enabled=false")
+@RecordApplicationEvents
+class BulkStatusUpdateTest {
+
+    private static final long MISSING_ID = Long.MAX_VALUE;
+
+    @Autowired
+    private ApplicationServiceService serviceService;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private ApplicationService first;
+    private ApplicationService second;
+    private ApplicationService third;
+
+    @BeforeEach
+    void setUp() {
+        first = create();
+        second = create();
+        third = create();
+        events.clear();
+    }
+
+    @Test
+    void reportsOneResultPerItemInRequestOrder() {
+        BulkStatusUpdateResponse response = serviceService.updateServiceStatuses(List.of(
+                new StatusUpdateItem(first.getId(), ServiceStatus.OUTAGE, "Panne"),
+                new StatusUpdateItem(MISSING_ID, ServiceStatus.OUTAGE, null),
+                new StatusUpdateItem(second.getId(), ServiceStatus.DEGRADED, null),
+                new StatusUpdateItem(third.getId(), null, null),
+                new StatusUpdateItem(second.getId(), ServiceStatus.MAINTENANCE, null)));
+
+        assertThat(response.getResults()).extracting(StatusUpdateResult::getId, StatusUpdateResult::getOutcome)
+                .containsExactly(
+                        tuple(first.getId(), Outcome.UPDATED),
+                        tuple(MISSING_ID, Outcome.NOT_FOUND),
+                        tuple(second.getId(), Outcome.INVALID),
+                        tuple(third.getId(), Outcome.INVALID),
+                        tuple(second.getId(), Outcome.INVALID));
+        assertThat(response.getUpdated()).isEqualTo(1);
+        assertThat(response.getFailed()).isEqualTo(4);
+
+        // Seul l'élément valide est appliqué: ni l'ID en double ni le statut absent
+        assertThat(statusOf(first)).isEqualTo(ServiceStatus.OUTAGE);
+        assertThat(statusOf(second)).isEqualTo(ServiceStatus.OPERATIONAL);
+        assertThat(statusOf(third)).isEqualTo(ServiceStatus.OPERATIONAL);
+        assertThat(changeEvents()).singleElement()
+                .satisfies(event -> assertThat(event.getChanges()).hasSize(1));
+    }
+
+    @Test
+    void publishesASingleChangeEventPerBatch() {
+        serviceService.updateServiceStatuses(List.of(
+                new StatusUpdateItem(first.getId(), ServiceStatus.OUTAGE, null),
+                new StatusUpdateItem(second.getId(), ServiceStatus.DEGRADED, null),
+                new StatusUpdateItem(third.getId(), ServiceStatus.MAINTENANCE, "Migration")));
+
+        assertThat(changeEvents()).singleElement().satisfies(event -> assertThat(event.getChanges())
+                .extracting(ServiceChangeEvent.ServiceChange::getServiceId)
+                .containsExactlyInAnyOrder(first.getId(), second.getId(), third.getId()));
+    }
+
+    @Test
+    void acceptsUpToTheCapAndRejectsOneMore() {
+        BulkStatusUpdateResponse response = serviceService.updateServiceStatuses(
+                missingItems(ApplicationServiceService.MAX_BULK_STATUS_UPDATES));
+
+        assertThat(response.getUpdated()).isZero();
+        assertThat(response.getResults()).hasSize(ApplicationServiceService.MAX_BULK_STATUS_UPDATES)
+                .allMatch(result -> result.getOutcome() == Outcome.NOT_FOUND);
+        // Rien d'appliqué: aucun événement
+        assertThat(changeEvents()).isEmpty();
+
+        List<StatusUpdateItem> overCap = missingItems(ApplicationServiceService.MAX_BULK_STATUS_UPDATES + 1);
+        assertThatThrownBy(() -> serviceService.updateServiceStatuses(overCap))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> serviceService.updateServiceStatuses(List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void endpointRequiresAuthentication() {
+        List<StatusUpdateItem> body = List.of(new StatusUpdateItem(first.getId(), ServiceStatus.OUTAGE, null));
+
+        assertThat(patch(body, null).getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(statusOf(first)).isEqualTo(ServiceStatus.OPERATIONAL);
+
+        String token = jwtService.generateToken(userRepository.findByUsername("admin").orElseThrow());
+        ResponseEntity<BulkStatusUpdateResponse> accepted = patch(body, token);
+        assertThat(accepted.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(accepted.getBody().getUpdated()).isEqualTo(1);
+        assertThat(statusOf(first)).isEqualTo(ServiceStatus.OUTAGE);
+
+        List<StatusUpdateItem> overCap = missingItems(ApplicationServiceService.MAX_BULK_STATUS_UPDATES + 1);
+        assertThat(patch(overCap, token).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    private ApplicationService create() {
+        return serviceService.createService(ApplicationService.builder()
+                .name("bulk-test-" + System.nanoTime())
+                .description("Service du test de mise à jour groupée")
+                .status(ServiceStatus.OPERATIONAL)
+                .build());
+    }
+
+    private ServiceStatus statusOf(ApplicationService service) {
+        return serviceService.getServiceById(service.getId()).orElseThrow().getStatus();
+    }
+
+    private List<ServiceChangeEvent> changeEvents() {
+        return events.stream(ServiceChangeEvent.class).toList();
+    }
+
+    private static List<StatusUpdateItem> missingItems(int count) {
+        List<StatusUpdateItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(new StatusUpdateItem(MISSING_ID - i, ServiceStatus.OUTAGE, null));
+        }
+        return items;
+    }
+
+    /**
+     * Client du JDK: celui par défaut (HttpURLConnection) ne sait pas envoyer PATCH
+     */
+    private ResponseEntity<BulkStatusUpdateResponse> patch(List<StatusUpdateItem> body, String token) {
+        TestRestTemplate rest = new TestRestTemplate(new RestTemplateBuilder()
+                .requestFactory(JdkClientHttpRequestFactory.class)
+                .rootUri("http://localhost:" + port));
+        HttpHeaders headers = new HttpHeaders();
+        if (token != null) {
+            headers.setBearerAuth(token);
+        }
+        return rest.exchange("/api/services/status", HttpMethod.PATCH, new HttpEntity<>(body, headers),
+                BulkStatusUpdateResponse.class);
+    }
+
+}
@@ -0,0 +1,323 @@
+package com.servicepulse.storage;
+
+import com.servicepulse.model.ApplicationService;
+import com.servicepulse.model.ServiceStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 🎓 REPRISE APRÈS CRASH - Journal coupé à des positions aléatoires
+ *
+ * On écrit N trames en notant, après chacune, la taille du journal et l'état
+ * attendu. Couper le fichier à un octet quelconque simule un arrêt brutal
+ * pendant l'écriture suivante: la reprise doit retrouver exactement l'état
+ * de la dernière trame complète, et ne jamais réattribuer un id déjà donné.
+ */
+class LogServiceStoreRecoveryTest {
+
+    private static final int FRAMES = 200;
+    private static final int CUTS = 60;
+
+    @TempDir
+    Path root;
+
+    /**
+     * État attendu après une trame: services par id + plus grand id attribué
+     */
+    private record Checkpoint(long walSize, Map<Long, String> services, long maxAssignedId) {
+    }
+
+    @Test
+    void truncatedLogRecoversEveryCompleteFrame() throws Exception {
+        Path source = root.resolve("source");
+        List<Checkpoint> checkpoints = writeHistory(source, false);
+        Path segment = lastSegment(source);
+        long headerEnd = checkpoints.get(0).walSize();
+        long fullSize = Files.size(segment);
+
+        Random random = new Random(42);
+        for (int i = 0; i < CUTS; i++) {
+            long cut = headerEnd + (long) (random.nextDouble() * (fullSize - headerEnd));
+            Path copy = copyOf(source, "cut-" + i);
+            truncate(lastSegment(copy), cut);
+
+            Checkpoint expected = lastCheckpointWithin(checkpoints, cut);
+            assertRecovered(copy, expected, "coupure à l'octet " + cut);
+        }
+    }
+
+    @Test
+    void truncatedLogAfterSnapshotKeepsSnapshotAndTail() throws Exception {
+        Path source = root.resolve("source");
+        List<Checkpoint> checkpoints = writeHistory(source, true);
+        long fullSize = Files.size(lastSegment(source));
+
+        // Points de contrôle du segment écrit après le snapshot
+        long tailStart = checkpoints.get(0).walSize();
+
+        Random random = new Random(7);
+        for (int i = 0; i < CUTS; i++) {
+            long cut = tailStart + (long) (random.nextDouble() * (fullSize - tailStart));
+            Path copy = copyOf(source, "cut-" + i);
+            truncate(lastSegment(copy), cut);
+
+            assertRecovered(copy, lastCheckpointWithin(checkpoints, cut), "coupure à l'octet " + cut);
+        }
+    }
+
+    @Test
+    void nextIdSurvivesDeletionOfHighestIds() throws Exception {
+        Path directory = root.resolve("store");
+        LogServiceStore store = open(directory);
+        for (int i = 0; i < 10; i++) {
+            store.save(service("svc-" + i, ServiceStatus.OPERATIONAL));
+        }
+        store.compact();
+        store.deleteById(10L);
+        store.deleteById(9L);
+        store.close();
+
+        LogServiceStore reopened = open(directory);
+        assertThat(reopened.existsById(9L)).isFalse();
+        assertThat(reopened.save(service("after", ServiceStatus.OPERATIONAL)).getId()).isEqualTo(11L);
+        reopened.close();
+    }
+
+    @Test
+    void corruptedByteInTheMiddleOfTheLogAbortsStartup() throws Exception {
+        Path source = root.resolve("source");
+        List<Checkpoint> checkpoints = writeHistory(source, false);
+        Checkpoint middle = checkpoints.get(FRAMES / 2);
+
+        // Contenu d'une trame du milieu (après son en-tête de 12 octets)
+        Path content = copyOf(source, "content");
+        flipByte(lastSegment(content), middle.walSize() + 20);
+        assertThatThrownBy(() -> open(content)).isInstanceOf(IllegalStateException.class);
+
+        // Champ longueur: une longueur altérée ne doit pas passer pour une fin de journal
+        Path length = copyOf(source, "length");
+        flipByte(lastSegment(length), middle.walSize() + 1);
+        assertThatThrownBy(() -> open(length)).isInstanceOf(IllegalStateException.class);
+
+        // Rien n'a été coupé: les trames valides restent sur disque pour analyse
+        assertThat(Files.size(lastSegment(length))).isEqualTo(Files.size(lastSegment(source)));
+    }
+
+    @Test
+    void zeroFilledTailIsTreatedAsTornWrite() throws Exception {
+        Path source = root.resolve("source");
+        List<Checkpoint> checkpoints = writeHistory(source, false);
+        Path segment = lastSegment(source);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4096), channel.size());
+        }
+        assertRecovered(source, checkpoints.get(checkpoints.size() - 1), "fin remplie de zéros");
+    }
+
+    @Test
+    void crashBetweenRotationAndSnapshotIsCompactedOnRestart() throws Exception {
+        Path directory = root.resolve("store");
+        LogServiceStore store = open(directory);
+        for (int i = 0; i < 10; i++) {
+            store.save(service("svc-" + i, ServiceStatus.OPERATIONAL));
+        }
+        store.close();
+
+        // Compaction interrompue: nouveau segment vide créé, snapshot jamais écrit
+        WriteAheadLog.Replay replay = WriteAheadLog.replay(directory, 0, frame -> {
+        });
+        WriteAheadLog wal = WriteAheadLog.open(directory, replay, false);
+        wal.rotate();
+        wal.close();
+        assertThat(files(directory, "wal-")).hasSize(2);
+
+        // Deux segments à la reprise → compaction planifiée; close() attend sa fin
+        LogServiceStore restarted = open(directory);
+        assertThat(restarted.findAll()).hasSize(10);
+        restarted.close();
+
+        assertThat(files(directory, "wal-")).hasSize(1);
+        assertThat(files(directory, "snapshot-")).hasSize(1);
+
+        LogServiceStore again = open(directory);
+        assertThat(again.findAll()).hasSize(10);
+        assertThat(again.save(service("after", ServiceStatus.OPERATIONAL)).getId()).isEqualTo(11L);
+        again.close();
+    }
+
+    @Test
+    void readsReturnCopiesOfStoredServices() throws Exception {
+        LogServiceStore store = open(root.resolve("store"));
+        Long id = store.save(service("svc", ServiceStatus.OPERATIONAL)).getId();
+
+        store.findAll().get(0).setStatus(ServiceStatus.OUTAGE);
+        store.streamAll().forEach(service -> service.setDescription("modifiée hors journal"));
+
+        ApplicationService stored = store.findById(id).orElseThrow();
+        assertThat(stored.getStatus()).isEqualTo(ServiceStatus.OPERATIONAL);
+        assertThat(stored.getDescription()).isEqualTo("description de svc");
+        store.close();
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Créations, mises à jour, lots et suppressions: une trame par appel
+     */
+    private List<Checkpoint> writeHistory(Path directory, boolean compactHalfway) throws IOException, InterruptedException {
+        LogServiceStore store = open(directory);
+        List<Checkpoint> checkpoints = new ArrayList<>();
+        Map<Long, String> state = new TreeMap<>();
+        long maxId = 0;
+        checkpoints.add(new Checkpoint(Files.size(lastSegment(directory)), Map.copyOf(state), maxId));
+
+        Random random = new Random(1);
+        for (int frame = 1; frame <= FRAMES; frame++) {
+            int action = random.nextInt(10);
+            if (action < 5 || state.isEmpty()) {
+                ApplicationService created = store.save(service("svc-" + frame, ServiceStatus.OPERATIONAL));
+                maxId = Math.max(maxId, created.getId());
+                state.put(created.getId(), describe(created));
+            } else if (action < 7) {
+                List<ApplicationService> batch = new ArrayList<>();
+                for (Long id : state.keySet().stream().limit(3).toList()) {
+                    ApplicationService service = store.findById(id).orElseThrow();
+                    service.setStatus(ServiceStatus.values()[random.nextInt(ServiceStatus.values().length)]);
+                    batch.add(service);
+                }
+                for (ApplicationService saved : store.saveAll(batch)) {
+                    state.put(saved.getId(), describe(saved));
+                }
+            } else if (action < 9) {
+                Long id = randomKey(state, random);
+                ApplicationService service = store.findById(id).orElseThrow();
+                service.setStatus(ServiceStatus.DEGRADED);
+                service.setDescription("frame " + frame);
+                state.put(id, describe(store.save(service)));
+            } else {
+                Long id = randomKey(state, random);
+                store.deleteById(id);
+                state.remove(id);
+            }
+
+            if (compactHalfway && frame == FRAMES / 2) {
+                // Snapshot puis nouveau segment: les coupures ne portent plus que sur lui
+                store.compact();
+                checkpoints.clear();
+            }
+            checkpoints.add(new Checkpoint(Files.size(lastSegment(directory)), Map.copyOf(state), maxId));
+        }
+        store.close();
+        return checkpoints;
+    }
+
+    private void assertRecovered(Path directory, Checkpoint expected, String scenario) throws Exception {
+        LogServiceStore store = open(directory);
+        Map<Long, String> recovered = store.findAll().stream()
+                .collect(Collectors.toMap(ApplicationService::getId, LogServiceStoreRecoveryTest::describe));
+        assertThat(recovered).as(scenario).isEqualTo(expected.services());
+
+        // Une nouvelle création ne réutilise jamais un id déjà visible avant la coupure
+        ApplicationService created = store.save(service("after-recovery", ServiceStatus.OPERATIONAL));
+        assertThat(created.getId()).as(scenario).isGreaterThan(expected.maxAssignedId());
+        store.close();
+
+        // Le journal réparé se relit à nouveau, nouvelle trame comprise
+        LogServiceStore again = open(directory);
+        assertThat(again.findById(created.getId())).as(scenario).isPresent();
+        assertThat(again.findAll()).as(scenario).hasSize(expected.services().size() + 1);
+        again.close();
+    }
+
+    private static Checkpoint lastCheckpointWithin(List<Checkpoint> checkpoints, long cut) {
+        Checkpoint found = checkpoints.get(0);
+        for (Checkpoint checkpoint : checkpoints) {
+            if (checkpoint.walSize() <= cut) {
+                found = checkpoint;
+            }
+        }
+        return found;
+    }
+
+    private static LogServiceStore open(Path directory) {
+        LogServiceStore store = new LogServiceStore(directory, false, Long.MAX_VALUE);
+        store.open();
+        return store;
+    }
+
+    private static ApplicationService service(String name, ServiceStatus status) {
+        ApplicationService service = new ApplicationService();
+        service.setName(name);
+        service.setDescription("description de " + name);
+        service.setStatus(status);
+        return service;
+    }
+
+    private static String describe(ApplicationService service) {
+        return service.getName() + "|" + service.getStatus() + "|" + service.getDescription();
+    }
+
+    private static Long randomKey(Map<Long, String> state, Random random) {
+        List<Long> keys = new ArrayList<>(state.keySet());
+        return keys.get(random.nextInt(keys.size()));
+    }
+
+    private static Path lastSegment(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith("wal-"))
+                    .max(Path::compareTo)
+                    .orElseThrow();
+        }
+    }
+
+    private static List<Path> files(Path directory, String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith(prefix)).toList();
+        }
+    }
+
+    private Path copyOf(Path source, String name) throws IOException {
+        Path target = root.resolve(name);
+        Files.createDirectories(target);
+        try (Stream<Path> files = Files.list(source)) {
+            for (Path file : files.toList()) {
+                Files.copy(file, target.resolve(file.getFileName()));
+            }
+        }
+        return target;
+    }
+
+    private static void truncate(Path file, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(size);
+        }
+    }
+
+    private static void flipByte(Path file, long position) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(position);
+            int value = raf.read();
+            raf.seek(position);
+            raf.write(value ^ 0xFF);
+        }
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.servicepulse.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.servicepulse.model.ApplicationService;
+import com.servicepulse.model.ServiceStatus;
+import com.servicepulse.service.ServiceSnapshot;
+import com.servicepulse.web.EncodedResponseCache.Resource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 🎓 CACHE D'OCTETS - Les lecteurs n'attendent pas le réencodage
+ *
+ * Nouvelle version du snapshot → le corps précédent est servi (avec sa
+ * version) pendant que le thread "response-encoder" encode la nouvelle.
+ */
+class EncodedResponseCacheTest {
+
+    private final EncodedResponseCache cache = new EncodedResponseCache(new ObjectMapper());
+
+    @AfterEach
+    void close() throws InterruptedException {
+        cache.close();
+    }
+
+    @Test
+    void servesPreviousBodyWhileNewVersionIsEncoded() throws InterruptedException {
+        ServiceSnapshot first = snapshot(1, "alpha");
+        assertThat(cache.get(Resource.SERVICES, first, ServiceSnapshot::getServices).getVersion()).isEqualTo(1);
+
+        CountDownLatch encoding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Function<ServiceSnapshot, Object> slowBody = snapshot -> {
+            encoding.countDown();
+            await(release);
+            return snapshot.getServices();
+        };
+
+        ServiceSnapshot second = snapshot(2, "beta");
+        EncodedBody served = cache.get(Resource.SERVICES, second, slowBody);
+        assertThat(served.getVersion()).isEqualTo(1);
+        assertThat(text(served)).contains("alpha");
+        assertThat(encoding.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Encodage en cours: toujours l'ancienne version, sans bloquer
+        assertThat(cache.get(Resource.SERVICES, second, slowBody).getVersion()).isEqualTo(1);
+
+        release.countDown();
+        EncodedBody rebuilt = awaitVersion(second, slowBody, 2);
+        assertThat(text(rebuilt)).contains("beta");
+    }
+
+    @Test
+    void skipsVersionsPublishedDuringAnEncoding() throws InterruptedException {
+        cache.get(Resource.SERVICES, snapshot(1, "alpha"), ServiceSnapshot::getServices);
+
+        CountDownLatch encoding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger encodings = new AtomicInteger();
+        Function<ServiceSnapshot, Object> body = snapshot -> {
+            encodings.incrementAndGet();
+            encoding.countDown();
+            await(release);
+            return snapshot.getServices();
+        };
+
+        cache.get(Resource.SERVICES, snapshot(2, "beta"), body);
+        assertThat(encoding.await(5, TimeUnit.SECONDS)).isTrue();
+        cache.get(Resource.SERVICES, snapshot(3, "gamma"), body);
+        cache.get(Resource.SERVICES, snapshot(4, "delta"), body);
+        release.countDown();
+
+        EncodedBody latest = awaitVersion(snapshot(4, "delta"), body, 4);
+        assertThat(text(latest)).contains("delta");
+        // Version 2 (déjà lancée) puis directement la 4: la 3 n'est jamais encodée
+        assertThat(encodings.get()).isEqualTo(2);
+    }
+
+    private EncodedBody awaitVersion(ServiceSnapshot snapshot, Function<ServiceSnapshot, Object> body, long version)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        EncodedBody encoded = cache.get(Resource.SERVICES, snapshot, body);
+        while (encoded.getVersion() < version && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            encoded = cache.get(Resource.SERVICES, snapshot, body);
+        }
+        assertThat(encoded.getVersion()).isEqualTo(version);
+        return encoded;
+    }
+
+    private static ServiceSnapshot snapshot(long version, String name) {
+        ApplicationService service = new ApplicationService();
+        service.setId(1L);
+        service.setName(name);
+        service.setStatus(ServiceStatus.OPERATIONAL);
+        return ServiceSnapshot.of(version, List.of(service));
+    }
+
+    private static String text(EncodedBody body) {
+        return new String(body.getIdentity(), StandardCharsets.UTF_8);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
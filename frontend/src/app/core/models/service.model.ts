@@ -8,6 +8,30 @@ export interface Service {
     maintenanceMessage?: string;
     lastUpdated?: string;
     createdAt?: string;
+    probe?: ProbeDefinition | null;
+}
+
+// Active health probe (HTTP URL or TCP host:port), optional per service
+export interface ProbeDefinition {
+    httpUrl?: string;
+    tcpHost?: string;
+    tcpPort?: number;
+    intervalSeconds?: number;
+    timeoutMillis?: number;
+    failureThreshold?: number;
+    successThreshold?: number;
+}
+
+// Server-Sent Events payloads from /api/services/stream
+export interface ServiceStreamSnapshot {
+    version: number;
+    services: Service[];
+}
+
+export interface ServiceStreamChange {
+    version: number;
+    upserts: Service[];
+    deletes: number[];
 }
 
 export interface ServiceSearchParams {
@@ -1,7 +1,7 @@
 import { Injectable, inject } from '@angular/core';
 import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
-import { Service, ServiceStatus } from '../models/service.model';
+import { Service, ServiceStatus, ServiceStreamChange, ServiceStreamSnapshot } from '../models/service.model';
 
 @Injectable({
     providedIn: 'root'
@@ -14,6 +14,37 @@ export class ServiceApiService {
         return this.http.get<Service[]>(this.apiUrl);
     }
 
+    /**
+     * Live list of services pushed by the server (SSE).
+     * A full snapshot arrives on (re)connect, then one "change" event per update.
+     * EventSource reconnects automatically after a network error.
+     */
+    streamServices(): Observable<Service[]> {
+        return new Observable<Service[]>(subscriber => {
+            const services = new Map<number, Service>();
+            const source = new EventSource(`${this.apiUrl}/stream`);
+            const emit = () => subscriber.next(
+                Array.from(services.values()).sort((a, b) => (a.id ?? 0) - (b.id ?? 0))
+            );
+
+            source.addEventListener('snapshot', event => {
+                const snapshot: ServiceStreamSnapshot = JSON.parse((event as MessageEvent).data);
+                services.clear();
+                snapshot.services.forEach(service => services.set(service.id!, service));
+                emit();
+            });
+
+            source.addEventListener('change', event => {
+                const change: ServiceStreamChange = JSON.parse((event as MessageEvent).data);
+                change.upserts.forEach(service => services.set(service.id!, service));
+                change.deletes.forEach(id => services.delete(id));
+                emit();
+            });
+
+            return () => source.close();
+        });
+    }
+
     getServiceById(id: number): Observable<Service> {
         return this.http.get<Service>(`${this.apiUrl}/${id}`);
     }
@@ -19,18 +19,24 @@ export class DashboardComponent implements OnInit {
   searchControl = new FormControl('');
   statusControl = new FormControl<ServiceStatus | 'ALL'>('ALL');
 
-  // Auto-refresh trigger (every 30s)
-  private refresh$ = interval(30000).pipe(startWith(0));
-
-  // Base stream of services from API
-  private servicesBase$ = this.refresh$.pipe(
-    switchMap(() => this.serviceApi.getServices()),
-    shareReplay(1)
+  // Base stream of services: pushed by the server (SSE),
+  // with a 30s polling fallback for browsers without EventSource
+  private servicesBase$ = (typeof EventSource !== 'undefined'
+    ? this.serviceApi.streamServices()
+    : interval(30000).pipe(
+        startWith(0),
+        switchMap(() => this.serviceApi.getServices())
+      )
+  ).pipe(
+    shareReplay({ bufferSize: 1, refCount: true })
   );
 
-  // Health summary
-  healthSummary$ = this.refresh$.pipe(
-    switchMap(() => this.serviceApi.getHealthSummary())
+  // Health summary, derived from the live list (no extra request)
+  healthSummary$ = this.servicesBase$.pipe(
+    map(services => ({
+      totalServices: services.length,
+      alertCount: services.filter(service => service.status !== 'OPERATIONAL').length
+    }))
   );
 
   // Combined filtered stream
@@ -50,6 +56,6 @@ export class DashboardComponent implements OnInit {
   );
 
   ngOnInit(): void {
-    // Initial load handled by startWith(0) in refresh$
+    // Initial load handled by the snapshot sent when the stream opens
   }
 }